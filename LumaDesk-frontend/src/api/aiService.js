@@ -33,9 +33,57 @@ export const getAiHealth = () => {
 /**
  * Sends a chat message to the AI
  * Matches: POST /api/ai-agent/
- * @param {object} chatData - { role, previousContext, query }
+ * @param {object} chatData - { role, sessionId, query }
  */
 export const aiChat = (chatData) => {
   // We post to the root '/' because the baseURL is already /api/ai-agent
   return aiApi.post('/', chatData);
-};
\ No newline at end of file
+};
+/**
+ * Streams a chat answer from the AI as it is generated
+ * Matches: POST /api/ai-agent/stream (server-sent events)
+ * @param {object} chatData - { role, sessionId, query }
+ * @param {object} handlers - { onToken(text), onDone({ answer, previousContext, sessionId }), signal }
+ * Aborting the signal closes the connection, and the server stops sending.
+ */
+export const aiChatStream = async (chatData, { onToken, onDone, signal }) => {
+  const token = localStorage.getItem('token');
+  const response = await fetch(`${aiApi.defaults.baseURL}/stream`, {
+    method: 'POST',
+    headers: {
+      'Content-Type': 'application/json',
+      Accept: 'text/event-stream',
+      ...(token ? { Authorization: `Bearer ${token}` } : {}),
+    },
+    body: JSON.stringify(chatData),
+    signal,
+  });
+  if (!response.ok || !response.body) {
+    throw new Error(`AI stream failed with status ${response.status}`);
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true });
+
+    // Events are separated by a blank line; keep the trailing partial event for the next chunk
+    const events = buffer.split(/\r?\n\r?\n/);
+    buffer = events.pop();
+    for (const raw of events) {
+      let name = 'message';
+      const data = [];
+      for (const line of raw.split(/\r?\n/)) {
+        if (line.startsWith('event:')) name = line.slice(6).trim();
+        else if (line.startsWith('data:')) data.push(line.slice(5));
+      }
+      const payload = data.length ? JSON.parse(data.join('\n')) : {};
+      if (name === 'token') onToken(payload.text);
+      else if (name === 'done') onDone(payload);
+      else if (name === 'error') throw new Error(payload.message);
+    }
+  }
+};
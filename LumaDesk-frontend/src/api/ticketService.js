@@ -58,6 +58,26 @@ export const getAllTickets = () => {
   return ticketApi.get('/all');
 };
 
+/**
+ * Gets one keyset-paginated page of tickets, newest first.
+ * Matches: GET /api/tickets/page
+ * @param {object} params - { status, priority, severity, categoryId, assignedTo, createdFrom, createdTo, cursor, size }
+ *   Pass the previous response's nextCursor as "cursor" to load the following page.
+ */
+export const getTicketsPage = (params = {}) => {
+  return ticketApi.get('/page', { params });
+};
+
+/**
+ * Downloads the ticket history as a file, streamed by the server row by row.
+ * Matches: GET /api/tickets/export
+ * @param {string} format - 'NDJSON' or 'CSV'
+ * @param {object} params - optional filters, same as getTicketsPage (cursor and size are ignored)
+ */
+export const exportTickets = (format = 'CSV', params = {}) => {
+  return ticketApi.get('/export', { params: { ...params, format }, responseType: 'blob' });
+};
+
 /**
  * --- NEW ---
  * Triage a new ticket and assign it.
@@ -1,7 +1,7 @@
 // src/components/chat/AiChatWindow.jsx
 import React, { useState, useRef, useEffect } from 'react';
 import { useAuth } from '../../context/AuthContext';
-import { aiChat } from '../../api/aiService';
+import { aiChatStream } from '../../api/aiService';
 import { Send, Loader2, User, Wand2, BotMessageSquare } from 'lucide-react';
 import { Button } from '../ui/Button';
 import { motion, AnimatePresence } from 'framer-motion';
@@ -50,9 +50,12 @@ const AiChatWindow = () => {
   ]);
   const [input, setInput] = useState('');
   const [isLoading, setIsLoading] = useState(false);
-  const [previousContext, setPreviousContext] = useState('');
+  const [sessionId, setSessionId] = useState(null); // The server keeps the history under this id
   
   const messagesEndRef = useRef(null); // To auto-scroll
+  const streamRef = useRef(null); // Aborts an answer still streaming when the window closes
+
+  useEffect(() => () => streamRef.current?.abort(), []);
 
   // Auto-scroll to bottom
   useEffect(() => {
@@ -68,28 +71,46 @@ const AiChatWindow = () => {
     setInput('');
     setIsLoading(true);
 
+    const controller = new AbortController();
+    streamRef.current = controller;
+    let started = false;
+
+    // Appends a streamed piece of the answer to the AI bubble, creating it on the first token
+    const appendToAnswer = (text) => {
+      if (!started) {
+        started = true;
+        setIsLoading(false);
+        setMessages((prev) => [...prev, { role: 'ai', text }]);
+        return;
+      }
+      setMessages((prev) => {
+        const last = prev[prev.length - 1];
+        return [...prev.slice(0, -1), { ...last, text: last.text + text }];
+      });
+    };
+
     try {
       // Build the DTO
       const chatData = {
         role: user?.role || 'ROLE_CUSTOMER',
-        previousContext: previousContext,
+        sessionId: sessionId,
         query: query,
       };
 
-      const response = await aiChat(chatData);
-      
-      const { answer, previousContext: newContext } = response.data;
-      
-      setMessages((prev) => [...prev, { role: 'ai', text: answer }]);
-      setPreviousContext(newContext); // Save the history
-      
+      await aiChatStream(chatData, {
+        signal: controller.signal,
+        onToken: appendToAnswer,
+        onDone: ({ sessionId: id }) => setSessionId(id), // A new id if the old session expired
+      });
     } catch (err) {
+      if (controller.signal.aborted) return;
       console.error("AI Chat Error:", err);
       setMessages((prev) => [
         ...prev,
         { role: 'ai', text: "Sorry, I'm having trouble connecting right now." },
       ]);
     } finally {
+      streamRef.current = null;
       setIsLoading(false);
     }
   };
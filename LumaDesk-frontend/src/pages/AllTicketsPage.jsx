@@ -1,6 +1,6 @@
 // src/pages/AllTicketsPage.jsx
 import React, { useEffect, useState, useMemo } from 'react';
-import { getAllTickets } from '../api/ticketService';
+import { getTicketsPage } from '../api/ticketService';
 import { getActionLogs, getAssignmentLogs } from '../api/logService';
 import TicketStatusBadge from '../components/ui/TicketStatusBadge';
 import {
@@ -156,20 +156,32 @@ const allStatuses = [
   'ALL', 'NEW', 'ASSIGNED', 'IN_PROGRESS', 'REOPENED', 'ON_HOLD', 'RESOLVED', 'CLOSED'
 ];
 
+const PAGE_SIZE = 50;
+
 const AllTicketsPage = () => {
   const [tickets, setTickets] = useState([]);
   const [isLoading, setIsLoading] = useState(true);
   const [error, setError] = useState(null);
   const [statusFilter, setStatusFilter] = useState('ALL');
   const [selectedTicket, setSelectedTicket] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
+
+  // Fetches one page from the server; the status filter is applied server-side
+  const fetchPage = async (cursor) => {
+    const params = { size: PAGE_SIZE };
+    if (statusFilter !== 'ALL') params.status = statusFilter;
+    if (cursor) params.cursor = cursor;
+    const response = await getTicketsPage(params);
+    setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+    return response.data.tickets;
+  };
 
   useEffect(() => {
     const fetchTickets = async () => {
       try {
         setIsLoading(true);
-        const response = await getAllTickets(); // Fetch ALL tickets
-        response.data.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
-        setTickets(response.data);
+        setTickets(await fetchPage(null)); // Pages arrive newest first
         setError(null);
       } catch (err) {
         console.error('Failed to fetch tickets:', err);
@@ -179,7 +191,20 @@ const AllTicketsPage = () => {
       }
     };
     fetchTickets();
-  }, []);
+  }, [statusFilter]);
+
+  const loadMore = async () => {
+    try {
+      setIsLoadingMore(true);
+      const more = await fetchPage(nextCursor);
+      setTickets((prev) => [...prev, ...more]);
+    } catch (err) {
+      console.error('Failed to fetch more tickets:', err);
+      setError('Could not load ticket data. Please try again later.');
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
 
   const filteredTickets = useMemo(() => {
     if (statusFilter === 'ALL') return tickets;
@@ -242,6 +267,15 @@ const AllTicketsPage = () => {
           )}
         </div>
 
+        {nextCursor && (
+          <div className="mt-4 flex justify-center">
+            <Button variant="ghost" className="text-amber-600 hover:text-amber-800" onClick={loadMore} disabled={isLoadingMore}>
+              {isLoadingMore ? <Loader2 className="mr-2 h-4 w-4 animate-spin" /> : null}
+              Load more
+            </Button>
+          </div>
+        )}
+
         {selectedTicket && (
           <TicketDetailsModal ticket={selectedTicket} onClose={() => setSelectedTicket(null)} />
         )}
@@ -3,10 +3,12 @@ package com.lumadesk.ai_agent_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 @CrossOrigin(origins="*")
 public class AiAgentServiceApplication {
 	public static void main(String[] args) {
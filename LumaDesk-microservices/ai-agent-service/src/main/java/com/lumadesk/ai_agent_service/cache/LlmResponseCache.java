@@ -0,0 +1,134 @@
+package com.lumadesk.ai_agent_service.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Reuses model answers for prompts that only differ in case, punctuation or spacing, which is
+ * what an outage looks like ("no internet", "No internet!!"). Entries are keyed on a namespace
+ * (triage, chat), a scope (category or role) and a SHA-256 of the normalized prompt, and are
+ * bounded by count and age. Concurrent callers with the same key share one in-flight call: the
+ * first caller runs the loader on its own thread and the others wait on its future, for at most
+ * join-timeout. Failed calls, whatever they throw, are never cached.
+ */
+@Component
+public class LlmResponseCache {
+
+    private final AsyncCache<Key, Object> cache;
+    private final Duration joinTimeout;
+    private final MeterRegistry meterRegistry;
+
+    public LlmResponseCache(@Value("${lumadesk.ai-cache.max-entries:10000}") long maxEntries,
+                            @Value("${lumadesk.ai-cache.ttl:10m}") Duration ttl,
+                            @Value("${lumadesk.ai-cache.join-timeout:60s}") Duration joinTimeout,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+        this.joinTimeout = joinTimeout;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ai.response.cache.size", cache, c -> c.synchronous().estimatedSize())
+                .description("Cached model answers")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V get(String namespace, String scope, String prompt, Supplier<V> loader) {
+        Key key = new Key(namespace, scope, hash(normalize(prompt)));
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = cache.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            count(namespace, existing.isDone() ? "hit" : "joined");
+            return (V) await(existing);
+        }
+
+        count(namespace, "miss");
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e); // Caffeine drops failed futures, the next caller retries
+            throw e;
+        }
+    }
+
+    // A finished answer for the prompt, without loading one; used when many prompts go out in one call
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> getIfPresent(String namespace, String scope, String prompt) {
+        CompletableFuture<Object> existing = cache.getIfPresent(new Key(namespace, scope, hash(normalize(prompt))));
+        if (existing != null && existing.isDone() && !existing.isCompletedExceptionally()) {
+            count(namespace, "hit");
+            return Optional.of((V) existing.join());
+        }
+        count(namespace, "miss");
+        return Optional.empty();
+    }
+
+    public void put(String namespace, String scope, String prompt, Object value) {
+        cache.put(new Key(namespace, scope, hash(normalize(prompt))), CompletableFuture.completedFuture(value));
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    // Lower case, with every run of non-alphanumeric characters folded into one space
+    static String normalize(String prompt) {
+        return prompt.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static String hash(String normalized) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void count(String namespace, String result) {
+        meterRegistry.counter("ai.response.cache.requests", "cache", namespace, "result", result).increment();
+    }
+
+    // Waits for another caller's model call; a stuck one fails its joiners instead of holding their threads
+    private Object await(CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.get(joinTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("No answer within " + joinTimeout + " from the model call for the same prompt");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the model call for the same prompt", e);
+        }
+    }
+
+    private record Key(String namespace, String scope, String promptHash) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.lumadesk.ai_agent_service.classifier;
+
+import com.lumadesk.ai_agent_service.dto.TriageRequest;
+import com.lumadesk.ai_agent_service.dto.TriageResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * In-process fast path for triage suggestions. Loads the model written by
+ * TriageClassifierTrainer and answers only when both severity and priority clear the
+ * confidence threshold; everything else goes to the LLM. Without a model file it never answers.
+ */
+@Component
+@Slf4j
+public class TriageClassifier {
+
+    private final TriageModel model;
+    private final double minConfidence;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public TriageClassifier(@Value("${lumadesk.triage-classifier.model-path:}") String modelPath,
+                            @Value("${lumadesk.triage-classifier.min-confidence:0.9}") double minConfidence,
+                            MeterRegistry meterRegistry) {
+        this(load(modelPath), minConfidence, meterRegistry);
+    }
+
+    public TriageClassifier(TriageModel model, double minConfidence, MeterRegistry meterRegistry) {
+        this.model = model;
+        this.minConfidence = minConfidence;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Optional<TriageResponse> predict(TriageRequest request) {
+        if (model == null) {
+            return Optional.empty();
+        }
+        TriageModel.Prediction prediction = model.predict(request.getIssueCategory(), request.getIssueDescription());
+        boolean confident = prediction.severityConfidence() >= minConfidence
+                && prediction.priorityConfidence() >= minConfidence;
+        meterRegistry.counter("ai.triage.classifier", "result", confident ? "local" : "fallback").increment();
+        return confident
+                ? Optional.of(new TriageResponse(prediction.severity(), prediction.priority()))
+                : Optional.empty();
+    }
+
+    private static TriageModel load(String modelPath) {
+        if (modelPath == null || modelPath.isBlank()) {
+            log.info("No triage classifier model configured, every suggestion goes to the LLM.");
+            return null;
+        }
+        Path path = Path.of(modelPath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            TriageModel model = TriageModel.read(in);
+            log.info("Loaded triage classifier from {} ({} training tickets).", path, model.trainingExamples());
+            return model;
+        } catch (IOException e) {
+            log.warn("Could not load triage classifier from {}, falling back to the LLM: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.lumadesk.ai_agent_service.classifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline trainer for the triage classifier. Reads an NDJSON export from ticket-service
+ * (GET /api/tickets/export?format=NDJSON), keeps tickets a triage officer has already handled
+ * (status past NEW, severity and priority set), reports accuracy on a 10% holdout and writes the
+ * model trained on every example. Usage:
+ *
+ *   java -cp ai-agent-service.jar -Dloader.main=com.lumadesk.ai_agent_service.classifier.TriageClassifierTrainer \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher tickets.ndjson triage-model.bin
+ */
+@Slf4j
+public class TriageClassifierTrainer {
+
+    static final int BUCKETS = 1 << 16;
+    static final double ALPHA = 0.1;
+    private static final double REPORTED_CONFIDENCE = 0.9; // default lumadesk.triage-classifier.min-confidence
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TriageClassifierTrainer <tickets.ndjson> <model.bin>");
+            System.exit(2);
+        }
+        List<Example> examples = readExport(Path.of(args[0]));
+        if (examples.isEmpty()) {
+            System.err.println("No triaged tickets in " + args[0]);
+            System.exit(1);
+        }
+        evaluate(examples);
+
+        TriageModel model = train(examples);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Path.of(args[1]))))) {
+            model.write(out);
+        }
+        log.info("Wrote triage model trained on {} tickets to {}.", examples.size(), args[1]);
+    }
+
+    static List<Example> readExport(Path file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Example> examples = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode ticket = objectMapper.readTree(line);
+                String status = ticket.path("status").asText(null);
+                String severity = ticket.path("severity").asText(null);
+                String priority = ticket.path("priority").asText(null);
+                // NEW tickets may carry an unreviewed AI suggestion; learning from those would feed the model its own guesses
+                if (status == null || "NEW".equals(status) || severity == null || priority == null) {
+                    continue;
+                }
+                examples.add(new Example(ticket.path("issueCategory").path("categoryName").asText(""),
+                        ticket.path("issueDescription").asText(""), severity, priority));
+            }
+        }
+        return examples;
+    }
+
+    static TriageModel train(List<Example> examples) {
+        TriageModel.Builder builder = TriageModel.builder(BUCKETS);
+        examples.forEach(e -> builder.add(e.category(), e.description(), e.severity(), e.priority()));
+        return builder.build(ALPHA);
+    }
+
+    private static void evaluate(List<Example> examples) {
+        List<Example> training = new ArrayList<>();
+        List<Example> holdout = new ArrayList<>();
+        for (int i = 0; i < examples.size(); i++) {
+            (i % 10 == 9 ? holdout : training).add(examples.get(i));
+        }
+        if (holdout.isEmpty() || training.isEmpty()) {
+            log.info("Too few tickets ({}) for a holdout evaluation.", examples.size());
+            return;
+        }
+        TriageModel model = train(training);
+        int correct = 0;
+        int confident = 0;
+        int confidentCorrect = 0;
+        for (Example example : holdout) {
+            TriageModel.Prediction prediction = model.predict(example.category(), example.description());
+            boolean right = prediction.severity().equals(example.severity())
+                    && prediction.priority().equals(example.priority());
+            if (right) {
+                correct++;
+            }
+            if (prediction.severityConfidence() >= REPORTED_CONFIDENCE && prediction.priorityConfidence() >= REPORTED_CONFIDENCE) {
+                confident++;
+                if (right) {
+                    confidentCorrect++;
+                }
+            }
+        }
+        log.info("Holdout accuracy (severity and priority both right): {}/{}.", correct, holdout.size());
+        log.info("At confidence {}: answered {}/{} locally, {} of them right.",
+                REPORTED_CONFIDENCE, confident, holdout.size(), confidentCorrect);
+    }
+
+    record Example(String category, String description, String severity, String priority) {
+    }
+}
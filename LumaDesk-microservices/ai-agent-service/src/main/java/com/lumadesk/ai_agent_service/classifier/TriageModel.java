@@ -0,0 +1,213 @@
+package com.lumadesk.ai_agent_service.classifier;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Multinomial naive Bayes over hashed features, one head for severity and one for priority.
+ * Features are the words and word pairs of the normalized description plus the category,
+ * hashed into a fixed number of buckets, so the model size does not depend on the vocabulary.
+ * A prediction is a few hundred array reads; the model is immutable once built.
+ */
+public final class TriageModel {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final int buckets;
+    private final long trainingExamples;
+    private final Head severity;
+    private final Head priority;
+
+    private TriageModel(int buckets, long trainingExamples, Head severity, Head priority) {
+        this.buckets = buckets;
+        this.trainingExamples = trainingExamples;
+        this.severity = severity;
+        this.priority = priority;
+    }
+
+    public static Builder builder(int buckets) {
+        return new Builder(buckets);
+    }
+
+    public Prediction predict(String category, String description) {
+        int[] features = features(category, description, buckets);
+        Head.Result s = severity.classify(features);
+        Head.Result p = priority.classify(features);
+        return new Prediction(s.label(), s.confidence(), p.label(), p.confidence());
+    }
+
+    public long trainingExamples() {
+        return trainingExamples;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(buckets);
+        out.writeLong(trainingExamples);
+        severity.write(out);
+        priority.write(out);
+    }
+
+    public static TriageModel read(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported triage model format " + version);
+        }
+        int buckets = in.readInt();
+        long examples = in.readLong();
+        return new TriageModel(buckets, examples, Head.read(in, buckets), Head.read(in, buckets));
+    }
+
+    static int[] features(String category, String description, int buckets) {
+        String[] words = normalize(description).split(" ");
+        int[] features = new int[words.length * 2 + 1];
+        int n = 0;
+        features[n++] = bucket("c:" + normalize(category), buckets);
+        for (int i = 0; i < words.length; i++) {
+            if (words[i].isEmpty()) {
+                continue;
+            }
+            features[n++] = bucket("w:" + words[i], buckets);
+            if (i + 1 < words.length) {
+                features[n++] = bucket("b:" + words[i] + ' ' + words[i + 1], buckets);
+            }
+        }
+        return Arrays.copyOf(features, n);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static int bucket(String feature, int buckets) {
+        int h = feature.hashCode() * 0x9E3779B9; // spread similar strings before masking
+        return (h ^ (h >>> 16)) & (buckets - 1);
+    }
+
+    public record Prediction(String severity, double severityConfidence, String priority, double priorityConfidence) {
+    }
+
+    public static final class Builder {
+
+        private final int buckets;
+        private final HeadBuilder severity = new HeadBuilder();
+        private final HeadBuilder priority = new HeadBuilder();
+        private long examples;
+
+        private Builder(int buckets) {
+            if (Integer.bitCount(buckets) != 1) {
+                throw new IllegalArgumentException("Bucket count must be a power of two");
+            }
+            this.buckets = buckets;
+        }
+
+        public Builder add(String category, String description, String severityLabel, String priorityLabel) {
+            int[] features = features(category, description, buckets);
+            severity.add(severityLabel, features, buckets);
+            priority.add(priorityLabel, features, buckets);
+            examples++;
+            return this;
+        }
+
+        // alpha is the additive (Laplace) smoothing applied to every bucket
+        public TriageModel build(double alpha) {
+            if (examples == 0) {
+                throw new IllegalStateException("Cannot build a triage model without examples");
+            }
+            return new TriageModel(buckets, examples, severity.build(alpha, buckets), priority.build(alpha, buckets));
+        }
+    }
+
+    private static final class HeadBuilder {
+
+        private final Map<String, double[]> counts = new LinkedHashMap<>();
+        private final Map<String, Long> documents = new LinkedHashMap<>();
+
+        void add(String label, int[] features, int buckets) {
+            double[] labelCounts = counts.computeIfAbsent(label, l -> new double[buckets]);
+            for (int feature : features) {
+                labelCounts[feature]++;
+            }
+            documents.merge(label, 1L, Long::sum);
+        }
+
+        Head build(double alpha, int buckets) {
+            String[] labels = counts.keySet().toArray(String[]::new);
+            long totalDocuments = documents.values().stream().mapToLong(Long::longValue).sum();
+            double[] logPrior = new double[labels.length];
+            float[][] logLikelihood = new float[labels.length][buckets];
+            for (int c = 0; c < labels.length; c++) {
+                double[] labelCounts = counts.get(labels[c]);
+                double total = 0;
+                for (double count : labelCounts) {
+                    total += count;
+                }
+                double denominator = Math.log(total + alpha * buckets);
+                for (int b = 0; b < buckets; b++) {
+                    logLikelihood[c][b] = (float) (Math.log(labelCounts[b] + alpha) - denominator);
+                }
+                logPrior[c] = Math.log((double) documents.get(labels[c]) / totalDocuments);
+            }
+            return new Head(labels, logPrior, logLikelihood);
+        }
+    }
+
+    private record Head(String[] labels, double[] logPrior, float[][] logLikelihood) {
+
+        Result classify(int[] features) {
+            double[] scores = logPrior.clone();
+            for (int c = 0; c < labels.length; c++) {
+                float[] row = logLikelihood[c];
+                for (int feature : features) {
+                    scores[c] += row[feature];
+                }
+            }
+            int best = 0;
+            for (int c = 1; c < scores.length; c++) {
+                if (scores[c] > scores[best]) {
+                    best = c;
+                }
+            }
+            // Posterior of the winner, computed relative to its score to stay finite
+            double sum = 0;
+            for (double score : scores) {
+                sum += Math.exp(score - scores[best]);
+            }
+            return new Result(labels[best], 1.0 / sum);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(labels.length);
+            for (int c = 0; c < labels.length; c++) {
+                out.writeUTF(labels[c]);
+                out.writeDouble(logPrior[c]);
+                for (float value : logLikelihood[c]) {
+                    out.writeFloat(value);
+                }
+            }
+        }
+
+        static Head read(DataInputStream in, int buckets) throws IOException {
+            int classes = in.readInt();
+            String[] labels = new String[classes];
+            double[] logPrior = new double[classes];
+            float[][] logLikelihood = new float[classes][buckets];
+            for (int c = 0; c < classes; c++) {
+                labels[c] = in.readUTF();
+                logPrior[c] = in.readDouble();
+                for (int b = 0; b < buckets; b++) {
+                    logLikelihood[c][b] = in.readFloat();
+                }
+            }
+            return new Head(labels, logPrior, logLikelihood);
+        }
+
+        record Result(String label, double confidence) {
+        }
+    }
+}
@@ -2,20 +2,21 @@ package com.lumadesk.ai_agent_service.configuration;
 
 import dev.langchain4j.model.chat.request.ResponseFormat;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiStreamingChatModel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class AgentConfiguration {
-    @Value("${langchain4j.google-ai.api-key}")
-    private String apiKey;
-
-    @Value("${langchain4j.google-ai.model-name}")
-    private String modelName;
 
+    // The local-llm profile swaps both Gemini models for LocalChatModel, see LocalLlmConfiguration
     @Bean
-    public GoogleAiGeminiChatModel geminiChatModel() {
+    @Profile("!local-llm")
+    public GoogleAiGeminiChatModel geminiChatModel(@Value("${langchain4j.google-ai.api-key}") String apiKey,
+                                                   @Value("${langchain4j.google-ai.model-name}") String modelName) {
         return GoogleAiGeminiChatModel.builder()
                 .apiKey(apiKey)
                 .modelName(modelName)
@@ -23,5 +24,26 @@ public class AgentConfiguration {
                 .responseFormat(ResponseFormat.TEXT)
                 .build();
     }
-}
 
+    @Bean
+    @Profile("!local-llm")
+    public GoogleAiGeminiStreamingChatModel geminiStreamingChatModel(@Value("${langchain4j.google-ai.api-key}") String apiKey,
+                                                                     @Value("${langchain4j.google-ai.model-name}") String modelName) {
+        return GoogleAiGeminiStreamingChatModel.builder()
+                .apiKey(apiKey)
+                .modelName(modelName)
+                .temperature(0.3)
+                .build();
+    }
+
+    // Summarizes the older turns of chat sessions in the background; overflow drops those turns
+    @Bean
+    public ThreadPoolTaskExecutor chatSummaryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("chat-summary-");
+        return executor;
+    }
+}
@@ -0,0 +1,23 @@
+package com.lumadesk.ai_agent_service.configuration;
+
+import com.lumadesk.ai_agent_service.llm.LocalChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+// Runs the service against LocalChatModel instead of Gemini: no API key, no network
+@Configuration
+@Profile("local-llm")
+public class LocalLlmConfiguration {
+
+    @Bean
+    public LocalChatModel localChatModel(@Value("${lumadesk.local-llm.median-latency:400ms}") Duration medianLatency,
+                                         @Value("${lumadesk.local-llm.p99-latency:2s}") Duration p99Latency,
+                                         @Value("${lumadesk.local-llm.error-rate:0.0}") double errorRate,
+                                         @Value("${lumadesk.local-llm.seed:42}") long seed) {
+        return new LocalChatModel(medianLatency, p99Latency, errorRate, seed);
+    }
+}
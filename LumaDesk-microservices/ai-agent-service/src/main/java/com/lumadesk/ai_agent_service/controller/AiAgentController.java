@@ -5,13 +5,17 @@ import com.lumadesk.ai_agent_service.dto.AgentResponse;
 import com.lumadesk.ai_agent_service.service.AiAgentServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/ai-agent")
 public class AiAgentController {
 
+    private static final long STREAM_TIMEOUT_MS = 120_000;
+
     private final AiAgentServiceImpl geminiChatService;
 
     @GetMapping("/health") //check the availability of the service
@@ -23,4 +27,12 @@ public class AiAgentController {
     public AgentResponse chat(@Valid @RequestBody AgentRequest request) {
         return geminiChatService.chatWithGemini(request);
     }
+
+    // Same request as chat, answered as server-sent events while the model generates
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChat(@Valid @RequestBody AgentRequest request) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        geminiChatService.streamChatWithGemini(request, emitter);
+        return emitter;
+    }
 }
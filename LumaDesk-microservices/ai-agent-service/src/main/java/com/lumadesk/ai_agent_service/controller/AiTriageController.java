@@ -1,5 +1,7 @@
 package com.lumadesk.ai_agent_service.controller;
 
+import com.lumadesk.ai_agent_service.dto.BatchTriageRequest;
+import com.lumadesk.ai_agent_service.dto.BatchTriageResult;
 import com.lumadesk.ai_agent_service.dto.TriageRequest;
 import com.lumadesk.ai_agent_service.dto.TriageResponse;
 import com.lumadesk.ai_agent_service.service.AiTriageService;
@@ -11,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/ai-agent/triage")
 @RequiredArgsConstructor
@@ -23,4 +27,9 @@ public class AiTriageController {
         TriageResponse response = aiTriageService.suggestTriage(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/suggest-batch")
+    public ResponseEntity<List<BatchTriageResult>> suggestTriageBatch(@Valid @RequestBody BatchTriageRequest request) {
+        return ResponseEntity.ok(aiTriageService.suggestTriageBatch(request.getTickets()));
+    }
 }
@@ -13,4 +13,10 @@ public class AgentRequest {
     private String role;
     private String previousContext;
     private String query;
+    // Server-side conversation to continue; when absent a new one starts from previousContext
+    private String sessionId;
+
+    public AgentRequest(String role, String previousContext, String query) {
+        this(role, previousContext, query, null);
+    }
 }
@@ -12,4 +12,5 @@ import lombok.Setter;
 public class AgentResponse {
     private String previousContext;
     private String answer;
+    private String sessionId;
 }
@@ -0,0 +1,24 @@
+package com.lumadesk.ai_agent_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTriageItem {
+
+    @NotNull(message = "Ticket ID cannot be null")
+    private Long ticketId;
+
+    // Null for a ticket that has not been categorized yet; it is triaged on its description alone
+    private String issueCategory;
+
+    @NotBlank(message = "Issue description cannot be blank")
+    private String issueDescription;
+}
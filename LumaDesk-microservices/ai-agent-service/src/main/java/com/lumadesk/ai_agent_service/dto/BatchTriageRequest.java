@@ -0,0 +1,22 @@
+package com.lumadesk.ai_agent_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTriageRequest {
+
+    @NotEmpty(message = "At least one ticket is required")
+    @Size(max = 200, message = "At most 200 tickets can be triaged in one request")
+    private List<@Valid BatchTriageItem> tickets;
+}
@@ -0,0 +1,20 @@
+package com.lumadesk.ai_agent_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Suggestion for one ticket of a batch; severity and priority are null and error is set when it could not be triaged
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchTriageResult {
+    private Long ticketId;
+    private String severity;
+    private String priority;
+    private String error;
+}
@@ -0,0 +1,105 @@
+package com.lumadesk.ai_agent_service.health;
+
+import com.lumadesk.ai_agent_service.exception.GeminiNotAvailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Guards every call to the Gemini model. After failure-threshold consecutive failures, or a
+ * failed health probe, the circuit opens and callers get a GeminiNotAvailableException at once
+ * instead of waiting on a degraded provider. Once open-duration has passed a single trial call
+ * is let through (half open); its outcome, or the next successful probe, closes or reopens it.
+ */
+@Component
+@Slf4j
+public class GeminiCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public GeminiCircuitBreaker(@Value("${lumadesk.ai-health.failure-threshold:5}") int failureThreshold,
+                                @Value("${lumadesk.ai-health.open-duration:30s}") Duration openDuration,
+                                MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        Gauge.builder("ai.gemini.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("Gemini circuit breaker: 0 closed, 1 half open, 2 open")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("ai.gemini.circuit.rejected");
+    }
+
+    public <T> T call(Supplier<T> modelCall) {
+        acquire();
+        try {
+            T result = modelCall.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    // For calls that complete elsewhere, like streaming: the caller reports the outcome itself
+    public synchronized void acquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            rejected.increment();
+            throw new GeminiNotAvailableException("Gemini model is unavailable, circuit is open.");
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Gemini circuit closed.");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure(Throwable error) {
+        trialInFlight = false;
+        if (++consecutiveFailures >= failureThreshold || state != State.CLOSED) {
+            open(error);
+        }
+    }
+
+    // A failed probe says the provider is down, whatever the recent calls did
+    synchronized void probeFailed(Throwable error) {
+        trialInFlight = false;
+        open(error);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void open(Throwable error) {
+        if (state != State.OPEN) {
+            log.warn("Gemini circuit opened for {} ms: {}", Duration.ofNanos(openNanos).toMillis(), error.getMessage());
+        }
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+}
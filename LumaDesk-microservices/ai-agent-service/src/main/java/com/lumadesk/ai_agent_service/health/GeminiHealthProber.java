@@ -0,0 +1,57 @@
+package com.lumadesk.ai_agent_service.health;
+
+import dev.langchain4j.model.chat.ChatModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Sends the "Hello" health prompt to Gemini at a fixed rate, so /health answers from the last
+ * result instead of spending a model call per hit. Each probe also feeds the circuit breaker:
+ * a failure opens it and a success closes it, which is how an open circuit notices recovery
+ * without risking user traffic.
+ */
+@Component
+@Slf4j
+public class GeminiHealthProber {
+
+    private final ChatModel geminiChatModel;
+    private final GeminiCircuitBreaker circuitBreaker;
+
+    private volatile Status status;
+
+    public GeminiHealthProber(ChatModel geminiChatModel, GeminiCircuitBreaker circuitBreaker) {
+        this.geminiChatModel = geminiChatModel;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Scheduled(fixedRateString = "${lumadesk.ai-health.probe-interval:30s}")
+    public void probe() {
+        try {
+            String response = geminiChatModel.chat("Hello");
+            circuitBreaker.onSuccess();
+            status = new Status(response != null && !response.trim().isEmpty(), null, Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Gemini health probe failed: {}", e.getMessage());
+            circuitBreaker.probeFailed(e);
+            status = new Status(false, e, Instant.now());
+        }
+    }
+
+    // The latest probe result; probes once if none has run yet
+    public Status status() {
+        if (status == null) {
+            probe();
+        }
+        return status;
+    }
+
+    public record Status(boolean responding, Throwable error, Instant checkedAt) {
+
+        public boolean reachable() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.lumadesk.ai_agent_service.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline stand-in for Gemini behind the same ChatModel and StreamingChatModel interfaces,
+ * for load tests and local runs without network or quota. Answers are a pure function of the
+ * prompt: triage prompts get canned severity/priority JSON (batch prompts one object per
+ * ticket), anything else a short fixed reply. Latency is log-normal around a median with the
+ * configured p99, and a configurable share of calls fail; both draw from a seeded random, so
+ * a run with one caller replays exactly.
+ */
+public class LocalChatModel implements ChatModel, StreamingChatModel {
+
+    private static final double Z_99 = 2.326;
+    private static final Pattern ISSUE_CATEGORY = Pattern.compile("Issue Category: (.*)\\n");
+    private static final Pattern ISSUE_DESCRIPTION = Pattern.compile("Issue Description: (.*)", Pattern.DOTALL);
+    private static final String[] SEVERITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+
+    private final double medianMillis;
+    private final double sigma;
+    private final double errorRate;
+    private final Random random;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Streams tokens off the caller's thread, as the real streaming client does
+    private final Executor streamExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-llm-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LocalChatModel(Duration medianLatency, Duration p99Latency, double errorRate, long seed) {
+        if (p99Latency.compareTo(medianLatency) < 0) {
+            throw new IllegalArgumentException("p99 latency must not be below the median");
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1");
+        }
+        this.medianMillis = medianLatency.toNanos() / 1e6;
+        this.sigma = medianLatency.isZero() ? 0 : Math.log((double) p99Latency.toNanos() / medianLatency.toNanos()) / Z_99;
+        this.errorRate = errorRate;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public ChatResponse doChat(ChatRequest request) {
+        simulateCall(sampleLatencyMillis());
+        return ChatResponse.builder().aiMessage(AiMessage.from(answer(promptOf(request)))).build();
+    }
+
+    // The latency spreads over the tokens; an injected failure arrives after the first half
+    @Override
+    public void doChat(ChatRequest request, StreamingChatResponseHandler handler) {
+        String answer = answer(promptOf(request));
+        double latency = sampleLatencyMillis();
+        boolean fails = fails();
+        streamExecutor.execute(() -> {
+            String[] tokens = answer.split("(?<= )");
+            try {
+                for (int i = 0; i < tokens.length; i++) {
+                    if (fails && i == tokens.length / 2) {
+                        throw new LocalModelException("Injected failure of the local model");
+                    }
+                    Thread.sleep((long) (latency / tokens.length));
+                    handler.onPartialResponse(tokens[i]);
+                }
+                handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from(answer)).build());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                handler.onError(e);
+            } catch (RuntimeException e) {
+                handler.onError(e);
+            }
+        });
+    }
+
+    // Both interfaces default these; the chat side's defaults serve for both
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return ChatModel.super.defaultRequestParameters();
+    }
+
+    @Override
+    public List<ChatModelListener> listeners() {
+        return ChatModel.super.listeners();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return ChatModel.super.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return ChatModel.super.supportedCapabilities();
+    }
+
+    String answer(String prompt) {
+        if (prompt.contains("Tickets: [")) {
+            return batchTriageAnswer(prompt.substring(prompt.indexOf("Tickets: ") + "Tickets: ".length()));
+        }
+        Matcher description = ISSUE_DESCRIPTION.matcher(prompt);
+        if (description.find()) {
+            Matcher category = ISSUE_CATEGORY.matcher(prompt);
+            String[] triage = triage(category.find() ? category.group(1) : "", description.group(1));
+            return "{\"severity\": \"" + triage[0] + "\", \"priority\": \"" + triage[1] + "\"}";
+        }
+        if (prompt.startsWith("Summarize")) {
+            return "The customer reported a network issue and was given troubleshooting steps.";
+        }
+        if ("Hello".equals(prompt)) {
+            return "Hello! The local model is ready.";
+        }
+        return "This is the local test model. Please restart your router and contact support if the issue persists.";
+    }
+
+    private String batchTriageAnswer(String ticketsJson) {
+        try {
+            ArrayNode answers = objectMapper.createArrayNode();
+            for (JsonNode ticket : objectMapper.readTree(ticketsJson)) {
+                String[] triage = triage(ticket.path("issueCategory").asText(""), ticket.path("issueDescription").asText(""));
+                answers.addObject()
+                        .put("ticketId", ticket.path("ticketId").asLong())
+                        .put("severity", triage[0])
+                        .put("priority", triage[1]);
+            }
+            return objectMapper.writeValueAsString(answers);
+        } catch (Exception e) {
+            throw new LocalModelException("Local model could not read the batch prompt");
+        }
+    }
+
+    // Outage words escalate; otherwise the text picks a stable level
+    private static String[] triage(String category, String description) {
+        String text = (category + " " + description).toLowerCase(Locale.ROOT);
+        if (text.contains("outage") || text.contains("down") || text.contains("no internet")) {
+            return new String[]{"CRITICAL", "URGENT"};
+        }
+        int level = Math.floorMod(text.hashCode(), SEVERITIES.length);
+        return new String[]{SEVERITIES[level], PRIORITIES[level]};
+    }
+
+    private void simulateCall(double latencyMillis) {
+        boolean fails = fails();
+        try {
+            Thread.sleep((long) latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LocalModelException("Interrupted while waiting for the local model");
+        }
+        if (fails) {
+            throw new LocalModelException("Injected failure of the local model");
+        }
+    }
+
+    private double sampleLatencyMillis() {
+        synchronized (random) {
+            return medianMillis * Math.exp(sigma * random.nextGaussian());
+        }
+    }
+
+    private boolean fails() {
+        synchronized (random) {
+            return random.nextDouble() < errorRate;
+        }
+    }
+
+    private static String promptOf(ChatRequest request) {
+        List<ChatMessage> messages = request.messages();
+        ChatMessage last = messages.get(messages.size() - 1);
+        return last instanceof UserMessage user ? user.singleText() : "";
+    }
+
+    public static class LocalModelException extends RuntimeException {
+        public LocalModelException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.lumadesk.ai_agent_service.memory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * One chat session: a running summary of the older turns plus a sliding window of the latest
+ * turns that fits the token budget. Turns pushed out of the window wait for the next summary
+ * run; only one run per conversation is in progress at a time.
+ */
+public class Conversation {
+
+    private final String id;
+    private String summary;
+    private final Deque<Turn> window = new ArrayDeque<>();
+    private final List<Turn> unsummarized = new ArrayList<>();
+    private int windowTokens;
+    private boolean summarizing;
+
+    Conversation(String id, String summary) {
+        this.id = id;
+        this.summary = summary;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    // The history as the prompt sees it
+    public synchronized String context() {
+        StringBuilder context = new StringBuilder();
+        if (!summary.isEmpty()) {
+            context.append("Summary of the earlier conversation: ").append(summary);
+        }
+        for (Turn turn : window) {
+            if (!context.isEmpty()) {
+                context.append('\n');
+            }
+            context.append("User: ").append(turn.user()).append("\nAI: ").append(turn.ai());
+        }
+        return context.toString();
+    }
+
+    synchronized String summary() {
+        return summary;
+    }
+
+    // Adds the turn and slides the window; returns the turns a new summary run should fold in,
+    // or nothing when no run is due or one is already going
+    synchronized List<Turn> record(String user, String ai, int tokenBudget) {
+        Turn turn = new Turn(user, ai);
+        window.addLast(turn);
+        windowTokens += turn.tokens();
+        while (windowTokens > tokenBudget && window.size() > 1) {
+            Turn oldest = window.removeFirst();
+            windowTokens -= oldest.tokens();
+            unsummarized.add(oldest);
+        }
+        return startSummary();
+    }
+
+    // Stores the result of a run (null keeps the old summary) and hands out what piled up meanwhile
+    synchronized List<Turn> finishSummary(String newSummary) {
+        if (newSummary != null && !newSummary.isBlank()) {
+            summary = newSummary.trim();
+        }
+        summarizing = false;
+        return startSummary();
+    }
+
+    private List<Turn> startSummary() {
+        if (summarizing || unsummarized.isEmpty()) {
+            return List.of();
+        }
+        summarizing = true;
+        List<Turn> batch = List.copyOf(unsummarized);
+        unsummarized.clear();
+        return batch;
+    }
+
+    record Turn(String user, String ai) {
+
+        // Rough count of about four characters per token, enough to keep the prompt bounded
+        int tokens() {
+            return (user.length() + ai.length()) / 4 + 1;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.lumadesk.ai_agent_service.memory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lumadesk.ai_agent_service.health.GeminiCircuitBreaker;
+import dev.langchain4j.model.chat.ChatModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps chat history on the server under a session id, so a client sends only its id and the
+ * prompt stays within a fixed token budget however long the conversation runs. Turns that
+ * slide out of the budget are folded into a short summary by the model in the background,
+ * off the request path. Idle sessions expire; state is local to this instance, and an unknown
+ * or expired id simply starts a new session.
+ */
+@Component
+@Slf4j
+public class ConversationMemory {
+
+    private static final int SUMMARY_WORDS = 80;
+
+    private final Cache<String, Conversation> sessions;
+    private final ChatModel summarizer;
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final TaskExecutor summaryExecutor;
+    private final int tokenBudget;
+    private final Counter summaries;
+
+    public ConversationMemory(ChatModel summarizer,
+                              GeminiCircuitBreaker circuitBreaker,
+                              @Qualifier("chatSummaryExecutor") TaskExecutor summaryExecutor,
+                              @Value("${lumadesk.chat-memory.token-budget:1000}") int tokenBudget,
+                              @Value("${lumadesk.chat-memory.idle-timeout:30m}") Duration idleTimeout,
+                              @Value("${lumadesk.chat-memory.max-sessions:10000}") long maxSessions,
+                              MeterRegistry meterRegistry) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.summarizer = summarizer;
+        this.circuitBreaker = circuitBreaker;
+        this.summaryExecutor = summaryExecutor;
+        this.tokenBudget = tokenBudget;
+        Gauge.builder("ai.chat.sessions", sessions, Cache::estimatedSize)
+                .description("Chat sessions held in memory")
+                .register(meterRegistry);
+        this.summaries = meterRegistry.counter("ai.chat.summaries");
+    }
+
+    // The session's conversation, or a new one seeded with the context an older client sent along
+    public Conversation open(String sessionId, String previousContext) {
+        if (sessionId != null) {
+            Conversation existing = sessions.getIfPresent(sessionId);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        Conversation conversation = new Conversation(UUID.randomUUID().toString(), seed(previousContext));
+        sessions.put(conversation.getId(), conversation);
+        return conversation;
+    }
+
+    public void record(Conversation conversation, String query, String answer) {
+        summarize(conversation, conversation.record(query, answer, tokenBudget));
+    }
+
+    private void summarize(Conversation conversation, List<Conversation.Turn> turns) {
+        if (turns.isEmpty()) {
+            return;
+        }
+        try {
+            summaryExecutor.execute(() -> {
+                String summary = null;
+                try {
+                    summary = bounded(circuitBreaker.call(() -> summarizer.chat(summaryPrompt(conversation.summary(), turns))));
+                    summaries.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Could not summarize chat session {}, dropping {} old turns: {}",
+                            conversation.getId(), turns.size(), e.getMessage());
+                }
+                summarize(conversation, conversation.finishSummary(summary));
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Chat summary queue is full, dropping {} old turns of session {}.", turns.size(), conversation.getId());
+            // Turns evicted meanwhile come back as a new run; hand them on so the session is not left summarizing
+            summarize(conversation, conversation.finishSummary(null));
+        }
+    }
+
+    private static String summaryPrompt(String summary, List<Conversation.Turn> turns) {
+        StringBuilder prompt = new StringBuilder("Summarize this support conversation in under " + SUMMARY_WORDS +
+                " words. Keep facts the assistant needs later: the customer's problem, steps already tried and " +
+                "anything promised. Return only the summary.\n\n");
+        if (!summary.isEmpty()) {
+            prompt.append("Summary so far: ").append(summary).append('\n');
+        }
+        turns.forEach(turn -> prompt.append("User: ").append(turn.user()).append("\nAI: ").append(turn.ai()).append('\n'));
+        return prompt.toString();
+    }
+
+    // The summary gets at most half the budget, whatever the model returned
+    private String bounded(String text) {
+        int maxChars = tokenBudget * 2;
+        return text == null || text.length() <= maxChars ? text : text.substring(0, maxChars);
+    }
+
+    private String seed(String previousContext) {
+        if (previousContext == null || previousContext.isBlank()) {
+            return "";
+        }
+        int maxChars = tokenBudget * 2;
+        return previousContext.length() <= maxChars ? previousContext : previousContext.substring(previousContext.length() - maxChars);
+    }
+}
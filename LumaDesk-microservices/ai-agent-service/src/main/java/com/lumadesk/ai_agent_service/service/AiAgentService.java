@@ -2,8 +2,10 @@ package com.lumadesk.ai_agent_service.service;
 
 import com.lumadesk.ai_agent_service.dto.AgentRequest;
 import com.lumadesk.ai_agent_service.dto.AgentResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface AiAgentService {
     public AgentResponse chatWithGemini(AgentRequest request);
+    public void streamChatWithGemini(AgentRequest request, SseEmitter emitter);
     public String checkGeminiStatus();
 }
@@ -1,21 +1,41 @@
 package com.lumadesk.ai_agent_service.service;
 
+import com.lumadesk.ai_agent_service.cache.LlmResponseCache;
 import com.lumadesk.ai_agent_service.dto.AgentRequest;
 import com.lumadesk.ai_agent_service.dto.AgentResponse;
 import com.lumadesk.ai_agent_service.exception.GeminiNotAvailableException;
-import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import com.lumadesk.ai_agent_service.health.GeminiCircuitBreaker;
+import com.lumadesk.ai_agent_service.health.GeminiHealthProber;
+import com.lumadesk.ai_agent_service.memory.Conversation;
+import com.lumadesk.ai_agent_service.memory.ConversationMemory;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.chat.ChatModel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AiAgentServiceImpl implements AiAgentService{
 
-    private final GoogleAiGeminiChatModel geminiChatModel;
+    private final ChatModel geminiChatModel;
+    private final StreamingChatModel geminiStreamingChatModel;
+    private final LlmResponseCache responseCache;
+    private final ConversationMemory conversationMemory;
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final GeminiHealthProber healthProber;
+
+    private static final String CACHE_NAMESPACE = "chat";
 
 
 
@@ -53,40 +73,144 @@ public class AiAgentServiceImpl implements AiAgentService{
 
     public AgentResponse chatWithGemini(AgentRequest request) {
         log.info("Received chat request for role: {} | query: {}", request.getRole(), request.getQuery());
-        String outputInstructions="Output Instructions: Respond concisely and professionally. , Your answer must be under 40 words. Do not exceed the word limit under any circumstance.";
-        String systemMessage = PROMPT_TEMPLATES.getOrDefault(request.getRole(), "You are a virtual assistant.  ");
-        String history = "";
-        if (request.getPreviousContext() != null && !request.getPreviousContext().isEmpty()) {
-            history = request.getPreviousContext();
-        }
-        String prompt =outputInstructions + "\nSystem Instructions:" + systemMessage + "\nHere is the conversation history:\n" + history + "\n\nUser: " + request.getQuery() + "\n\nAI:";
+        Conversation conversation = conversationMemory.open(request.getSessionId(), request.getPreviousContext());
+        String history = conversation.context();
+        String prompt = buildPrompt(request, history);
 
         try {
             log.debug("Sending prompt to Gemini model: {}", prompt);
-            String answer = geminiChatModel.chat(prompt);
+            // Same role, history and question (up to case and punctuation) reuse the earlier answer
+            String answer = responseCache.get(CACHE_NAMESPACE, request.getRole(), cacheKeyOf(request, history),
+                    () -> circuitBreaker.call(() -> geminiChatModel.chat(prompt)));
             log.info("Gemini model responded successfully for role: {}", request.getRole());
-            String newContext =history + (history.isEmpty()? "" : "\n") + "User: " + request.getQuery() + "\nAI: " + answer;
-            log.debug("New conversation context built successfully.");
-            return new AgentResponse(newContext, answer);
+            conversationMemory.record(conversation, request.getQuery(), answer);
+            log.debug("Conversation {} updated.", conversation.getId());
+            return responseOf(conversation, answer);
         } catch (Exception e) {
             log.error("Error communicating with Gemini model for role: {} | cause: {}", request.getRole(), e.getMessage(), e);
             throw new GeminiNotAvailableException("Error communicating with Gemini model. Cause: "+e);
         }
     }
 
-    public String checkGeminiStatus() {
+    // Sends "token" events as Gemini generates and a final "done" event carrying the same
+    // AgentResponse as the blocking endpoint; failures end the stream with an "error" event.
+    // Once the client has gone, nothing more is written to it, and the finished answer still
+    // lands in the cache and the conversation.
+    public void streamChatWithGemini(AgentRequest request, SseEmitter emitter) {
+        log.info("Received streaming chat request for role: {} | query: {}", request.getRole(), request.getQuery());
+        Conversation conversation = conversationMemory.open(request.getSessionId(), request.getPreviousContext());
+        String history = conversation.context();
+        String cacheKey = cacheKeyOf(request, history);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Optional<String> cached = responseCache.getIfPresent(CACHE_NAMESPACE, request.getRole(), cacheKey);
+        if (cached.isPresent()) {
+            sendToken(emitter, cached.get(), cancelled);
+            conversationMemory.record(conversation, request.getQuery(), cached.get());
+            finish(emitter, responseOf(conversation, cached.get()), cancelled);
+            return;
+        }
+
         try {
-            String response = geminiChatModel.chat("Hello");
-            if (response != null && !response.trim().isEmpty()) {
-                log.info("Gemini model is active and responding.");
-                return "Gemini model is active and responding.";
-            } else {
-                log.warn("Gemini model responded with empty content.");
-                return "Gemini model responded with empty content.";
+            circuitBreaker.acquire();
+        } catch (GeminiNotAvailableException e) {
+            log.warn("Not streaming for role: {} | {}", request.getRole(), e.getMessage());
+            sendError(emitter, cancelled);
+            return;
+        }
+        emitter.onTimeout(() -> cancelled.set(true));
+        emitter.onError(e -> cancelled.set(true));
+        geminiStreamingChatModel.chat(buildPrompt(request, history), new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String token) {
+                sendToken(emitter, token, cancelled);
             }
-        } catch (Exception e) {
-            log.error("Error connecting to Gemini model: {}", e.getMessage(), e);
-            throw new GeminiNotAvailableException("Error connecting to Gemini model. Cause: "+e);
+
+            @Override
+            public void onCompleteResponse(ChatResponse response) {
+                circuitBreaker.onSuccess();
+                String answer = response.aiMessage().text();
+                responseCache.put(CACHE_NAMESPACE, request.getRole(), cacheKey, answer);
+                log.info("Gemini model finished streaming for role: {}", request.getRole());
+                conversationMemory.record(conversation, request.getQuery(), answer);
+                finish(emitter, responseOf(conversation, answer), cancelled);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                circuitBreaker.onFailure(error);
+                log.error("Error streaming from Gemini model for role: {} | cause: {}", request.getRole(), error.getMessage(), error);
+                sendError(emitter, cancelled);
+            }
+        });
+    }
+
+    private static void sendToken(SseEmitter emitter, String token, AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return;
+        }
+        try {
+            // JSON keeps leading spaces and newlines of the token intact through the SSE framing
+            emitter.send(SseEmitter.event().name("token").data(Map.of("text", token), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            cancelled.set(true); // the client disconnected
+            log.debug("Chat stream client went away: {}", e.getMessage());
+        }
+    }
+
+    private static void sendError(SseEmitter emitter, AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("error")
+                    .data(Map.of("message", "The AI service is currently unavailable. Please try again later.")));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static void finish(SseEmitter emitter, AgentResponse response, AtomicBoolean cancelled) {
+        if (cancelled.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("done").data(response, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Chat stream client went away before the end: {}", e.getMessage());
+        }
+    }
+
+    private static String buildPrompt(AgentRequest request, String history) {
+        String outputInstructions="Output Instructions: Respond concisely and professionally. , Your answer must be under 40 words. Do not exceed the word limit under any circumstance.";
+        String systemMessage = PROMPT_TEMPLATES.getOrDefault(request.getRole(), "You are a virtual assistant.  ");
+        return outputInstructions + "\nSystem Instructions:" + systemMessage + "\nHere is the conversation history:\n" + history + "\n\nUser: " + request.getQuery() + "\n\nAI:";
+    }
+
+    private static String cacheKeyOf(AgentRequest request, String history) {
+        return history + "\nUser: " + request.getQuery();
+    }
+
+    // previousContext stays in the response for older clients; it is the bounded server-side history
+    private static AgentResponse responseOf(Conversation conversation, String answer) {
+        return new AgentResponse(conversation.context(), answer, conversation.getId());
+    }
+
+    // Answers from the background prober's last result instead of prompting the model per call
+    public String checkGeminiStatus() {
+        GeminiHealthProber.Status status = healthProber.status();
+        if (!status.reachable()) {
+            log.error("Error connecting to Gemini model: {}", status.error().getMessage());
+            throw new GeminiNotAvailableException("Error connecting to Gemini model. Cause: "+status.error());
+        }
+        if (status.responding()) {
+            log.info("Gemini model is active and responding.");
+            return "Gemini model is active and responding.";
+        } else {
+            log.warn("Gemini model responded with empty content.");
+            return "Gemini model responded with empty content.";
         }
     }
 }
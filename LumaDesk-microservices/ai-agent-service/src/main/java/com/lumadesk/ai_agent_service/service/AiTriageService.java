@@ -1,9 +1,15 @@
 package com.lumadesk.ai_agent_service.service;
 
+import com.lumadesk.ai_agent_service.dto.BatchTriageItem;
+import com.lumadesk.ai_agent_service.dto.BatchTriageResult;
 import com.lumadesk.ai_agent_service.dto.TriageRequest;
 import com.lumadesk.ai_agent_service.dto.TriageResponse;
 
+import java.util.List;
+
 public interface AiTriageService {
 
     TriageResponse suggestTriage(TriageRequest request);
+
+    List<BatchTriageResult> suggestTriageBatch(List<BatchTriageItem> items);
 }
@@ -1,26 +1,181 @@
 package com.lumadesk.ai_agent_service.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumadesk.ai_agent_service.cache.LlmResponseCache;
+import com.lumadesk.ai_agent_service.classifier.TriageClassifier;
+import com.lumadesk.ai_agent_service.dto.BatchTriageItem;
+import com.lumadesk.ai_agent_service.dto.BatchTriageResult;
 import com.lumadesk.ai_agent_service.dto.TriageRequest;
 import com.lumadesk.ai_agent_service.dto.TriageResponse;
 import com.lumadesk.ai_agent_service.exception.AIAgentException;
-import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import com.lumadesk.ai_agent_service.health.GeminiCircuitBreaker;
+import dev.langchain4j.model.chat.ChatModel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class AiTriageServiceImpl implements AiTriageService {
 
-    private final GoogleAiGeminiChatModel geminiChatModel;
+    private static final String CACHE_NAMESPACE = "triage";
+    private static final int MAX_TICKETS_PER_PROMPT = 20;
+    private static final Set<String> SEVERITIES = Set.of("LOW", "MEDIUM", "HIGH", "CRITICAL");
+    private static final Set<String> PRIORITIES = Set.of("LOW", "MEDIUM", "HIGH", "URGENT");
+
+    private final ChatModel geminiChatModel;
+    private final LlmResponseCache responseCache;
+    private final TriageClassifier triageClassifier;
+    private final GeminiCircuitBreaker circuitBreaker;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // Confident local predictions skip Gemini entirely; identical descriptions in one
+    // category then share the same suggestion without another model call
     @Override
     public TriageResponse suggestTriage(TriageRequest request) {
+        Optional<TriageResponse> local = triageClassifier.predict(request);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        return responseCache.get(CACHE_NAMESPACE, request.getIssueCategory(), request.getIssueDescription(),
+                () -> askModel(request));
+    }
+
+    // Tickets the classifier or the cache can answer never reach the model; the rest go out
+    // MAX_TICKETS_PER_PROMPT to a prompt. Results come back in request order.
+    @Override
+    public List<BatchTriageResult> suggestTriageBatch(List<BatchTriageItem> items) {
+        Map<Long, BatchTriageResult> results = new HashMap<>();
+        Map<Long, BatchTriageItem> pending = new LinkedHashMap<>();
+        for (BatchTriageItem item : items) {
+            Optional<TriageResponse> known = triageClassifier.predict(toRequest(item))
+                    .or(() -> responseCache.getIfPresent(CACHE_NAMESPACE, categoryOf(item), item.getIssueDescription()));
+            if (known.isPresent()) {
+                results.put(item.getTicketId(), suggestion(item, known.get()));
+            } else {
+                pending.put(item.getTicketId(), item);
+            }
+        }
+
+        List<BatchTriageItem> toAsk = new ArrayList<>(pending.values());
+        for (int from = 0; from < toAsk.size(); from += MAX_TICKETS_PER_PROMPT) {
+            triageChunk(toAsk.subList(from, Math.min(from + MAX_TICKETS_PER_PROMPT, toAsk.size())), results);
+        }
+        return items.stream().map(item -> results.get(item.getTicketId())).distinct().toList();
+    }
+
+    // Items the model left out or answered with something unusable are split in half and asked
+    // again, down to the single-ticket prompt, so one bad item cannot sink its neighbours.
+    private void triageChunk(List<BatchTriageItem> chunk, Map<Long, BatchTriageResult> results) {
+        if (chunk.size() == 1) {
+            triageSingle(chunk.get(0), results);
+            return;
+        }
+        Map<Long, TriageResponse> answers;
+        try {
+            answers = parseBatchResponse(circuitBreaker.call(() -> geminiChatModel.chat(buildBatchPrompt(chunk))));
+        } catch (AIAgentException e) {
+            answers = Map.of();
+        } catch (Exception e) {
+            // The model itself is failing; splitting would only multiply failing calls
+            chunk.forEach(item -> results.put(item.getTicketId(), failure(item, "AI model unavailable: " + e.getMessage())));
+            return;
+        }
+
+        List<BatchTriageItem> retry = new ArrayList<>();
+        for (BatchTriageItem item : chunk) {
+            TriageResponse answer = answers.get(item.getTicketId());
+            if (isValid(answer)) {
+                results.put(item.getTicketId(), suggestion(item, answer));
+                responseCache.put(CACHE_NAMESPACE, categoryOf(item), item.getIssueDescription(), answer);
+            } else {
+                retry.add(item);
+            }
+        }
+        if (!retry.isEmpty()) {
+            int half = (retry.size() + 1) / 2;
+            triageChunk(retry.subList(0, half), results);
+            if (half < retry.size()) {
+                triageChunk(retry.subList(half, retry.size()), results);
+            }
+        }
+    }
+
+    private void triageSingle(BatchTriageItem item, Map<Long, BatchTriageResult> results) {
+        try {
+            TriageResponse answer = suggestTriage(toRequest(item));
+            results.put(item.getTicketId(), isValid(answer)
+                    ? suggestion(item, answer)
+                    : failure(item, "AI model returned an unknown severity or priority"));
+        } catch (AIAgentException e) {
+            results.put(item.getTicketId(), failure(item, e.getMessage()));
+        }
+    }
+
+    private String buildBatchPrompt(List<BatchTriageItem> chunk) {
+        try {
+            return "You are an expert IT support Triage Officer. For each ticket in the JSON array below, " +
+                    "suggest a severity and priority. The possible severity levels are LOW, MEDIUM, HIGH, CRITICAL. " +
+                    "The possible priority levels are LOW, MEDIUM, HIGH, URGENT. " +
+                    "Return ONLY a valid JSON array (not code block, not markdown, not explanation) " +
+                    "with one object per ticket and three keys: \"ticketId\", \"severity\" and \"priority\".\n\n" +
+                    "Tickets: " + objectMapper.writeValueAsString(chunk);
+        } catch (Exception e) {
+            throw new AIAgentException("Failed to build batch triage prompt", e);
+        }
+    }
+
+    private Map<Long, TriageResponse> parseBatchResponse(String jsonResponse) {
+        try {
+            JsonNode array = objectMapper.readTree(stripMarkdown(jsonResponse));
+            Map<Long, TriageResponse> answers = new HashMap<>();
+            for (JsonNode node : array) {
+                if (node.path("ticketId").canConvertToLong()) {
+                    answers.put(node.path("ticketId").asLong(), new TriageResponse(
+                            node.path("severity").asText("").trim().toUpperCase(),
+                            node.path("priority").asText("").trim().toUpperCase()));
+                }
+            }
+            return answers;
+        } catch (Exception e) {
+            throw new AIAgentException("Failed to parse AI batch response: " + jsonResponse, e);
+        }
+    }
+
+    private static boolean isValid(TriageResponse answer) {
+        return answer != null && SEVERITIES.contains(answer.getSeverity()) && PRIORITIES.contains(answer.getPriority());
+    }
+
+    private static TriageRequest toRequest(BatchTriageItem item) {
+        return new TriageRequest(categoryOf(item), item.getIssueDescription());
+    }
+
+    // An uncategorized ticket is asked and cached under the empty category
+    private static String categoryOf(BatchTriageItem item) {
+        return item.getIssueCategory() == null ? "" : item.getIssueCategory();
+    }
+
+    private static BatchTriageResult suggestion(BatchTriageItem item, TriageResponse answer) {
+        return new BatchTriageResult(item.getTicketId(), answer.getSeverity(), answer.getPriority(), null);
+    }
+
+    private static BatchTriageResult failure(BatchTriageItem item, String error) {
+        return new BatchTriageResult(item.getTicketId(), null, null, error);
+    }
+
+    private TriageResponse askModel(TriageRequest request) {
         String prompt = buildPrompt(request);
 
         try {
-            String aiResponse = geminiChatModel.chat(prompt);
+            String aiResponse = circuitBreaker.call(() -> geminiChatModel.chat(prompt));
             return parseResponse(aiResponse);
         } catch (Exception e) {
             throw new AIAgentException("Failed to get triage suggestion from AI model", e);
@@ -39,14 +194,17 @@ public class AiTriageServiceImpl implements AiTriageService {
 
     private TriageResponse parseResponse(String jsonResponse) {
         try {
-            String cleaned = jsonResponse
-                    .replaceAll("(?s)```json", "")  // remove ```json
-                    .replaceAll("(?s)```", "")      // remove remaining ```
-                    .replaceAll("[\\n\\r]", "")     // remove newlines
-                    .trim();
-            return objectMapper.readValue(cleaned, TriageResponse.class);
+            return objectMapper.readValue(stripMarkdown(jsonResponse), TriageResponse.class);
         } catch (Exception e) {
             throw new AIAgentException("Failed to parse AI response: " + jsonResponse, e);
         }
     }
+
+    private static String stripMarkdown(String response) {
+        return response
+                .replaceAll("(?s)```json", "")  // remove ```json
+                .replaceAll("(?s)```", "")      // remove remaining ```
+                .replaceAll("[\\n\\r]", "")     // remove newlines
+                .trim();
+    }
 }
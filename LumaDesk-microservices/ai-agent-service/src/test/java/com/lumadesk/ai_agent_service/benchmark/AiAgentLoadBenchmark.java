@@ -0,0 +1,147 @@
+package com.lumadesk.ai_agent_service.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives /api/ai-agent/triage/suggest and /api/ai-agent/ at increasing concurrency against
+ * LocalChatModel, so no network or Gemini quota is involved. Prints throughput, latency
+ * percentiles, errors, peak JVM threads and the response cache hit ratio per step.
+ * Not part of the default test run: mvn test -Pbenchmark
+ * Knobs (system properties): benchmark.concurrency (default 1,4,16,64), benchmark.requests
+ * per step (200), benchmark.distinct-prompts (50; fewer means more cache hits), and any
+ * lumadesk.local-llm.* property for the model's latency and error rate.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "logging.file.name=target/benchmark.log",
+        "logging.level.com.lumadesk.ai_agent_service=WARN",
+        "lumadesk.ai-health.probe-interval=1h"
+})
+@ActiveProfiles("local-llm")
+class AiAgentLoadBenchmark {
+
+    private static final String[] ISSUES = {
+            "Internet is down for the whole office", "Broadband speed drops every evening",
+            "Router keeps rebooting", "Ethernet port on the switch is dead", "Wi-Fi signal weak upstairs"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final int[] concurrencyLevels = Arrays.stream(System.getProperty("benchmark.concurrency", "1,4,16,64").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    private final int requestsPerStep = Integer.getInteger("benchmark.requests", 200);
+    private final int distinctPrompts = Integer.getInteger("benchmark.distinct-prompts", 50);
+
+    @Test
+    void triageSuggest() throws Exception {
+        run("triage/suggest", "/api/ai-agent/triage/suggest", i -> "{\"issueCategory\":\"Network\",\"issueDescription\":\"" +
+                ISSUES[i % ISSUES.length] + " (case " + i % distinctPrompts + ")\"}");
+    }
+
+    @Test
+    void chat() throws Exception {
+        run("chat", "/api/ai-agent/", i -> "{\"role\":\"ROLE_CUSTOMER\",\"query\":\"" +
+                ISSUES[i % ISSUES.length] + ", what should I do? (case " + i % distinctPrompts + ")\"}");
+    }
+
+    private void run(String name, String path, IntFunction<String> body) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.printf("%n%-15s %6s %9s %8s %8s %8s %7s %8s %9s%n",
+                name, "conc", "req/s", "p50 ms", "p90 ms", "p99 ms", "errors", "threads", "cache hit");
+        int failures = 0;
+        for (int concurrency : concurrencyLevels) {
+            double hitsBefore = cacheCount("hit");
+            double missesBefore = cacheCount("miss");
+            threads.resetPeakThreadCount();
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger errors = new AtomicInteger();
+            AtomicInteger next = new AtomicInteger();
+            ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+            long start = System.nanoTime();
+            List<Future<?>> running = new ArrayList<>();
+            for (int caller = 0; caller < concurrency; caller++) {
+                running.add(callers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requestsPerStep; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        if (!post(path, body.apply(i))) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                }));
+            }
+            for (Future<?> caller : running) {
+                caller.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            callers.shutdown();
+
+            double hits = cacheCount("hit") - hitsBefore;
+            double lookups = hits + cacheCount("miss") - missesBefore;
+            List<Long> sorted = latencies.stream().sorted().toList();
+            System.out.printf("%-15s %6d %9.1f %8.1f %8.1f %8.1f %7d %8d %8.0f%%%n",
+                    "", concurrency, requestsPerStep / seconds, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), errors.get(), threads.getPeakThreadCount(),
+                    lookups == 0 ? 0 : 100 * hits / lookups);
+            failures += errors.get();
+        }
+        if (Double.parseDouble(System.getProperty("lumadesk.local-llm.error-rate", "0")) == 0) {
+            assertEquals(0, failures, "Without injected model errors every request should succeed.");
+        }
+    }
+
+    private boolean post(String path, String json) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.find("ai.response.cache.requests").tag("result", result).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private static double percentile(List<Long> sortedNanos, double quantile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0)) / 1e6;
+    }
+}
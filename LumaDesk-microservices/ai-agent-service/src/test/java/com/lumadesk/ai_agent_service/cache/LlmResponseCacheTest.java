@@ -0,0 +1,150 @@
+package com.lumadesk.ai_agent_service.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LlmResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new LlmResponseCache(100, Duration.ofMinutes(10), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void get_shouldShareOneModelCall_betweenConcurrentIdenticalPrompts() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        // When
+        Future<?>[] answers = new Future<?>[8];
+        for (int i = 0; i < answers.length; i++) {
+            answers[i] = callers.submit(() -> cache.get("chat", "ROLE_CUSTOMER", "Fiber down", () -> {
+                calls.incrementAndGet();
+                await(release);
+                return "Restart the router.";
+            }));
+        }
+        Thread.sleep(200); // let every caller reach the cache while the first call is still running
+        release.countDown();
+
+        // Then
+        for (Future<?> answer : answers) {
+            assertEquals("Restart the router.", answer.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        callers.shutdown();
+    }
+
+    @Test
+    void get_shouldKeepScopesApart() {
+        // When
+        cache.get("chat", "ROLE_CUSTOMER", "no internet", () -> "customer answer");
+        String answer = cache.get("chat", "ROLE_NOC_ENGINEER", "no internet", () -> "engineer answer");
+
+        // Then
+        assertEquals("engineer answer", answer);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void get_shouldNotCacheFailures() {
+        // Given
+        assertThrows(IllegalStateException.class,
+                () -> cache.get("triage", "Network", "no internet", () -> { throw new IllegalStateException("quota"); }));
+
+        // When
+        String answer = cache.get("triage", "Network", "no internet", () -> "recovered");
+
+        // Then
+        assertEquals("recovered", answer);
+    }
+
+    @Test
+    void get_shouldReleaseWaitingCallers_whenTheLoaderThrowsAnError() throws Exception {
+        // Given: the first call dies with an Error, not a RuntimeException, while a second caller waits on it
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<?> first = callers.submit(() -> cache.get("triage", "Network", "no internet", () -> {
+            await(release);
+            throw new StackOverflowError("deep prompt");
+        }));
+        Thread.sleep(100);
+        Future<?> joiner = callers.submit(() -> cache.get("triage", "Network", "no internet", () -> "never used"));
+        Thread.sleep(100);
+
+        // When
+        release.countDown();
+
+        // Then: both see the failure promptly and the next caller loads afresh
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException joinerFailure = assertThrows(ExecutionException.class, () -> joiner.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, firstFailure.getCause());
+        assertInstanceOf(StackOverflowError.class, joinerFailure.getCause());
+        assertEquals("recovered", cache.get("triage", "Network", "no internet", () -> "recovered"));
+        callers.shutdown();
+    }
+
+    @Test
+    void get_shouldStopWaitingOnAnotherCallersCall_afterTheJoinTimeout() throws Exception {
+        // Given: a short join timeout and a model call that hangs
+        LlmResponseCache impatient = new LlmResponseCache(100, Duration.ofMinutes(10), Duration.ofMillis(100), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        Future<?> first = callers.submit(() -> impatient.get("chat", "ROLE_CUSTOMER", "Fiber down", () -> {
+            await(release);
+            return "Restart the router.";
+        }));
+        Thread.sleep(100);
+
+        // When / Then
+        IllegalStateException timeout = assertThrows(IllegalStateException.class,
+                () -> impatient.get("chat", "ROLE_CUSTOMER", "Fiber down", () -> "never used"));
+        assertTrue(timeout.getMessage().contains("No answer within"));
+
+        release.countDown();
+        assertEquals("Restart the router.", first.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+
+    @Test
+    void get_shouldCountHitsAndMisses() {
+        // When
+        cache.get("triage", "Network", "No internet", () -> "first");
+        cache.get("triage", "Network", "no internet.", () -> "second");
+
+        // Then
+        assertEquals(1, meterRegistry.counter("ai.response.cache.requests", "cache", "triage", "result", "miss").count());
+        assertEquals(1, meterRegistry.counter("ai.response.cache.requests", "cache", "triage", "result", "hit").count());
+    }
+
+    @Test
+    void normalize_shouldIgnoreCasePunctuationAndSpacing() {
+        assertEquals("no internet since 9am", LlmResponseCache.normalize("  No internet... since 9AM!! "));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
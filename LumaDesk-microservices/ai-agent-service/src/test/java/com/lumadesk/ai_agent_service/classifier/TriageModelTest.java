@@ -0,0 +1,72 @@
+package com.lumadesk.ai_agent_service.classifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TriageModelTest {
+
+    private static TriageModel trainedModel() {
+        TriageModel.Builder builder = TriageModel.builder(1 << 12);
+        for (int i = 0; i < 10; i++) {
+            builder.add("Network", "no internet in the whole building", "CRITICAL", "URGENT");
+            builder.add("Network", "speed is a bit slow in the evening", "LOW", "MEDIUM");
+            builder.add("Hardware", "router power light blinking red", "HIGH", "HIGH");
+        }
+        return builder.build(0.1);
+    }
+
+    @Test
+    void predict_shouldPickTheLabelsSeenWithSimilarDescriptions() {
+        // Given
+        TriageModel model = trainedModel();
+
+        // When
+        TriageModel.Prediction prediction = model.predict("Network", "No internet anywhere in the building!");
+
+        // Then
+        assertEquals("CRITICAL", prediction.severity());
+        assertEquals("URGENT", prediction.priority());
+        assertTrue(prediction.severityConfidence() > 0.9, "A close match should be confident.");
+    }
+
+    @Test
+    void predict_shouldBeUnsure_whenDescriptionSharesNothingWithTraining() {
+        // Given
+        TriageModel model = trainedModel();
+
+        // When
+        TriageModel.Prediction prediction = model.predict("Other", "xyzzy");
+
+        // Then
+        assertTrue(prediction.severityConfidence() < 0.9, "An unseen description should not clear the threshold.");
+    }
+
+    @Test
+    void write_shouldRoundTripTheModel() throws IOException {
+        // Given
+        TriageModel model = trainedModel();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // When
+        model.write(new DataOutputStream(bytes));
+        TriageModel restored = TriageModel.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        TriageModel.Prediction expected = model.predict("Hardware", "router light blinking red");
+        TriageModel.Prediction actual = restored.predict("Hardware", "router light blinking red");
+        assertEquals(expected, actual);
+        assertEquals(30, restored.trainingExamples());
+    }
+
+    @Test
+    void builder_shouldRejectBucketCountThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> TriageModel.builder(1000));
+    }
+}
@@ -0,0 +1,64 @@
+package com.lumadesk.ai_agent_service.health;
+
+import com.lumadesk.ai_agent_service.exception.GeminiNotAvailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeminiCircuitBreakerTest {
+
+    private static final RuntimeException DOWN = new RuntimeException("Gemini is down");
+
+    @Test
+    void call_shouldFailFast_onceTheFailureThresholdIsReached() {
+        // Given
+        GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(3, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        AtomicInteger modelCalls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertThrows(RuntimeException.class, () -> breaker.call(() -> {
+                modelCalls.incrementAndGet();
+                throw DOWN;
+            }));
+        }
+
+        // When & Then
+        assertThrows(GeminiNotAvailableException.class, () -> breaker.call(modelCalls::incrementAndGet));
+        assertEquals(3, modelCalls.get(), "An open circuit should not reach the model.");
+        assertEquals(GeminiCircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void call_shouldLetOneTrialThrough_afterTheOpenDuration() {
+        // Given
+        GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(1, Duration.ZERO, new SimpleMeterRegistry());
+        breaker.probeFailed(DOWN);
+
+        // When
+        breaker.acquire();
+
+        // Then
+        assertEquals(GeminiCircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertThrows(GeminiNotAvailableException.class, breaker::acquire, "Only one trial call at a time.");
+        breaker.onSuccess();
+        assertEquals(GeminiCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void onFailure_shouldNotOpen_whileFailuresStayBelowTheThreshold() {
+        // Given
+        GeminiCircuitBreaker breaker = new GeminiCircuitBreaker(3, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        // When
+        breaker.onFailure(DOWN);
+        breaker.onFailure(DOWN);
+        breaker.onSuccess();
+        breaker.onFailure(DOWN);
+
+        // Then
+        assertEquals(GeminiCircuitBreaker.State.CLOSED, breaker.state());
+    }
+}
@@ -0,0 +1,96 @@
+package com.lumadesk.ai_agent_service.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalChatModelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void chat_shouldAnswerTriagePrompts_withCannedJson() throws Exception {
+        // Given
+        LocalChatModel model = new LocalChatModel(Duration.ZERO, Duration.ZERO, 0, 1);
+
+        // When
+        String answer = model.chat("Return ONLY a valid JSON object\n\nIssue Category: Network\nIssue Description: Total outage in the building");
+
+        // Then
+        JsonNode json = objectMapper.readTree(answer);
+        assertEquals("CRITICAL", json.path("severity").asText());
+        assertEquals("URGENT", json.path("priority").asText());
+    }
+
+    @Test
+    void chat_shouldAnswerEveryTicketOfABatchPrompt() throws Exception {
+        // Given
+        LocalChatModel model = new LocalChatModel(Duration.ZERO, Duration.ZERO, 0, 1);
+        String prompt = "For each ticket in the JSON array below...\n\nTickets: [" +
+                "{\"ticketId\":7,\"issueCategory\":\"Network\",\"issueDescription\":\"Slow speed\"}," +
+                "{\"ticketId\":9,\"issueCategory\":\"Hardware\",\"issueDescription\":\"Router is down\"}]";
+
+        // When
+        JsonNode answers = objectMapper.readTree(model.chat(prompt));
+
+        // Then
+        assertEquals(2, answers.size());
+        assertEquals(7, answers.get(0).path("ticketId").asLong());
+        assertEquals("CRITICAL", answers.get(1).path("severity").asText());
+        assertEquals(model.chat(prompt), model.chat(prompt), "Answers should be deterministic.");
+    }
+
+    @Test
+    void chat_shouldFailEveryCall_whenTheErrorRateIsOne() {
+        // Given
+        LocalChatModel model = new LocalChatModel(Duration.ZERO, Duration.ZERO, 1, 1);
+
+        // When & Then
+        assertThrows(LocalChatModel.LocalModelException.class, () -> model.chat("Hello"));
+    }
+
+    @Test
+    void chat_shouldStreamTheSameAnswer_tokenByToken() throws Exception {
+        // Given
+        LocalChatModel model = new LocalChatModel(Duration.ofMillis(10), Duration.ofMillis(20), 0, 1);
+        StringBuilder streamed = new StringBuilder();
+        CompletableFuture<String> completed = new CompletableFuture<>();
+
+        // When
+        model.chat("Is there an outage?", new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String token) {
+                streamed.append(token);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse response) {
+                completed.complete(response.aiMessage().text());
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                completed.completeExceptionally(error);
+            }
+        });
+
+        // Then
+        String answer = completed.get(5, TimeUnit.SECONDS);
+        assertEquals(model.chat("Is there an outage?"), answer);
+        assertEquals(answer, streamed.toString());
+    }
+
+    @Test
+    void constructor_shouldRejectAP99BelowTheMedian() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LocalChatModel(Duration.ofSeconds(1), Duration.ofMillis(100), 0, 1));
+    }
+}
@@ -0,0 +1,134 @@
+package com.lumadesk.ai_agent_service.memory;
+
+import com.lumadesk.ai_agent_service.health.GeminiCircuitBreaker;
+import dev.langchain4j.model.chat.ChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversationMemoryTest {
+
+    private ChatModel summarizer;
+    private ConversationMemory memory;
+
+    @BeforeEach
+    void setUp() {
+        summarizer = mock(ChatModel.class);
+        // 50 tokens is about two of the turns below
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        memory = new ConversationMemory(summarizer, new GeminiCircuitBreaker(5, Duration.ofSeconds(30), meterRegistry),
+                new SyncTaskExecutor(), 50, Duration.ofMinutes(30), 100, meterRegistry);
+    }
+
+    @Test
+    void record_shouldFoldOldTurnsIntoTheSummary_onceTheWindowExceedsTheBudget() {
+        // Given
+        when(summarizer.chat(anyString())).thenReturn("Customer's router keeps rebooting.");
+        Conversation conversation = memory.open(null, null);
+
+        // When
+        for (int turn = 1; turn <= 4; turn++) {
+            memory.record(conversation, "Question number " + turn + " about the router", "Answer number " + turn + " about the router");
+        }
+
+        // Then
+        String context = conversation.context();
+        assertTrue(context.startsWith("Summary of the earlier conversation: Customer's router keeps rebooting."));
+        assertFalse(context.contains("Question number 1"), "Summarized turns should leave the window.");
+        assertTrue(context.contains("Question number 4"));
+        assertTrue(context.length() < 300, "The history should stay bounded.");
+    }
+
+    @Test
+    void record_shouldNotSummarize_whileTheWindowFitsTheBudget() {
+        // Given
+        Conversation conversation = memory.open(null, null);
+
+        // When
+        memory.record(conversation, "Hi", "Hello, how can I help?");
+
+        // Then
+        assertEquals("User: Hi\nAI: Hello, how can I help?", conversation.context());
+        verify(summarizer, never()).chat(anyString());
+    }
+
+    @Test
+    void record_shouldKeepTheOldSummary_whenSummarizingFails() {
+        // Given
+        when(summarizer.chat(anyString())).thenThrow(new RuntimeException("Gemini is down"));
+        Conversation conversation = memory.open(null, "Customer asked about fibre plans.");
+
+        // When
+        for (int turn = 1; turn <= 4; turn++) {
+            memory.record(conversation, "Question number " + turn + " about the router", "Answer number " + turn + " about the router");
+        }
+
+        // Then
+        assertTrue(conversation.context().startsWith("Summary of the earlier conversation: Customer asked about fibre plans."));
+        assertFalse(conversation.context().contains("Question number 1"));
+    }
+
+    @Test
+    void record_shouldKeepSummarizing_afterTheQueueRejectedARun() {
+        // Given: the first run is rejected, and another request evicts more turns before the rejection is handled
+        when(summarizer.chat(anyString())).thenReturn("Customer's router keeps rebooting.");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AtomicBoolean rejectedOnce = new AtomicBoolean();
+        AtomicReference<Runnable> concurrentRequest = new AtomicReference<>();
+        TaskExecutor rejectingOnce = task -> {
+            if (rejectedOnce.compareAndSet(false, true)) {
+                concurrentRequest.get().run();
+                throw new TaskRejectedException("queue full");
+            }
+            task.run();
+        };
+        ConversationMemory busyMemory = new ConversationMemory(summarizer,
+                new GeminiCircuitBreaker(5, Duration.ofSeconds(30), meterRegistry), rejectingOnce, 50,
+                Duration.ofMinutes(30), 100, meterRegistry);
+        Conversation conversation = busyMemory.open(null, null);
+        concurrentRequest.set(() -> busyMemory.record(conversation, "Question number 4 about the router",
+                "Answer number 4 about the router"));
+
+        // When
+        for (int turn = 1; turn <= 3; turn++) {
+            busyMemory.record(conversation, "Question number " + turn + " about the router", "Answer number " + turn + " about the router");
+        }
+        busyMemory.record(conversation, "Question number 5 about the router", "Answer number 5 about the router");
+
+        // Then: the turns evicted during the rejected run were summarized, and later ones still are
+        verify(summarizer, atLeastOnce()).chat(anyString());
+        assertTrue(conversation.context().startsWith("Summary of the earlier conversation: Customer's router keeps rebooting."));
+        assertFalse(conversation.context().contains("Question number 3"));
+    }
+
+    @Test
+    void open_shouldResumeAKnownSession_andStartAFreshOneForAnUnknownId() {
+        // Given
+        Conversation conversation = memory.open(null, null);
+        memory.record(conversation, "Hi", "Hello");
+
+        // When
+        Conversation resumed = memory.open(conversation.getId(), null);
+        Conversation unknown = memory.open("no-such-session", null);
+
+        // Then
+        assertSame(conversation, resumed);
+        assertNotEquals("no-such-session", unknown.getId());
+        assertEquals("", unknown.context());
+    }
+}
@@ -1,17 +1,34 @@
 package com.lumadesk.ai_agent_service.service;
 
+import com.lumadesk.ai_agent_service.cache.LlmResponseCache;
 import com.lumadesk.ai_agent_service.dto.AgentRequest;
 import com.lumadesk.ai_agent_service.dto.AgentResponse;
 import com.lumadesk.ai_agent_service.exception.GeminiNotAvailableException;
+import com.lumadesk.ai_agent_service.health.GeminiCircuitBreaker;
+import com.lumadesk.ai_agent_service.health.GeminiHealthProber;
+import com.lumadesk.ai_agent_service.memory.ConversationMemory;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AiAgentServiceImplTest {
@@ -19,12 +36,20 @@ class AiAgentServiceImplTest {
     @Mock
     private GoogleAiGeminiChatModel geminiChatModel;
 
-    @InjectMocks
+    @Mock
+    private StreamingChatModel geminiStreamingChatModel;
+
     private AiAgentServiceImpl aiAgentService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GeminiCircuitBreaker circuitBreaker = new GeminiCircuitBreaker(5, Duration.ofSeconds(30), meterRegistry);
+        aiAgentService = new AiAgentServiceImpl(geminiChatModel, geminiStreamingChatModel,
+                new LlmResponseCache(100, Duration.ofMinutes(10), Duration.ofSeconds(5), meterRegistry),
+                new ConversationMemory(geminiChatModel, circuitBreaker, new SyncTaskExecutor(), 1000, Duration.ofMinutes(30), 100, meterRegistry),
+                circuitBreaker, new GeminiHealthProber(geminiChatModel, circuitBreaker));
     }
 
     @Test
@@ -87,4 +112,80 @@ class AiAgentServiceImplTest {
         // When & Then
         assertThrows(GeminiNotAvailableException.class, () -> aiAgentService.checkGeminiStatus());
     }
+
+    @Test
+    void streamChatWithGemini_shouldCacheTheFinishedAnswer_forTheBlockingEndpoint() {
+        // Given
+        AgentRequest request = new AgentRequest("ROLE_CUSTOMER", "", "Is there an outage?");
+        doAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            handler.onPartialResponse("Yes, ");
+            handler.onPartialResponse("engineers are on it.");
+            handler.onCompleteResponse(ChatResponse.builder().aiMessage(AiMessage.from("Yes, engineers are on it.")).build());
+            return null;
+        }).when(geminiStreamingChatModel).chat(anyString(), any(StreamingChatResponseHandler.class));
+
+        // When
+        aiAgentService.streamChatWithGemini(request, new SseEmitter());
+        AgentResponse response = aiAgentService.chatWithGemini(request);
+
+        // Then
+        assertEquals("Yes, engineers are on it.", response.getAnswer());
+        verify(geminiChatModel, never()).chat(anyString());
+    }
+
+    @Test
+    void streamChatWithGemini_shouldNotCallTheModel_whenTheAnswerIsCached() {
+        // Given
+        AgentRequest request = new AgentRequest("ROLE_CUSTOMER", "", "Is there an outage?");
+        when(geminiChatModel.chat(anyString())).thenReturn("No outage reported.");
+        aiAgentService.chatWithGemini(request);
+
+        // When
+        aiAgentService.streamChatWithGemini(request, new SseEmitter());
+
+        // Then
+        verify(geminiStreamingChatModel, never()).chat(anyString(), any(StreamingChatResponseHandler.class));
+    }
+
+    @Test
+    void chatWithGemini_shouldContinueTheSession_withoutTheClientSendingHistory() {
+        // Given
+        when(geminiChatModel.chat(anyString())).thenReturn("Restart the router.", "Then call us back.");
+        AgentResponse first = aiAgentService.chatWithGemini(new AgentRequest("ROLE_CUSTOMER", null, "My internet is down."));
+
+        // When
+        AgentResponse second = aiAgentService.chatWithGemini(new AgentRequest("ROLE_CUSTOMER", null, "Did that, still down.", first.getSessionId()));
+
+        // Then
+        assertEquals(first.getSessionId(), second.getSessionId());
+        assertTrue(second.getPreviousContext().contains("My internet is down."), "The earlier turn should be remembered.");
+        assertTrue(second.getPreviousContext().contains("Then call us back."));
+    }
+
+    @Test
+    void checkGeminiStatus_shouldAnswerFromTheLastProbe_withoutPromptingTheModelAgain() {
+        // Given
+        when(geminiChatModel.chat("Hello")).thenReturn("Hi there!");
+        aiAgentService.checkGeminiStatus();
+
+        // When
+        aiAgentService.checkGeminiStatus();
+        aiAgentService.checkGeminiStatus();
+
+        // Then
+        verify(geminiChatModel, times(1)).chat("Hello");
+    }
+
+    @Test
+    void chatWithGemini_shouldFailFast_afterTheHealthProbeFails() {
+        // Given
+        when(geminiChatModel.chat("Hello")).thenThrow(new RuntimeException("Gemini is down"));
+        assertThrows(GeminiNotAvailableException.class, () -> aiAgentService.checkGeminiStatus());
+
+        // When & Then
+        assertThrows(GeminiNotAvailableException.class,
+                () -> aiAgentService.chatWithGemini(new AgentRequest("ROLE_CUSTOMER", null, "Is there an outage?")));
+        verify(geminiChatModel, times(1)).chat(anyString());
+    }
 }
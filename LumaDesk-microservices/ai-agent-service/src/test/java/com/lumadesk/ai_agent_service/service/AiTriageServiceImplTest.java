@@ -1,17 +1,30 @@
 package com.lumadesk.ai_agent_service.service;
 
+import com.lumadesk.ai_agent_service.cache.LlmResponseCache;
+import com.lumadesk.ai_agent_service.classifier.TriageClassifier;
+import com.lumadesk.ai_agent_service.classifier.TriageModel;
+import com.lumadesk.ai_agent_service.dto.BatchTriageItem;
+import com.lumadesk.ai_agent_service.dto.BatchTriageResult;
 import com.lumadesk.ai_agent_service.dto.TriageRequest;
 import com.lumadesk.ai_agent_service.dto.TriageResponse;
 import com.lumadesk.ai_agent_service.exception.AIAgentException;
+import com.lumadesk.ai_agent_service.health.GeminiCircuitBreaker;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AiTriageServiceImplTest {
@@ -19,12 +32,12 @@ class AiTriageServiceImplTest {
     @Mock
     private GoogleAiGeminiChatModel geminiChatModel;
 
-    @InjectMocks
     private AiTriageServiceImpl aiTriageService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        aiTriageService = newService(null);
     }
 
     @Test
@@ -66,4 +79,92 @@ class AiTriageServiceImplTest {
         // When & Then
         assertThrows(AIAgentException.class, () -> aiTriageService.suggestTriage(request));
     }
+
+    @Test
+    void suggestTriage_shouldCallGeminiOnce_forDescriptionsThatDifferOnlyInCaseAndPunctuation() {
+        // Given
+        when(geminiChatModel.chat(anyString())).thenReturn("{\"severity\": \"HIGH\", \"priority\": \"URGENT\"}");
+
+        // When
+        TriageResponse first = aiTriageService.suggestTriage(new TriageRequest("Network", "No internet"));
+        TriageResponse second = aiTriageService.suggestTriage(new TriageRequest("Network", "no  internet!!"));
+
+        // Then
+        assertEquals(first.getSeverity(), second.getSeverity());
+        verify(geminiChatModel, times(1)).chat(anyString());
+    }
+
+    @Test
+    void suggestTriage_shouldAnswerLocally_whenClassifierIsConfident() {
+        // Given
+        TriageModel.Builder builder = TriageModel.builder(1 << 12);
+        for (int i = 0; i < 20; i++) {
+            builder.add("Network", "fiber cut whole area offline", "CRITICAL", "URGENT");
+            builder.add("Billing", "invoice amount looks wrong", "LOW", "LOW");
+        }
+        aiTriageService = newService(builder.build(0.1));
+
+        // When
+        TriageResponse response = aiTriageService.suggestTriage(new TriageRequest("Network", "Fiber cut, whole area offline"));
+
+        // Then
+        assertEquals("CRITICAL", response.getSeverity());
+        assertEquals("URGENT", response.getPriority());
+        verify(geminiChatModel, never()).chat(anyString());
+    }
+
+    @Test
+    void suggestTriageBatch_shouldAnswerManyTicketsWithOnePrompt() {
+        // Given
+        List<BatchTriageItem> items = List.of(
+                new BatchTriageItem(1L, "Network", "Fiber down in the area"),
+                new BatchTriageItem(2L, "Billing", "Charged twice this month"));
+        when(geminiChatModel.chat(anyString())).thenReturn("```json\n[" +
+                "{\"ticketId\": 1, \"severity\": \"CRITICAL\", \"priority\": \"URGENT\"}," +
+                "{\"ticketId\": 2, \"severity\": \"low\", \"priority\": \"MEDIUM\"}]\n```");
+
+        // When
+        List<BatchTriageResult> results = aiTriageService.suggestTriageBatch(items);
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(1L, results.get(0).getTicketId());
+        assertEquals("CRITICAL", results.get(0).getSeverity());
+        assertEquals("LOW", results.get(1).getSeverity());
+        verify(geminiChatModel, times(1)).chat(anyString());
+    }
+
+    @Test
+    void suggestTriageBatch_shouldRetryAloneTheTicketsTheModelLeftOutOrGotWrong() {
+        // Given
+        List<BatchTriageItem> items = List.of(
+                new BatchTriageItem(1L, "Network", "Fiber down in the area"),
+                new BatchTriageItem(2L, "Network", "Wifi drops at night"),
+                new BatchTriageItem(3L, "Hardware", "Modem makes a noise"));
+        when(geminiChatModel.chat(contains("Tickets:"))).thenReturn("[" +
+                "{\"ticketId\": 1, \"severity\": \"CRITICAL\", \"priority\": \"URGENT\"}," +
+                "{\"ticketId\": 2, \"severity\": \"SEVERE\", \"priority\": \"HIGH\"}]");
+        when(geminiChatModel.chat(contains("Issue Description: Wifi drops at night")))
+                .thenReturn("{\"severity\": \"MEDIUM\", \"priority\": \"MEDIUM\"}");
+        when(geminiChatModel.chat(contains("Issue Description: Modem makes a noise")))
+                .thenReturn("not json");
+
+        // When
+        List<BatchTriageResult> results = aiTriageService.suggestTriageBatch(items);
+
+        // Then
+        assertEquals("CRITICAL", results.get(0).getSeverity());
+        assertEquals("MEDIUM", results.get(1).getSeverity(), "An unknown level is asked again on its own.");
+        assertNull(results.get(2).getSeverity());
+        assertNotNull(results.get(2).getError(), "A ticket the model cannot triage is reported, not dropped.");
+        verify(geminiChatModel, times(3)).chat(anyString());
+    }
+
+    private AiTriageServiceImpl newService(TriageModel model) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new AiTriageServiceImpl(geminiChatModel,
+                new LlmResponseCache(100, Duration.ofMinutes(10), Duration.ofSeconds(5), meterRegistry),
+                new TriageClassifier(model, 0.9, meterRegistry),
+                new GeminiCircuitBreaker(5, Duration.ofSeconds(30), meterRegistry));
+    }
 }
@@ -3,6 +3,7 @@ package com.lumadesk.auth_service.client;
 import com.lumadesk.auth_service.dto.UserCreationRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
@@ -13,9 +14,9 @@ public class UserClient {
     private static final Logger log = LoggerFactory.getLogger(UserClient.class);
     private final WebClient webClient;
 
-    // Constructor injection of the load-balanced WebClient.Builder
-    public UserClient(WebClient.Builder builder) {
-        this.webClient = builder.baseUrl("http://user-service").build();
+    // Pooled, load-balanced client for user-service from WebClientConfig
+    public UserClient(@Qualifier("userServiceWebClient") WebClient webClient) {
+        this.webClient = webClient;
     }
 
     public void createUserProfile(UserCreationRequest request) {
@@ -1,22 +1,60 @@
 package com.lumadesk.feedback_service.client;
 
+import com.lumadesk.feedback_service.dto.NotificationBatchRequest;
 import com.lumadesk.feedback_service.dto.NotificationRequest;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.util.List;
+
+// Coalesces notifications: requests arriving within FLUSH_INTERVAL (or MAX_BATCH of them)
+// go out as one call to the bulk endpoint.
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class NotificationServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final int MAX_BATCH = 100;
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(20);
+    private static final int MAX_CONCURRENT_FLUSHES = 4;
+    private static final Sinks.EmitFailureHandler RETRY_CONTENDED_EMIT =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    private final WebClient webClient;
+    private final Sinks.Many<NotificationRequest> pending = Sinks.many().unicast().onBackpressureBuffer();
+
+    public NotificationServiceClient(@Qualifier("notificationServiceWebClient") WebClient webClient) {
+        this.webClient = webClient;
+        pending.asFlux()
+                .bufferTimeout(MAX_BATCH, FLUSH_INTERVAL, true)
+                .flatMap(this::flush, MAX_CONCURRENT_FLUSHES)
+                .subscribe();
+    }
 
     public void sendNotification(NotificationRequest request) {
-        webClientBuilder.build().post()
-                .uri("http://notification-service/internal/api/notifications/send")
-                .bodyValue(request)
+        pending.emitNext(request, RETRY_CONTENDED_EMIT); // Fire and forget
+    }
+
+    private Mono<Void> flush(List<NotificationRequest> batch) {
+        return webClient.post()
+                .uri("/internal/api/notifications/send-batch")
+                .bodyValue(new NotificationBatchRequest(batch))
                 .retrieve()
                 .bodyToMono(Void.class)
-                .subscribe(); // Fire and forget
+                .onErrorResume(e -> {
+                    log.warn("Dropped a batch of {} notifications: {}", batch.size(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    // Flushes whatever is still buffered
+    @PreDestroy
+    public void shutdown() {
+        pending.tryEmitComplete();
     }
 }
@@ -1,19 +1,22 @@
 package com.lumadesk.feedback_service.client;
 
 import com.lumadesk.feedback_service.dto.ReopenTicketRequest;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Component
-@RequiredArgsConstructor
 public class TicketServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
+
+    public TicketServiceClient(@Qualifier("ticketServiceWebClient") WebClient webClient) {
+        this.webClient = webClient;
+    }
 
     public void reopenTicket(ReopenTicketRequest request) {
-        webClientBuilder.build().put()
-                .uri("http://ticket-service/api/tickets/reopen")
+        webClient.put()
+                .uri("/api/tickets/reopen")
                 .bodyValue(request)
                 .retrieve()
                 .bodyToMono(Void.class)
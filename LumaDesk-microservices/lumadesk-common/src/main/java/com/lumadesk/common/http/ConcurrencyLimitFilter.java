@@ -0,0 +1,139 @@
+package com.lumadesk.common.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the requests one downstream service may have in flight. Calls beyond the cap wait in a
+ * bounded queue until a request finishes; once that queue is full new calls fail straight away
+ * with a RejectedExecutionException instead of piling up in memory. A request counts as in
+ * flight until its response body has been read, released or cancelled, not just until the
+ * headers arrive, so slow or large bodies hold their slot (and connection) the whole time.
+ */
+public class ConcurrencyLimitFilter implements ExchangeFilterFunction {
+
+    private final String target;
+    private final int maxInFlight;
+    private final int maxPending;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final Counter rejected;
+    private int inFlight;
+
+    public ConcurrencyLimitFilter(String target, int maxInFlight, int maxPending, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.maxInFlight = maxInFlight;
+        this.maxPending = maxPending;
+        Gauge.builder("lumadesk.http.client.in.flight", this, ConcurrencyLimitFilter::inFlight)
+                .description("Requests currently running against the target service")
+                .tag("target", target)
+                .register(meterRegistry);
+        Gauge.builder("lumadesk.http.client.pending", this, ConcurrencyLimitFilter::pending)
+                .description("Requests waiting for an in-flight slot")
+                .tag("target", target)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("lumadesk.http.client.rejected")
+                .description("Requests refused because the wait queue was full")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return acquire().flatMap(permit -> next.exchange(request)
+                .map(response -> response.mutate()
+                        .body(body -> body.doFinally(signal -> release(permit)))
+                        .build())
+                .doOnSuccess(response -> {
+                    if (response == null) {
+                        release(permit);
+                    }
+                })
+                .doOnError(error -> release(permit))
+                .doOnCancel(() -> release(permit)));
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int pending() {
+        return waiters.size();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            synchronized (this) {
+                if (inFlight < maxInFlight) {
+                    inFlight++;
+                    sink.success(new Permit());
+                    return;
+                }
+                if (waiters.size() >= maxPending) {
+                    rejected.increment();
+                    sink.error(new RejectedExecutionException(
+                            "Too many pending requests to " + target + " (" + maxPending + " waiting)"));
+                    return;
+                }
+                Waiter waiter = new Waiter(sink);
+                waiters.addLast(waiter);
+                sink.onCancel(() -> abandon(waiter));
+            }
+        });
+    }
+
+    // Hands the slot to the next waiter, or frees it. Idempotent per permit.
+    private void release(Permit permit) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        Waiter next;
+        synchronized (this) {
+            next = waiters.pollFirst();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            next.permit = new Permit();
+        }
+        next.sink.success(next.permit);
+    }
+
+    // A caller gave up while queued; if it had just been handed a slot, pass that slot on
+    private void abandon(Waiter waiter) {
+        Permit granted;
+        synchronized (this) {
+            if (waiters.remove(waiter)) {
+                return;
+            }
+            granted = waiter.permit;
+        }
+        if (granted != null) {
+            release(granted);
+        }
+    }
+
+    private static final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
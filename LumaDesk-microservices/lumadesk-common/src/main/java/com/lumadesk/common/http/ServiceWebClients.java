@@ -0,0 +1,65 @@
+package com.lumadesk.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Builds the WebClients the services use to call each other: one builder over a shared Reactor
+ * Netty connection pool (capped per remote host) with connect and response timeouts, and from it
+ * one client per downstream service with its own in-flight cap and response timeout.
+ * Pool gauges are published under reactor.netty.connection.provider.*, request timings under
+ * http.client.requests and the per-target caps under lumadesk.http.client.*.
+ * Each service declares the pool and the builder as beans (the builder @LoadBalanced) and one
+ * bean per target it calls, with that target's limits.
+ */
+public final class ServiceWebClients {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private ServiceWebClients() {
+    }
+
+    // Register as a bean with destroyMethod "dispose" so the connections close on shutdown
+    public static ConnectionProvider connectionProvider(int maxConnections) {
+        return ConnectionProvider.builder("lumadesk-services")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(500)
+                .pendingAcquireTimeout(Duration.ofSeconds(5))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .maxLifeTime(Duration.ofMinutes(5))
+                .evictInBackground(Duration.ofSeconds(60))
+                .metrics(true)
+                .build();
+    }
+
+    public static WebClient.Builder pooledBuilder(ConnectionProvider connectionProvider, Stream<WebClientCustomizer> customizers) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) CONNECT_TIMEOUT.toMillis())
+                .responseTimeout(RESPONSE_TIMEOUT);
+        WebClient.Builder builder = WebClient.builder();
+        customizers.forEach(customizer -> customizer.customize(builder)); // http.client.requests metrics
+        // After the customizers: Boot's connector customizer would otherwise replace the pooled connector
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    // A client for http://serviceId, which the load-balanced builder resolves through discovery
+    public static WebClient forTarget(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry, String serviceId,
+                                      int maxInFlight, int maxPending, Duration responseTimeout) {
+        return webClientBuilder.clone()
+                .baseUrl("http://" + serviceId)
+                .filter(new ConcurrencyLimitFilter(serviceId, maxInFlight, maxPending, meterRegistry))
+                .defaultRequest(request -> request.httpRequest(httpRequest ->
+                        ((HttpClientRequest) httpRequest.getNativeRequest()).responseTimeout(responseTimeout)))
+                .build();
+    }
+}
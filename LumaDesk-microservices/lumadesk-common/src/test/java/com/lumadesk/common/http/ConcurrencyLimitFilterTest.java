@@ -0,0 +1,110 @@
+package com.lumadesk.common.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("http://notification-service/x")).build();
+
+    @Test
+    void filter_shouldQueueBeyondTheCap_andRejectOnceTheQueueIsFull() {
+        // Given: one slot, one place in the queue, and a downstream that answers only when told to
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter("notification-service", 1, 1, new SimpleMeterRegistry());
+        List<Sinks.One<ClientResponse>> responses = new ArrayList<>();
+        AtomicReference<Throwable> rejection = new AtomicReference<>();
+
+        // When
+        filter.filter(request, r -> { Sinks.One<ClientResponse> s = Sinks.one(); responses.add(s); return s.asMono(); })
+                .subscribe(response -> response.releaseBody().subscribe());
+        filter.filter(request, r -> { Sinks.One<ClientResponse> s = Sinks.one(); responses.add(s); return s.asMono(); })
+                .subscribe(response -> response.releaseBody().subscribe());
+        filter.filter(request, r -> { throw new AssertionError("should not be sent"); })
+                .subscribe(response -> { }, rejection::set);
+
+        // Then
+        assertEquals(1, filter.inFlight());
+        assertEquals(1, filter.pending());
+        assertEquals(1, responses.size(), "The queued call must not reach the downstream yet.");
+        assertInstanceOf(RejectedExecutionException.class, rejection.get());
+
+        // When the first call's body has been read, the queued one takes its slot
+        responses.get(0).tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        assertEquals(2, responses.size());
+        assertEquals(1, filter.inFlight());
+        assertEquals(0, filter.pending());
+
+        responses.get(1).tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        assertEquals(0, filter.inFlight());
+    }
+
+    @Test
+    void filter_shouldHoldTheSlotUntilTheBodyIsRead_notJustUntilTheHeadersArrive() {
+        // Given
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter("feedback-service", 1, 1, new SimpleMeterRegistry());
+        Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicReference<ClientResponse> received = new AtomicReference<>();
+
+        // When: the headers arrive, the body is still streaming
+        filter.filter(request, r -> Mono.just(ClientResponse.create(HttpStatus.OK).body(body.asFlux()).build()))
+                .subscribe(received::set);
+        received.get().bodyToMono(String.class).subscribe();
+
+        // Then
+        assertEquals(1, filter.inFlight());
+
+        // When the body ends
+        body.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap("done".getBytes(StandardCharsets.UTF_8)));
+        body.tryEmitComplete();
+        assertEquals(0, filter.inFlight());
+    }
+
+    @Test
+    void filter_shouldFreeTheSlot_whenTheDownstreamFailsBeforeAnswering() {
+        // Given
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter("auth-service", 1, 1, new SimpleMeterRegistry());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // When
+        filter.filter(request, r -> Mono.error(new IllegalStateException("connection refused")))
+                .subscribe(response -> { }, failure::set);
+
+        // Then
+        assertInstanceOf(IllegalStateException.class, failure.get());
+        assertEquals(0, filter.inFlight());
+    }
+
+    @Test
+    void filter_shouldFreeTheSlot_whenTheCallerCancels() {
+        // Given
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter("ai-agent-service", 1, 5, new SimpleMeterRegistry());
+        Sinks.One<ClientResponse> never = Sinks.one();
+
+        // When
+        var subscription = filter.filter(request, r -> never.asMono()).subscribe();
+        var queued = filter.filter(request, r -> never.asMono()).subscribe();
+        queued.dispose();
+        subscription.dispose();
+
+        // Then
+        assertEquals(0, filter.inFlight());
+        assertEquals(0, filter.pending());
+    }
+}
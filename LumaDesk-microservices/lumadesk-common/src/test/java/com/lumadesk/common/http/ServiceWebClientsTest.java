@@ -0,0 +1,54 @@
+package com.lumadesk.common.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceWebClientsTest {
+
+    @Test
+    void forTarget_shouldCallTheServiceByItsId_throughItsOwnConcurrencyCap() {
+        // Given: a builder whose exchanges are answered locally
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        WebClient client = ServiceWebClients.forTarget(builder, meterRegistry, "notification-service", 4, 10, Duration.ofSeconds(1));
+        client.get().uri("/api/ping").retrieve().toBodilessEntity().block();
+
+        // Then
+        assertEquals(URI.create("http://notification-service/api/ping"), sent.get().url());
+        assertNotNull(meterRegistry.find("lumadesk.http.client.in.flight").tag("target", "notification-service").gauge());
+    }
+
+    @Test
+    void forTarget_shouldLeaveTheSharedBuilderUnchanged() {
+        // Given
+        WebClient.Builder builder = WebClient.builder();
+
+        // When
+        ServiceWebClients.forTarget(builder, new SimpleMeterRegistry(), "feedback-service", 4, 10, Duration.ofSeconds(1));
+
+        // Then: a second target gets its own base URL and cap, not the first one's
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        builder.exchangeFunction(request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        }).build().get().uri("http://ticket-service/x").retrieve().toBodilessEntity().block();
+        assertEquals(URI.create("http://ticket-service/x"), sent.get().url());
+    }
+}
@@ -1,7 +1,10 @@
 package com.lumadesk.notification_service.controller;
 
+import com.lumadesk.notification_service.dto.NotificationBatchRequest;
+import com.lumadesk.notification_service.dto.NotificationBatchResponse;
 import com.lumadesk.notification_service.dto.NotificationRequest;
 import com.lumadesk.notification_service.entities.Notification;
+import com.lumadesk.notification_service.entities.enums.NotificationStatus;
 import com.lumadesk.notification_service.service.NotificationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/internal/api/notifications")
 @RequiredArgsConstructor
@@ -23,4 +28,13 @@ public class NotificationController {
         Notification notification = notificationService.createNotification(request);
         return ResponseEntity.ok(notification);
     }
+
+    @PostMapping("/send-batch")
+    public ResponseEntity<NotificationBatchResponse> sendNotifications(@Valid @RequestBody NotificationBatchRequest request) {
+        List<Notification> notifications = notificationService.createNotifications(request.getNotifications());
+        int delivered = (int) notifications.stream()
+                .filter(notification -> notification.getStatus() == NotificationStatus.SENT)
+                .count();
+        return ResponseEntity.ok(new NotificationBatchResponse(notifications.size(), delivered));
+    }
 }
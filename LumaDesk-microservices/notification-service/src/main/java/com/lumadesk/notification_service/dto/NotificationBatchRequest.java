@@ -0,0 +1,20 @@
+package com.lumadesk.notification_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchRequest {
+
+    @NotEmpty(message = "Notifications cannot be empty")
+    @Size(max = 1000, message = "At most 1000 notifications per batch")
+    private List<@Valid NotificationRequest> notifications;
+}
@@ -0,0 +1,13 @@
+package com.lumadesk.notification_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchResponse {
+    private int stored;
+    private int delivered; // pushed over WebSocket right away; the rest stay FAILED until the user fetches them
+}
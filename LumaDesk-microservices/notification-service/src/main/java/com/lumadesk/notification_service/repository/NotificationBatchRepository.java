@@ -0,0 +1,77 @@
+package com.lumadesk.notification_service.repository;
+
+import com.lumadesk.notification_service.entities.Notification;
+import com.lumadesk.notification_service.entities.enums.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// JDBC batch writes for bulk ingestion; with rewriteBatchedStatements MySQL receives one multi-row INSERT
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO notifications " +
+            "(send_to, sent_by, subject, message, status, creation_timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // Inserts the notifications and fills in their generated IDs and creation time
+    public void insertAll(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Notification notification = notifications.get(i);
+                        ps.setString(1, notification.getSendTo());
+                        ps.setString(2, notification.getSentBy());
+                        ps.setString(3, notification.getSubject());
+                        ps.setString(4, notification.getMessage());
+                        ps.setString(5, notification.getStatus().name());
+                        ps.setTimestamp(6, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return notifications.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            notification.setNotificationId(((Number) keys.get(i).values().iterator().next()).longValue());
+            notification.setCreationTimestamp(now);
+        }
+    }
+
+    public int updateStatus(Collection<Long> notificationIds, NotificationStatus status) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(
+                "UPDATE notifications SET status = :status WHERE notification_id IN (:ids)",
+                new MapSqlParameterSource()
+                        .addValue("status", status.name())
+                        .addValue("ids", notificationIds));
+    }
+}
@@ -10,6 +10,8 @@ public interface NotificationService {
 
     Notification createNotification(NotificationRequest request);
 
+    List<Notification> createNotifications(List<NotificationRequest> requests);
+
     List<Notification> getNotificationsByUserId(String userId);
 
     void sendRealtimeNotification(Notification notification);
@@ -0,0 +1,88 @@
+package com.lumadesk.notification_service.service;
+
+import com.lumadesk.notification_service.dto.NotificationRequest;
+import com.lumadesk.notification_service.entities.Notification;
+import com.lumadesk.notification_service.entities.enums.NotificationStatus;
+import com.lumadesk.notification_service.repository.NotificationBatchRepository;
+import com.lumadesk.notification_service.repository.NotificationRepository;
+import com.lumadesk.notification_service.websocket.WebSocketNotificationSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceImplTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationBatchRepository notificationBatchRepository;
+
+    @Mock
+    private WebSocketNotificationSender webSocketNotificationSender;
+
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        notificationService = new NotificationServiceImpl(notificationRepository, notificationBatchRepository,
+                webSocketNotificationSender);
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(n -> n.setNotificationId(ids.incrementAndGet()));
+            return null;
+        }).when(notificationBatchRepository).insertAll(anyList());
+    }
+
+    @Test
+    void createNotifications_shouldInsertOnce_andWriteOneStatusUpdatePerOutcome() {
+        // Given: the second recipient is offline
+        when(webSocketNotificationSender.sendNotification(any()))
+                .thenAnswer(invocation -> !"offline".equals(invocation.<Notification>getArgument(0).getSendTo()));
+
+        // When
+        List<Notification> notifications = notificationService.createNotifications(List.of(
+                request("alice"), request("offline"), request("bob")));
+
+        // Then
+        verify(notificationBatchRepository, times(1)).insertAll(anyList());
+        verify(notificationBatchRepository).updateStatus(List.of(1L, 3L), NotificationStatus.SENT);
+        verify(notificationBatchRepository).updateStatus(List.of(2L), NotificationStatus.FAILED);
+        verify(webSocketNotificationSender, times(3)).sendNotification(any());
+        verifyNoInteractions(notificationRepository);
+        assertEquals(List.of(NotificationStatus.SENT, NotificationStatus.FAILED, NotificationStatus.SENT),
+                notifications.stream().map(Notification::getStatus).toList());
+    }
+
+    @Test
+    void createNotifications_shouldKeepTheRequestOrderAndFields() {
+        // Given
+        when(webSocketNotificationSender.sendNotification(any())).thenReturn(true);
+
+        // When
+        List<Notification> notifications = notificationService.createNotifications(List.of(
+                request("alice"), request("bob")));
+
+        // Then
+        assertEquals(List.of("alice", "bob"), notifications.stream().map(Notification::getSendTo).toList());
+        assertEquals(List.of(1L, 2L), notifications.stream().map(Notification::getNotificationId).toList());
+        assertEquals("Ticket updated", notifications.get(0).getSubject());
+        assertEquals("ticket-service", notifications.get(0).getSentBy());
+        verify(notificationBatchRepository).updateStatus(List.of(), NotificationStatus.FAILED);
+    }
+
+    private static NotificationRequest request(String sendTo) {
+        return new NotificationRequest(sendTo, "ticket-service", "Ticket updated", "Ticket 7 moved to IN_PROGRESS");
+    }
+}
@@ -0,0 +1,207 @@
+package com.lumadesk.ticket_service.cache;
+
+import com.lumadesk.ticket_service.dto.TicketSummary;
+import com.lumadesk.ticket_service.entities.IssueCategory;
+import com.lumadesk.ticket_service.entities.ReferenceDataVersion;
+import com.lumadesk.ticket_service.entities.SLA;
+import com.lumadesk.ticket_service.entities.enums.ReferenceDataType;
+import com.lumadesk.ticket_service.repository.IssueCategoryRepository;
+import com.lumadesk.ticket_service.repository.ReferenceDataVersionRepository;
+import com.lumadesk.ticket_service.repository.SLARepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-process copy of the issue categories and SLA rules, which change a few times a month but
+ * are read on every ticket form and list. Each table is held as one immutable snapshot tagged
+ * with the version it was loaded at. Writers call invalidate() inside their transaction: it
+ * bumps the table's row in reference_data_versions and drops the local snapshot after commit.
+ * Every replica polls those versions and drops its own snapshot when they move on, so a write
+ * on one instance is seen by all within the poll interval. A table larger than max-entries is
+ * not cached: lookups by id then read just the rows they need, one query per page of tickets.
+ */
+@Component
+@Slf4j
+public class ReferenceDataCache {
+
+    private final IssueCategoryRepository issueCategoryRepository;
+    private final SLARepository slaRepository;
+    private final ReferenceDataVersionRepository versionRepository;
+    private final int maxEntries;
+
+    private final Map<ReferenceDataType, AtomicReference<Snapshot<?>>> snapshots = new EnumMap<>(ReferenceDataType.class);
+    private final Counter hits;
+    private final Counter loads;
+    private final Counter bypasses;
+
+    public ReferenceDataCache(IssueCategoryRepository issueCategoryRepository,
+                              SLARepository slaRepository,
+                              ReferenceDataVersionRepository versionRepository,
+                              @Value("${lumadesk.reference-data.max-entries:1000}") int maxEntries,
+                              MeterRegistry meterRegistry) {
+        this.issueCategoryRepository = issueCategoryRepository;
+        this.slaRepository = slaRepository;
+        this.versionRepository = versionRepository;
+        this.maxEntries = maxEntries;
+        for (ReferenceDataType type : ReferenceDataType.values()) {
+            snapshots.put(type, new AtomicReference<>());
+        }
+        this.hits = meterRegistry.counter("ticket.reference.cache.requests", "result", "hit");
+        this.loads = meterRegistry.counter("ticket.reference.cache.requests", "result", "load");
+        this.bypasses = meterRegistry.counter("ticket.reference.cache.requests", "result", "bypass");
+    }
+
+    @PostConstruct
+    void createVersionRows() {
+        for (ReferenceDataType type : ReferenceDataType.values()) {
+            if (!versionRepository.existsById(type)) {
+                try {
+                    versionRepository.createRow(type.name());
+                } catch (DataIntegrityViolationException e) {
+                    // another instance created it first
+                }
+            }
+        }
+    }
+
+    public List<IssueCategory> issueCategories() {
+        return rows(ReferenceDataType.ISSUE_CATEGORY, issueCategoryRepository::findAll, IssueCategory::getCategoryId);
+    }
+
+    public Optional<IssueCategory> issueCategory(Long categoryId) {
+        return Optional.ofNullable(issueCategoriesById(List.of(categoryId)).get(categoryId));
+    }
+
+    public List<SLA> slas() {
+        return rows(ReferenceDataType.SLA, slaRepository::findAll, SLA::getSlaId);
+    }
+
+    public Optional<SLA> sla(Long slaId) {
+        return Optional.ofNullable(slasById(List.of(slaId)).get(slaId));
+    }
+
+    // Fills in the category and SLA details of projection rows, which carry only the ids
+    public List<TicketSummary> describe(List<TicketSummary> tickets) {
+        Map<Long, IssueCategory> categories = issueCategoriesById(idsOf(tickets, TicketSummary::getCategoryId));
+        Map<Long, SLA> slas = slasById(idsOf(tickets, TicketSummary::getSlaId));
+        for (TicketSummary ticket : tickets) {
+            if (ticket.getCategoryId() != null) {
+                IssueCategory category = categories.get(ticket.getCategoryId());
+                ticket.setIssueCategory(category == null ? new TicketSummary.Category(ticket.getCategoryId(), null)
+                        : new TicketSummary.Category(category.getCategoryId(), category.getCategoryName()));
+            }
+            if (ticket.getSlaId() != null) {
+                SLA sla = slas.get(ticket.getSlaId());
+                ticket.setSla(sla == null ? new TicketSummary.Sla(ticket.getSlaId(), null, null, null)
+                        : new TicketSummary.Sla(sla.getSlaId(), sla.getSeverity(), sla.getPriority(), sla.getTimeLimitHour()));
+            }
+        }
+        return tickets;
+    }
+
+    // Must run inside the writer's transaction
+    public void invalidate(ReferenceDataType type) {
+        versionRepository.bump(type);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                snapshots.get(type).set(null);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${lumadesk.reference-data.poll-interval:2s}")
+    public void dropStaleSnapshots() {
+        for (ReferenceDataVersion version : versionRepository.findAll()) {
+            AtomicReference<Snapshot<?>> holder = snapshots.get(version.getDataType());
+            Snapshot<?> current = holder.get();
+            if (current != null && current.version() != version.getVersion() && holder.compareAndSet(current, null)) {
+                log.info("Reference data {} changed to version {}, cache dropped.", version.getDataType(), version.getVersion());
+            }
+        }
+    }
+
+    private Map<Long, IssueCategory> issueCategoriesById(Collection<Long> categoryIds) {
+        return byId(ReferenceDataType.ISSUE_CATEGORY, issueCategoryRepository::findAll, issueCategoryRepository::findAllById,
+                IssueCategory::getCategoryId, categoryIds);
+    }
+
+    private Map<Long, SLA> slasById(Collection<Long> slaIds) {
+        return byId(ReferenceDataType.SLA, slaRepository::findAll, slaRepository::findAllById, SLA::getSlaId, slaIds);
+    }
+
+    private <T> List<T> rows(ReferenceDataType type, Supplier<List<T>> loader, Function<T, Long> idOf) {
+        Snapshot<T> snapshot = snapshot(type, loader, idOf);
+        return snapshot.isCached() ? snapshot.rows() : List.copyOf(loader.get());
+    }
+
+    // The wanted rows from the snapshot, or only those rows from the database when the table is too big to cache
+    private <T> Map<Long, T> byId(ReferenceDataType type, Supplier<List<T>> loader,
+                                  Function<Collection<Long>, List<T>> idLoader, Function<T, Long> idOf, Collection<Long> ids) {
+        Snapshot<T> snapshot = snapshot(type, loader, idOf);
+        if (snapshot.isCached()) {
+            return snapshot.byId();
+        }
+        return ids.isEmpty() ? Map.of()
+                : idLoader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static Set<Long> idsOf(List<TicketSummary> tickets, Function<TicketSummary, Long> idOf) {
+        return tickets.stream().map(idOf).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Snapshot<T> snapshot(ReferenceDataType type, Supplier<List<T>> loader, Function<T, Long> idOf) {
+        AtomicReference<Snapshot<?>> holder = snapshots.get(type);
+        Snapshot<T> current = (Snapshot<T>) holder.get();
+        if (current != null) {
+            (current.isCached() ? hits : bypasses).increment();
+            return current;
+        }
+        loads.increment();
+        // Read the version first: a write landing during the load moves it on, and the next poll drops this copy
+        long version = versionRepository.findById(type).map(ReferenceDataVersion::getVersion).orElse(0L);
+        List<T> rows = List.copyOf(loader.get());
+        Snapshot<T> loaded = new Snapshot<>(version, rows,
+                rows.stream().collect(Collectors.toUnmodifiableMap(idOf, Function.identity())));
+        if (rows.size() <= maxEntries) {
+            holder.compareAndSet(null, loaded);
+        } else if (holder.compareAndSet(null, Snapshot.tooLarge(version))) {
+            log.warn("{} has {} rows, more than the {} the reference data cache holds; reading it from the database.",
+                    type, rows.size(), maxEntries);
+        }
+        return loaded;
+    }
+
+    // A table over max-entries is remembered as such (rows and byId null) until its version moves on
+    private record Snapshot<T>(long version, List<T> rows, Map<Long, T> byId) {
+
+        static <T> Snapshot<T> tooLarge(long version) {
+            return new Snapshot<>(version, null, null);
+        }
+
+        boolean isCached() {
+            return rows != null;
+        }
+    }
+}
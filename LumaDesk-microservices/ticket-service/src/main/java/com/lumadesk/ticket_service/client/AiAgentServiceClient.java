@@ -1,23 +1,29 @@
 package com.lumadesk.ticket_service.client;
 
-import com.lumadesk.ticket_service.dto.TriageRequest;
-import com.lumadesk.ticket_service.dto.TriageResponse;
-import lombok.RequiredArgsConstructor;
+import com.lumadesk.ticket_service.dto.BatchTriageRequest;
+import com.lumadesk.ticket_service.dto.BatchTriageResult;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Component
-@RequiredArgsConstructor
 public class AiAgentServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
+
+    public AiAgentServiceClient(@Qualifier("aiAgentServiceWebClient") WebClient webClient) {
+        this.webClient = webClient;
+    }
 
-    public Mono<TriageResponse> getTriageSuggestion(TriageRequest request) {
-        return webClientBuilder.build().post()
-                .uri("http://ai-agent-service/api/ai-agent/triage/suggest")
+    public Mono<List<BatchTriageResult>> getTriageSuggestions(BatchTriageRequest request) {
+        return webClient.post()
+                .uri("/api/ai-agent/triage/suggest-batch")
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(TriageResponse.class);
+                .bodyToFlux(BatchTriageResult.class)
+                .collectList();
     }
 }
@@ -1,22 +1,26 @@
 package com.lumadesk.ticket_service.client;
 
 import com.lumadesk.ticket_service.dto.FeedbackCreationRequest;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+// Delivery is driven by OutboxRelay, which subscribes and handles failures
 @Component
-@RequiredArgsConstructor
 public class FeedbackServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
 
-    public void createPendingFeedback(FeedbackCreationRequest request) {
-        webClientBuilder.build().post()
-                .uri("http://feedback-service/api/feedback/internal/create")
+    public FeedbackServiceClient(@Qualifier("feedbackServiceWebClient") WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public Mono<Void> createPendingFeedback(FeedbackCreationRequest request) {
+        return webClient.post()
+                .uri("/api/feedback/internal/create")
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(Void.class)
-                .subscribe(); // Fire and forget
+                .bodyToMono(Void.class);
     }
 }
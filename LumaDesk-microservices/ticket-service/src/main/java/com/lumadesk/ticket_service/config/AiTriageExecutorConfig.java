@@ -0,0 +1,25 @@
+package com.lumadesk.ticket_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AiTriageExecutorConfig {
+
+    // The waiting jobs live in ai_triage_jobs; AiTriageDispatcher only hands over as many as
+    // there are idle workers, so the in-memory queue is just slack for workers finishing up.
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor aiTriageExecutor(@Value("${lumadesk.ai-triage.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("ai-triage-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
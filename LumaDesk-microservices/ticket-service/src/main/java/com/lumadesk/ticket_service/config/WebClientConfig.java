@@ -1,16 +1,49 @@
 package com.lumadesk.ticket_service.config;
 
+import com.lumadesk.common.http.ServiceWebClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * One pooled, load-balanced WebClient per downstream service, built once at startup from
+ * ServiceWebClients; only the pool size and each target's limits are set here.
+ */
 @Configuration
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serviceConnectionProvider() {
+        return ServiceWebClients.connectionProvider(100);
+    }
+
     @Bean
     @LoadBalanced
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(ConnectionProvider serviceConnectionProvider,
+                                              ObjectProvider<WebClientCustomizer> customizers) {
+        return ServiceWebClients.pooledBuilder(serviceConnectionProvider, customizers.orderedStream());
+    }
+
+    @Bean
+    public WebClient notificationServiceWebClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        return ServiceWebClients.forTarget(webClientBuilder, meterRegistry, "notification-service", 32, 500, Duration.ofSeconds(10));
+    }
+
+    @Bean
+    public WebClient feedbackServiceWebClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        return ServiceWebClients.forTarget(webClientBuilder, meterRegistry, "feedback-service", 16, 200, Duration.ofSeconds(10));
+    }
+
+    @Bean
+    public WebClient aiAgentServiceWebClient(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        // Triage waits on the LLM for a whole batch of tickets, so it gets a long response timeout and few concurrent calls
+        return ServiceWebClients.forTarget(webClientBuilder, meterRegistry, "ai-agent-service", 8, 100, Duration.ofSeconds(60));
     }
 }
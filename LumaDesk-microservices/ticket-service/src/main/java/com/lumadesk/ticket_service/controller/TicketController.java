@@ -1,13 +1,23 @@
 package com.lumadesk.ticket_service.controller;
 
 import com.lumadesk.ticket_service.dto.*;
+import com.lumadesk.ticket_service.entities.AiTriageJob;
 import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.service.AiTriageJobService;
+import com.lumadesk.ticket_service.service.TicketExportService;
+import com.lumadesk.ticket_service.service.TicketSearchService;
 import com.lumadesk.ticket_service.service.TicketService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -15,11 +25,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TicketController {
 
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
     private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
+    private final AiTriageJobService aiTriageJobService;
+    private final TicketSearchService ticketSearchService;
 
     @GetMapping("/get/{customerId}")
-    public ResponseEntity<List<Ticket>> getTicketsByCustId(@PathVariable Long customerId){
-        List<Ticket> customerTickets=ticketService.getTicketsByCustomerId(customerId);
+    public ResponseEntity<List<TicketSummary>> getTicketsByCustId(@PathVariable Long customerId){
+        List<TicketSummary> customerTickets=ticketService.getTicketsByCustomerId(customerId);
         return ResponseEntity.ok(customerTickets);
     }
 
@@ -65,15 +80,41 @@ public class TicketController {
         return ResponseEntity.ok(updatedTicket);
     }
 
+    // Bulk variants: one transaction for all tickets; unknown tickets are reported in "failed" and skipped
+    @PutMapping("/bulk/update-status")
+    public ResponseEntity<BulkTicketResponse> bulkUpdateTicketStatus(@Valid @RequestBody BulkTicketRequest<UpdateStatusRequest> request) {
+        return ResponseEntity.ok(ticketService.bulkUpdateTicketStatus(request.getTickets()));
+    }
+
+    @PutMapping("/bulk/triage-assign")
+    public ResponseEntity<BulkTicketResponse> bulkTriageAndAssign(@Valid @RequestBody BulkTicketRequest<TriageAssignTicketRequest> request) {
+        return ResponseEntity.ok(ticketService.bulkTriageAndAssign(request.getTickets()));
+    }
+
+    @PutMapping("/bulk/reassign")
+    public ResponseEntity<BulkTicketResponse> bulkReassign(@Valid @RequestBody BulkTicketRequest<ReassignTicketRequest> request) {
+        return ResponseEntity.ok(ticketService.bulkReassign(request.getTickets()));
+    }
+
+    @PutMapping("/bulk/hold")
+    public ResponseEntity<BulkTicketResponse> bulkHold(@Valid @RequestBody BulkTicketRequest<HoldTicketRequest> request) {
+        return ResponseEntity.ok(ticketService.bulkHold(request.getTickets()));
+    }
+
+    @PutMapping("/bulk/resolve")
+    public ResponseEntity<BulkTicketResponse> bulkResolve(@Valid @RequestBody BulkTicketRequest<ResolveTicketRequest> request) {
+        return ResponseEntity.ok(ticketService.bulkResolve(request.getTickets()));
+    }
+
     @GetMapping("/new")
-    public ResponseEntity<List<Ticket>> getNewTickets() {
-        List<Ticket> newTickets = ticketService.getNewTickets();
+    public ResponseEntity<List<TicketSummary>> getNewTickets() {
+        List<TicketSummary> newTickets = ticketService.getNewTickets();
         return ResponseEntity.ok(newTickets);
     }
 
     @GetMapping("/assigned-to/{engineerId}")
-    public ResponseEntity<List<Ticket>> getTicketsByAssignedTo(@PathVariable Long engineerId) {
-        List<Ticket> assignedTickets = ticketService.getTicketsByAssignedTo(engineerId);
+    public ResponseEntity<List<TicketSummary>> getTicketsByAssignedTo(@PathVariable Long engineerId) {
+        List<TicketSummary> assignedTickets = ticketService.getTicketsByAssignedTo(engineerId);
         return ResponseEntity.ok(assignedTickets);
     }
 
@@ -83,15 +124,48 @@ public class TicketController {
         return ResponseEntity.ok(updatedTicket);
     }
 
+    // Queues the AI suggestion and returns at once; poll the job for the result
     @PostMapping("/ai-triage/{ticketId}")
-    public ResponseEntity<Ticket> triageTicketWithAI(@PathVariable Long ticketId) {
-        Ticket triagedTicket = ticketService.triageTicketWithAI(ticketId);
-        return ResponseEntity.ok(triagedTicket);
+    public ResponseEntity<AiTriageJob> triageTicketWithAI(@PathVariable Long ticketId) {
+        AiTriageJob job = aiTriageJobService.submit(ticketId);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/ai-triage/jobs/{jobId}")
+    public ResponseEntity<AiTriageJob> getAiTriageJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(aiTriageJobService.getJob(jobId));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<Ticket>> getAllTickets(){
-        List<Ticket> allTickets= ticketService.getAllTickets();
+    public ResponseEntity<List<TicketSummary>> getAllTickets(){
+        List<TicketSummary> allTickets= ticketService.getAllTickets();
         return ResponseEntity.ok(allTickets);
     }
+
+    @GetMapping("/page")
+    public ResponseEntity<TicketPageResponse> getTicketsPage(@Valid @ModelAttribute TicketSearchCriteria criteria) {
+        TicketPageResponse page = ticketService.getTicketsPage(criteria);
+        return ResponseEntity.ok(page);
+    }
+
+    // Ranked keyword search over descriptions and action notes; changes show up a few seconds after they commit
+    @GetMapping("/search")
+    public ResponseEntity<TicketSearchResponse> searchTickets(@Valid @ModelAttribute TicketTextSearchCriteria criteria) {
+        return ResponseEntity.ok(ticketSearchService.search(criteria));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(@ModelAttribute TicketSearchCriteria criteria,
+                                                               @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                               HttpServletRequest request) {
+        // Exports stream for as long as the cursor has rows; other async requests keep the default timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(EXPORT_TIMEOUT.toMillis());
+        StreamingResponseBody body = out -> ticketExportService.exportTickets(criteria, format, out);
+        String fileName = format == ExportFormat.CSV ? "tickets.csv" : "tickets.ndjson";
+        MediaType contentType = format == ExportFormat.CSV ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
 }
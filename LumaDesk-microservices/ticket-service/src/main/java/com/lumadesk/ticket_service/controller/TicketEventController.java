@@ -0,0 +1,42 @@
+package com.lumadesk.ticket_service.controller;
+
+import com.lumadesk.ticket_service.dto.TicketChange;
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import com.lumadesk.ticket_service.service.TicketEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ticket-events")
+@RequiredArgsConstructor
+public class TicketEventController {
+
+    private final TicketEventService ticketEventService;
+
+    // Change feed across all tickets in eventId order: pass the last eventId seen as "after". An id skipped over
+    // may belong to a transaction that has not committed yet; see TicketFeedCursor for a reader that waits for them.
+    @GetMapping("/feed")
+    public ResponseEntity<List<TicketEvent>> getFeed(@RequestParam(defaultValue = "0") long after,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ticketEventService.getFeed(after, limit));
+    }
+
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<List<TicketEvent>> getHistory(@PathVariable Long ticketId) {
+        return ResponseEntity.ok(ticketEventService.getHistory(ticketId));
+    }
+
+    // Ticket state replayed from its latest snapshot and the events after it
+    @GetMapping("/{ticketId}/state")
+    public ResponseEntity<TicketChange> getRebuiltState(@PathVariable Long ticketId) {
+        return ResponseEntity.ok(ticketEventService.rebuildState(ticketId));
+    }
+
+    @PutMapping("/{ticketId}/rebuild")
+    public ResponseEntity<TicketChange> rebuildProjection(@PathVariable Long ticketId) {
+        return ResponseEntity.ok(ticketEventService.rebuildProjection(ticketId));
+    }
+}
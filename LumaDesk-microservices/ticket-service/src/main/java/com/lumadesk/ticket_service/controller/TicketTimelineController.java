@@ -0,0 +1,24 @@
+package com.lumadesk.ticket_service.controller;
+
+import com.lumadesk.ticket_service.dto.TicketTimelineResponse;
+import com.lumadesk.ticket_service.dto.TimelineCriteria;
+import com.lumadesk.ticket_service.service.TicketTimelineService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/logs/timeline")
+@RequiredArgsConstructor
+public class TicketTimelineController {
+
+    private final TicketTimelineService ticketTimelineService;
+
+    // Action and assignment logs of the ticket merged by time; an unknown ticket has an empty timeline
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<TicketTimelineResponse> getTimeline(@PathVariable Long ticketId,
+                                                              @Valid @ModelAttribute TimelineCriteria criteria) {
+        return ResponseEntity.ok(ticketTimelineService.getTimeline(ticketId, criteria));
+    }
+}
@@ -2,14 +2,15 @@ package com.lumadesk.ticket_service.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class TriageRequest {
+public class BatchTriageItem {
+    private Long ticketId;
     private String issueCategory;
     private String issueDescription;
 }
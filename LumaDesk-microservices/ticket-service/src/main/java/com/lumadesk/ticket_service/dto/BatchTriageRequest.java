@@ -2,14 +2,15 @@ package com.lumadesk.ticket_service.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class TriageResponse {
-    private String severity;
-    private String priority;
+public class BatchTriageRequest {
+    private List<BatchTriageItem> tickets;
 }
@@ -0,0 +1,18 @@
+package com.lumadesk.ticket_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// severity and priority are null and error is set when ai-agent-service could not triage the ticket
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTriageResult {
+    private Long ticketId;
+    private String severity;
+    private String priority;
+    private String error;
+}
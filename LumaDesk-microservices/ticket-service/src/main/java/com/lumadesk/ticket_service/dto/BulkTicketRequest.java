@@ -0,0 +1,22 @@
+package com.lumadesk.ticket_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// The single-ticket requests of one bulk call, each validated as if sent on its own
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTicketRequest<T> {
+
+    @NotEmpty(message = "At least one ticket is required")
+    @Size(max = 5000, message = "A bulk request cannot exceed 5000 tickets")
+    @Valid
+    private List<T> tickets;
+}
@@ -0,0 +1,18 @@
+package com.lumadesk.ticket_service.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkTicketResponse {
+    private List<Long> updated = new ArrayList<>();
+    private Map<Long, String> failed = new LinkedHashMap<>(); // ticket ID -> reason; the other tickets are still applied
+}
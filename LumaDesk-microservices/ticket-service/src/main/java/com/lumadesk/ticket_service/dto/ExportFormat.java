@@ -0,0 +1,6 @@
+package com.lumadesk.ticket_service.dto;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
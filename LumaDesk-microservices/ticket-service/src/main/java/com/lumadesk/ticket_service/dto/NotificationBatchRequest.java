@@ -0,0 +1,15 @@
+package com.lumadesk.ticket_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Body of notification-service's bulk endpoint, used by the coalescing NotificationServiceClient
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchRequest {
+    private List<NotificationRequest> notifications;
+}
@@ -0,0 +1,72 @@
+package com.lumadesk.ticket_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a ticket event: the ticket fields the transition sets, null meaning unchanged,
+ * plus the note and attachment that go to the action log. A snapshot uses the same shape
+ * with every state field filled in.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketChange {
+    private Long createdBy;
+    private Long createdFor;
+    private Long issueCategoryId;
+    private String issueDescription;
+    private TicketStatus status;
+    private TicketSeverity severity;
+    private TicketPriority priority;
+    private Long slaId;
+    private LocalDateTime slaDeadline;
+    private Long assignedTo;
+
+    private String actionNote; // event detail, not ticket state
+    private String attachmentUrl; // event detail, not ticket state
+
+    public static TicketChange ofStatus(TicketStatus status) {
+        TicketChange change = new TicketChange();
+        change.setStatus(status);
+        return change;
+    }
+
+    // Every state field of the ticket row; the associations are read by id without loading them
+    public static TicketChange stateOf(Ticket ticket) {
+        TicketChange state = new TicketChange();
+        state.setCreatedBy(ticket.getCreatedBy());
+        state.setCreatedFor(ticket.getCreatedFor());
+        state.setIssueCategoryId(ticket.getIssueCategory() == null ? null : ticket.getIssueCategory().getCategoryId());
+        state.setIssueDescription(ticket.getIssueDescription());
+        state.setStatus(ticket.getStatus());
+        state.setSeverity(ticket.getSeverity());
+        state.setPriority(ticket.getPriority());
+        state.setSlaId(ticket.getSla() == null ? null : ticket.getSla().getSlaId());
+        state.setSlaDeadline(ticket.getSlaDeadline());
+        state.setAssignedTo(ticket.getAssignedTo());
+        return state;
+    }
+
+    // Folds a later change into this state
+    public TicketChange apply(TicketChange change) {
+        if (change.getCreatedBy() != null) createdBy = change.getCreatedBy();
+        if (change.getCreatedFor() != null) createdFor = change.getCreatedFor();
+        if (change.getIssueCategoryId() != null) issueCategoryId = change.getIssueCategoryId();
+        if (change.getIssueDescription() != null) issueDescription = change.getIssueDescription();
+        if (change.getStatus() != null) status = change.getStatus();
+        if (change.getSeverity() != null) severity = change.getSeverity();
+        if (change.getPriority() != null) priority = change.getPriority();
+        if (change.getSlaId() != null) slaId = change.getSlaId();
+        if (change.getSlaDeadline() != null) slaDeadline = change.getSlaDeadline();
+        if (change.getAssignedTo() != null) assignedTo = change.getAssignedTo();
+        return this;
+    }
+}
@@ -0,0 +1,18 @@
+package com.lumadesk.ticket_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketPageResponse {
+    private List<TicketSummary> tickets;
+    private Long nextCursor; // pass back as "cursor" to fetch the next page; null when there is none
+    private boolean hasMore;
+}
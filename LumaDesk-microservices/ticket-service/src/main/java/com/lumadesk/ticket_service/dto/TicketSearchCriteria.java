@@ -0,0 +1,40 @@
+package com.lumadesk.ticket_service.dto;
+
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Query parameters of the keyset-paginated ticket listing. Every filter is optional.
+@Data
+@NoArgsConstructor
+public class TicketSearchCriteria {
+
+    private TicketStatus status;
+
+    private TicketPriority priority;
+
+    private TicketSeverity severity;
+
+    private Long categoryId;
+
+    private Long assignedTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    private Long cursor; // ticketId of the last row of the previous page; null for the first page
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 200, message = "Page size cannot exceed 200")
+    private Integer size = 50;
+}
@@ -0,0 +1,30 @@
+package com.lumadesk.ticket_service.dto;
+
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// One ranked match, read from the search index alone. The highlights wrap matched words in <b></b>.
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchHit {
+    private Long ticketId;
+    private float score;
+    private TicketStatus status;
+    private TicketSeverity severity;
+    private TicketPriority priority;
+    private Long categoryId;
+    private Long assignedTo;
+    private Long customerId;
+    private LocalDateTime createdAt;
+    private String issueDescription; // highlighted; the plain description when only the notes matched
+    private String actionNotes;      // highlighted passages of the matching action notes; null when none matched
+}
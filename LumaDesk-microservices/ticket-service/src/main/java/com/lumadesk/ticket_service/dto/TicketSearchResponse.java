@@ -0,0 +1,19 @@
+package com.lumadesk.ticket_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchResponse {
+    private List<TicketSearchHit> hits;
+    private long totalHits;
+    private boolean totalHitsExact; // false when totalHits is a lower bound (large result sets are not counted to the end)
+    private boolean hasMore;
+}
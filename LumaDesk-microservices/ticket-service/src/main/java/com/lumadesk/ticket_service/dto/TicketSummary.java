@@ -0,0 +1,65 @@
+package com.lumadesk.ticket_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Read-only row of the ticket list views, built by a JPQL constructor expression in one query over
+// tickets alone; ReferenceDataCache fills in issueCategory and sla from the ids. Same JSON shape as
+// the Ticket entity, so clients read issueCategory.categoryName as before.
+@Getter
+public class TicketSummary {
+
+    private final Long ticketId;
+    private final Long createdBy;
+    private final Long createdFor;
+    @JsonIgnore
+    private final Long categoryId;
+    @Setter
+    private Category issueCategory;
+    private final String issueDescription;
+    private final TicketStatus status;
+    private final TicketSeverity severity;
+    private final TicketPriority priority;
+    @JsonIgnore
+    private final Long slaId;
+    @Setter
+    private Sla sla;
+    private final Long assignedTo;
+    private final LocalDateTime slaDeadline;
+    private final boolean slaBreached;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public TicketSummary(Long ticketId, Long createdBy, Long createdFor,
+                         Long categoryId, String issueDescription,
+                         TicketStatus status, TicketSeverity severity, TicketPriority priority, Long slaId,
+                         Long assignedTo, LocalDateTime slaDeadline, boolean slaBreached,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.ticketId = ticketId;
+        this.createdBy = createdBy;
+        this.createdFor = createdFor;
+        this.categoryId = categoryId;
+        this.issueDescription = issueDescription;
+        this.status = status;
+        this.severity = severity;
+        this.priority = priority;
+        this.slaId = slaId;
+        this.assignedTo = assignedTo;
+        this.slaDeadline = slaDeadline;
+        this.slaBreached = slaBreached;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public record Category(Long categoryId, String categoryName) {
+    }
+
+    public record Sla(Long slaId, TicketSeverity severity, TicketPriority priority, Integer timeLimitHour) {
+    }
+}
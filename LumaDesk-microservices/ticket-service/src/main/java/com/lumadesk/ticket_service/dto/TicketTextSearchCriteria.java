@@ -0,0 +1,51 @@
+package com.lumadesk.ticket_service.dto;
+
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// Query parameters of the full-text ticket search. The keywords are required, every filter is optional.
+@Data
+@NoArgsConstructor
+public class TicketTextSearchCriteria {
+
+    // Words match in any order; "quoted phrase", -excluded, either|or and prefix* are supported
+    @NotBlank(message = "Search text cannot be blank")
+    @Size(max = 200, message = "Search text cannot exceed 200 characters")
+    private String q;
+
+    private TicketStatus status;
+
+    private TicketPriority priority;
+
+    private TicketSeverity severity;
+
+    private Long categoryId;
+
+    private Long assignedTo;
+
+    private Long customerId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    @Min(value = 0, message = "Page cannot be negative")
+    @Max(value = 49, message = "Page cannot exceed 49; narrow the search instead")
+    private Integer page = 0;
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 100, message = "Page size cannot exceed 100")
+    private Integer size = 20;
+}
@@ -0,0 +1,18 @@
+package com.lumadesk.ticket_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketTimelineResponse {
+    private List<TimelineEvent> events;
+    private String nextCursor; // pass back as "cursor" to fetch the next page; null when there is none
+    private boolean hasMore;
+}
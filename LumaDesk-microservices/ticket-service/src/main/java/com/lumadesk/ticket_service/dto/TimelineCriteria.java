@@ -0,0 +1,18 @@
+package com.lumadesk.ticket_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Query parameters of the ticket timeline
+@Data
+@NoArgsConstructor
+public class TimelineCriteria {
+
+    private String cursor; // nextCursor of the previous page; null for the first page
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 200, message = "Page size cannot exceed 200")
+    private Integer size = 50;
+}
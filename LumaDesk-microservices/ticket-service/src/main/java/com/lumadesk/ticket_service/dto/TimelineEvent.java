@@ -0,0 +1,46 @@
+package com.lumadesk.ticket_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// One entry of a ticket's timeline: a status action or an assignment, read by JPQL constructor expressions.
+// Fields that do not apply to the event type are left out of the JSON.
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimelineEvent {
+
+    public enum Type { ACTION, ASSIGNMENT }
+
+    private final Type type;
+    private final Long eventId; // actionId or assignmentId, depending on type
+    private final LocalDateTime occurredAt;
+    private final Long actorId; // updatedBy or assignedBy
+    private final TicketStatus status;
+    private final String actionNote;
+    private final String attachmentUrl;
+    private final Long assignedTo;
+
+    public TimelineEvent(Long actionId, LocalDateTime actionTime, Long updatedBy,
+                         TicketStatus status, String actionNote, String attachmentUrl) {
+        this(Type.ACTION, actionId, actionTime, updatedBy, status, actionNote, attachmentUrl, null);
+    }
+
+    public TimelineEvent(Long assignmentId, LocalDateTime assignedAt, Long assignedBy, Long assignedTo) {
+        this(Type.ASSIGNMENT, assignmentId, assignedAt, assignedBy, null, null, null, assignedTo);
+    }
+
+    private TimelineEvent(Type type, Long eventId, LocalDateTime occurredAt, Long actorId,
+                          TicketStatus status, String actionNote, String attachmentUrl, Long assignedTo) {
+        this.type = type;
+        this.eventId = eventId;
+        this.occurredAt = occurredAt;
+        this.actorId = actorId;
+        this.status = status;
+        this.actionNote = actionNote;
+        this.attachmentUrl = attachmentUrl;
+        this.assignedTo = assignedTo;
+    }
+}
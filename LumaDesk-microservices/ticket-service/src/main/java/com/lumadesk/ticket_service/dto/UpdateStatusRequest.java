@@ -1,6 +1,7 @@
 package com.lumadesk.ticket_service.dto;
 
 import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,6 +12,9 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 public class UpdateStatusRequest {
+    @NotNull(message = "Ticket ID cannot be null")
     private Long ticketId;
+
+    @NotNull(message = "Status cannot be null")
     private TicketStatus status;
 }
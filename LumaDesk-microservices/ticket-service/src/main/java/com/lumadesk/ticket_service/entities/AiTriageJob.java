@@ -0,0 +1,64 @@
+package com.lumadesk.ticket_service.entities;
+
+import com.lumadesk.ticket_service.entities.enums.AiTriageJobStatus;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// One request for an AI severity/priority suggestion; QUEUED rows form the persistent triage queue
+// and clients poll a job until it is COMPLETED or FAILED
+@Entity
+@Table(name = "ai_triage_jobs", indexes = {
+        @Index(name = "idx_ai_triage_jobs_ticket", columnList = "ticketId"),
+        @Index(name = "idx_ai_triage_jobs_status", columnList = "status, automatic, jobId")
+})
+@Data
+@NoArgsConstructor
+public class AiTriageJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AiTriageJobStatus status = AiTriageJobStatus.QUEUED;
+
+    // Queued by ticket creation rather than by a user; either way the suggestion only lands on a ticket still NEW
+    @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean automatic;
+
+    @Enumerated(EnumType.STRING)
+    private TicketSeverity suggestedSeverity;
+
+    @Enumerated(EnumType.STRING)
+    private TicketPriority suggestedPriority;
+
+    // Calls that failed as a whole (transport error, timeout, 5xx) and put the job back on the queue
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int attempts;
+
+    // A requeued job waits until then; null for a job that may go right away
+    private LocalDateTime nextAttemptAt;
+
+    // Why the job FAILED, or why its last call failed while it waits for a retry
+    @Column(length = 512)
+    private String error;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
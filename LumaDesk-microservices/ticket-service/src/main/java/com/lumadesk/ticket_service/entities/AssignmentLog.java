@@ -10,7 +10,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "assignment_logs")
+@Table(name = "assignment_logs", indexes = {
+        @Index(name = "idx_assignment_logs_ticket", columnList = "ticket_id, assignmentId")
+})
 @Data
 @NoArgsConstructor
 public class AssignmentLog {
@@ -0,0 +1,29 @@
+package com.lumadesk.ticket_service.entities;
+
+import com.lumadesk.ticket_service.entities.enums.ReferenceDataType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Bumped in the same transaction as every write to a reference table; replicas poll it to drop stale caches.
+@Entity
+@Table(name = "reference_data_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceDataVersion {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ReferenceDataType dataType;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,25 @@
+package com.lumadesk.ticket_service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per SLA monitor partition; the owner keeps the lease alive by pushing expiresAt forward.
+@Entity
+@Table(name = "sla_monitor_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaMonitorLease {
+
+    @Id
+    private Long partitionId;
+
+    @Column(length = 64)
+    private String owner; // null while the partition is free
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.lumadesk.ticket_service.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Heartbeat of a ticket-service instance taking part in SLA monitoring, used to size each instance's share.
+@Entity
+@Table(name = "sla_monitor_members")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaMonitorMember {
+
+    @Id
+    @Column(length = 64)
+    private String memberId;
+
+    @Column(nullable = false)
+    private LocalDateTime lastSeen;
+}
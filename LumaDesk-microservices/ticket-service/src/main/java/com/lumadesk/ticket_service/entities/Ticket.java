@@ -8,16 +8,25 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_status", columnList = "status, ticketId"),
+        @Index(name = "idx_tickets_assigned_to", columnList = "assignedTo, ticketId"),
+        @Index(name = "idx_tickets_created_at", columnList = "createdAt"),
+        @Index(name = "idx_tickets_status_sla_deadline", columnList = "status, slaDeadline")
+})
 @Data
 @NoArgsConstructor
+@DynamicUpdate // the SLA monitor writes its columns with bulk UPDATEs; saves must not overwrite them with stale values
 public class Ticket {
 
     @Id
@@ -34,8 +43,11 @@ public class Ticket {
     @Column(nullable = false)
     private Long createdFor; // User ID, same as createdBy if self-reported
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // LAZY: list views read TicketSummary projections, single-ticket loads fetch both associations by entity graph
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "issue_category_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private IssueCategory issueCategory;
 
     @NotBlank(message = "Issue description must not be blank")
@@ -53,16 +65,26 @@ public class Ticket {
     @Enumerated(EnumType.STRING)
     private TicketPriority priority;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sla_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private SLA sla;
 
     @Positive(message = "AssignedTo (resolver ID) must be a positive number")
     private Long assignedTo; // ID of the resolver
 
+    private LocalDateTime slaDeadline; // createdAt + SLA time limit, fixed when the SLA is attached
+
     @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT false")
     private boolean slaBreached = false;
 
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int slaAlertMask = 0; // one bit per SlaCheckpoint already announced in the current SLA window
+
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int eventVersion = 0; // version of the last ticket_events row applied to this projection
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
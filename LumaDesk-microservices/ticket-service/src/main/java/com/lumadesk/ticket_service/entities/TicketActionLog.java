@@ -12,7 +12,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ticket_action_logs")
+@Table(name = "ticket_action_logs", indexes = {
+        @Index(name = "idx_ticket_action_logs_ticket", columnList = "ticket_id, actionId")
+})
 @Data
 @NoArgsConstructor
 public class TicketActionLog {
@@ -0,0 +1,45 @@
+package com.lumadesk.ticket_service.entities;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// One ticket transition, never updated; the tickets row and the log tables are projections of these
+@Entity
+@Table(name = "ticket_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ticket_events_ticket_version", columnNames = {"ticketId", "version"})
+})
+@Data
+@NoArgsConstructor
+public class TicketEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long eventId; // insertion order, which is not commit order; the change feed follows it
+
+    @Column(nullable = false)
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private int version; // 1, 2, 3... per ticket; a concurrent transition from the same version fails the unique key
+
+    // VARCHAR rather than a native enum column, so a new event type needs no ALTER TABLE
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(32)")
+    private TicketEventType eventType;
+
+    private Long actorId; // user who caused the transition
+
+    @JsonRawValue
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // TicketChange as JSON
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
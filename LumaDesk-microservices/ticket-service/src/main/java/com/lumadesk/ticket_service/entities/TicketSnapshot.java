@@ -0,0 +1,29 @@
+package com.lumadesk.ticket_service.entities;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Latest ticket state folded from its events, so a rebuild replays only the events after it
+@Entity
+@Table(name = "ticket_snapshots")
+@Data
+@NoArgsConstructor
+public class TicketSnapshot {
+
+    @Id
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private int version; // last event included; 0 for the baseline of a ticket older than the event store
+
+    @JsonRawValue
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String state; // TicketChange holding every state field
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,8 @@
+package com.lumadesk.ticket_service.entities.enums;
+
+public enum AiTriageJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.lumadesk.ticket_service.entities.enums;
+
+public enum OutboxEventType {
+    NOTIFICATION,
+    PENDING_FEEDBACK
+}
@@ -0,0 +1,7 @@
+package com.lumadesk.ticket_service.entities.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED // gave up after the maximum number of attempts
+}
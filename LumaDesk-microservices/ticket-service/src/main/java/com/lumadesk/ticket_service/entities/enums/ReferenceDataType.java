@@ -0,0 +1,6 @@
+package com.lumadesk.ticket_service.entities.enums;
+
+public enum ReferenceDataType {
+    ISSUE_CATEGORY,
+    SLA
+}
@@ -0,0 +1,15 @@
+package com.lumadesk.ticket_service.entities.enums;
+
+public enum TicketEventType {
+    CREATED,
+    TRIAGED,
+    REASSIGNED,
+    OPENED,
+    RESOLVED,
+    HELD,
+    CLOSED,
+    REOPENED,
+    STATUS_CHANGED,
+    TRIAGE_SUGGESTED,
+    SLA_ESCALATED
+}
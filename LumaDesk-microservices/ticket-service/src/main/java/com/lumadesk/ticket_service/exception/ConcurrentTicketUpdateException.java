@@ -0,0 +1,7 @@
+package com.lumadesk.ticket_service.exception;
+
+public class ConcurrentTicketUpdateException extends RuntimeException {
+    public ConcurrentTicketUpdateException(String message) {
+        super(message);
+    }
+}
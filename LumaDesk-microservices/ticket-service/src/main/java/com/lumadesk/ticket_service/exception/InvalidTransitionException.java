@@ -0,0 +1,7 @@
+package com.lumadesk.ticket_service.exception;
+
+public class InvalidTransitionException extends RuntimeException {
+    public InvalidTransitionException(String message) {
+        super(message);
+    }
+}
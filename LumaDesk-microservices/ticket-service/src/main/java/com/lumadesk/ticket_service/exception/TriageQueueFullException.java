@@ -0,0 +1,11 @@
+package com.lumadesk.ticket_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TriageQueueFullException extends RuntimeException {
+    public TriageQueueFullException(String message) {
+        super(message);
+    }
+}
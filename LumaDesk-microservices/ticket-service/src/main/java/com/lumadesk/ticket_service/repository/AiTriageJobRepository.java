@@ -0,0 +1,44 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.AiTriageJob;
+import com.lumadesk.ticket_service.entities.enums.AiTriageJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AiTriageJobRepository extends JpaRepository<AiTriageJob, Long> {
+
+    long countByStatus(AiTriageJobStatus status);
+
+    // Head of the queue: jobs someone asked for by hand first, then the oldest; jobs waiting out a retry backoff are skipped
+    @Query("select j.jobId from AiTriageJob j where j.status = :status " +
+            "and (j.nextAttemptAt is null or j.nextAttemptAt <= :now) order by j.automatic, j.jobId")
+    List<Long> findIdsByStatus(@Param("status") AiTriageJobStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional move between states; replicas racing for the same job see 1 on exactly one of them
+    @Transactional
+    @Modifying
+    @Query("update AiTriageJob j set j.status = :to, j.updatedAt = :now where j.jobId = :jobId and j.status = :from")
+    int transition(@Param("jobId") Long jobId,
+                   @Param("from") AiTriageJobStatus from,
+                   @Param("to") AiTriageJobStatus to,
+                   @Param("now") LocalDateTime now);
+
+    // Jobs left RUNNING by an instance that died mid-call go back on the queue
+    @Transactional
+    @Modifying
+    @Query("update AiTriageJob j set j.status = :queued, j.updatedAt = :now " +
+            "where j.status = :running and j.updatedAt < :before")
+    int requeueStale(@Param("running") AiTriageJobStatus running,
+                     @Param("queued") AiTriageJobStatus queued,
+                     @Param("before") LocalDateTime before,
+                     @Param("now") LocalDateTime now);
+}
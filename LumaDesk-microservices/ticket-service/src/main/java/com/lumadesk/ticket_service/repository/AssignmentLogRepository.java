@@ -1,8 +1,12 @@
 package com.lumadesk.ticket_service.repository;
 
+import com.lumadesk.ticket_service.dto.TimelineEvent;
 import com.lumadesk.ticket_service.entities.AssignmentLog;
 import com.lumadesk.ticket_service.entities.Ticket;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +18,9 @@ public interface AssignmentLogRepository extends JpaRepository<AssignmentLog, Lo
     Optional<AssignmentLog> findTopByTicketOrderByAssignedAtDesc(Ticket ticket);
 
     List<AssignmentLog> findAllByTicket(Ticket ticket);
+
+    // Timeline page after the given assignmentId, served by idx_assignment_logs_ticket without loading the ticket
+    @Query("select new com.lumadesk.ticket_service.dto.TimelineEvent(l.assignmentId, l.assignedAt, l.assignedBy, l.assignedTo) " +
+            "from AssignmentLog l where l.ticket.ticketId = :ticketId and l.assignmentId > :after order by l.assignmentId")
+    List<TimelineEvent> findTimelinePage(@Param("ticketId") Long ticketId, @Param("after") long after, Pageable pageable);
 }
@@ -0,0 +1,62 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.OutboxEvent;
+import com.lumadesk.ticket_service.entities.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Due events of the tickets whose SLA monitor partitions this instance leases, oldest first
+    @Query("select e from OutboxEvent e where e.status = :status and e.nextAttemptAt <= :now " +
+            "and mod(e.aggregateId, :partitionCount) in :partitions order by e.eventId")
+    List<OutboxEvent> findDue(@Param("status") OutboxStatus status,
+                              @Param("now") LocalDateTime now,
+                              @Param("partitionCount") long partitionCount,
+                              @Param("partitions") Collection<Long> partitions,
+                              Pageable pageable);
+
+    // Oldest undelivered event per ticket; a later event must wait while an earlier one is backing off
+    @Query("select e.aggregateId, min(e.eventId) from OutboxEvent e " +
+            "where e.status = :status and e.aggregateId in :aggregateIds group by e.aggregateId")
+    List<Object[]> findHeadOfLine(@Param("status") OutboxStatus status,
+                                  @Param("aggregateIds") Collection<Long> aggregateIds);
+
+    long countByStatus(OutboxStatus status);
+
+    Optional<OutboxEvent> findFirstByStatusOrderByEventIdAsc(OutboxStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.status = :status, e.sentAt = :now, e.attempts = e.attempts + 1 " +
+            "where e.eventId in :eventIds")
+    int markSent(@Param("eventIds") Collection<Long> eventIds,
+                 @Param("status") OutboxStatus status,
+                 @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent e set e.status = :status, e.attempts = :attempts, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError where e.eventId = :eventId")
+    int markAttemptFailed(@Param("eventId") Long eventId,
+                          @Param("status") OutboxStatus status,
+                          @Param("attempts") int attempts,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = :status and e.sentAt < :before")
+    int deleteSentBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
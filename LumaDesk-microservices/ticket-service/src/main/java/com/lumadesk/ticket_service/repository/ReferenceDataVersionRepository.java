@@ -0,0 +1,26 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.ReferenceDataVersion;
+import com.lumadesk.ticket_service.entities.enums.ReferenceDataType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ReferenceDataVersionRepository extends JpaRepository<ReferenceDataVersion, ReferenceDataType> {
+
+    // Joins the caller's transaction, so the new version becomes visible together with the write it announces
+    @Transactional
+    @Modifying
+    @Query("update ReferenceDataVersion v set v.version = v.version + 1 where v.dataType = :dataType")
+    int bump(@Param("dataType") ReferenceDataType dataType);
+
+    // Plain INSERT rather than save(): a merge could reset a version another instance already bumped
+    @Transactional
+    @Modifying
+    @Query(value = "insert into reference_data_versions (data_type, version) values (:dataType, 0)", nativeQuery = true)
+    int createRow(@Param("dataType") String dataType);
+}
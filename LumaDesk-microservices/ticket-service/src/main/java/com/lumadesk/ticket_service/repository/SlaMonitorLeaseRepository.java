@@ -0,0 +1,42 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.SlaMonitorLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SlaMonitorLeaseRepository extends JpaRepository<SlaMonitorLease, Long> {
+
+    @Query("select l from SlaMonitorLease l where l.owner is null or l.expiresAt < :now order by l.partitionId")
+    List<SlaMonitorLease> findClaimable(@Param("now") LocalDateTime now);
+
+    // Takes or renews the lease; the row is only updated if it is ours, free, or expired,
+    // so two instances racing for the same partition cannot both win.
+    @Transactional
+    @Modifying
+    @Query("update SlaMonitorLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+            "where l.partitionId = :partitionId and (l.owner = :owner or l.owner is null or l.expiresAt < :now)")
+    int tryAcquire(@Param("partitionId") Long partitionId,
+                   @Param("owner") String owner,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("now") LocalDateTime now);
+
+    // Plain INSERT rather than save(): a merge could overwrite a lease another instance already holds
+    @Transactional
+    @Modifying
+    @Query(value = "insert into sla_monitor_leases (partition_id) values (:partitionId)", nativeQuery = true)
+    int createPartition(@Param("partitionId") Long partitionId);
+
+    @Transactional
+    @Modifying
+    @Query("update SlaMonitorLease l set l.owner = null, l.expiresAt = null " +
+            "where l.partitionId = :partitionId and l.owner = :owner")
+    int release(@Param("partitionId") Long partitionId, @Param("owner") String owner);
+}
@@ -0,0 +1,22 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.SlaMonitorMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SlaMonitorMemberRepository extends JpaRepository<SlaMonitorMember, String> {
+
+    long countByLastSeenGreaterThanEqual(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SlaMonitorMember m where m.lastSeen < :before")
+    int deleteStale(@Param("before") LocalDateTime before);
+}
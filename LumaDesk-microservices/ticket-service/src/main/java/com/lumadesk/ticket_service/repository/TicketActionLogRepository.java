@@ -1,14 +1,29 @@
 package com.lumadesk.ticket_service.repository;
 
+import com.lumadesk.ticket_service.dto.TimelineEvent;
 import com.lumadesk.ticket_service.entities.Ticket;
 import com.lumadesk.ticket_service.entities.TicketActionLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TicketActionLogRepository extends JpaRepository<TicketActionLog, Long> {
 
     List<TicketActionLog> findAllByTicket(Ticket ticket);
+
+    // Timeline page after the given actionId, served by idx_ticket_action_logs_ticket without loading the ticket
+    @Query("select new com.lumadesk.ticket_service.dto.TimelineEvent(l.actionId, l.actionTime, l.updatedBy, l.status, l.actionNote, l.attachmentUrl) " +
+            "from TicketActionLog l where l.ticket.ticketId = :ticketId and l.actionId > :after order by l.actionId")
+    List<TimelineEvent> findTimelinePage(@Param("ticketId") Long ticketId, @Param("after") long after, Pageable pageable);
+
+    // [ticketId, actionNote] rows for the search index, oldest note first
+    @Query("select l.ticket.ticketId, l.actionNote from TicketActionLog l " +
+            "where l.ticket.ticketId in :ticketIds and l.actionNote is not null order by l.actionId")
+    List<Object[]> findNotesByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
 }
@@ -0,0 +1,26 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketEventRepository extends JpaRepository<TicketEvent, Long> {
+
+    // Served by the (ticketId, version) unique index
+    List<TicketEvent> findByTicketIdAndVersionGreaterThanOrderByVersionAsc(Long ticketId, int version);
+
+    // Served by the primary key
+    @Query("select e from TicketEvent e where e.eventId > :after order by e.eventId")
+    List<TicketEvent> findFeed(@Param("after") long after, Pageable pageable);
+
+    // Scans the table; only run when a reader starts from scratch
+    @Query("select coalesce(max(e.eventId), 0) from TicketEvent e where e.occurredAt < :time")
+    long findLastEventIdBefore(@Param("time") LocalDateTime time);
+}
@@ -0,0 +1,181 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.AssignmentLog;
+import com.lumadesk.ticket_service.entities.OutboxEvent;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.TicketActionLog;
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import com.lumadesk.ticket_service.entities.TicketSnapshot;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC writes for ticket transitions. A transition writes the ticket row with one UPDATE
+ * that applies only if the row still has the status and event version the transition was
+ * computed from, so two requests racing on a ticket cannot overwrite each other; the caller
+ * learns from the update count whether it won. The bulk endpoints send these UPDATEs and their
+ * inserts as JDBC batches: the ticket tables keep their IDENTITY keys (existing MySQL data
+ * relies on AUTO_INCREMENT), with which Hibernate inserts rows one statement at a time, and
+ * Hibernate never batches the dynamic UPDATEs of Ticket. With rewriteBatchedStatements the
+ * MySQL driver sends each batch as one multi-row INSERT or one multi-statement round trip; the
+ * latter still reports an update count per UPDATE, which the conditional writes depend on.
+ * Joins the caller's transaction. Entities are validated first, as Hibernate would on persist.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TicketJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    // Writes the workflow columns only; the SLA monitor's columns are left to its own UPDATEs
+    private static final String UPDATE_TICKET_IF = "update tickets set issue_category_id = ?, issue_description = ?, "
+            + "status = ?, severity = ?, priority = ?, sla_id = ?, sla_deadline = ?, assigned_to = ?, event_version = ?, "
+            + "updated_at = ? where ticket_id = ? and status = ? and event_version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+
+    // True if the row still matched the expected status and version and now holds the ticket's new state
+    public boolean updateTicketIf(TicketUpdate update) {
+        validate(update.ticket());
+        return jdbcTemplate.update(UPDATE_TICKET_IF, ps -> bindUpdate(ps, update)) == 1;
+    }
+
+    // One flag per update, in order. A driver that does not report per-row counts cannot tell a lost race from a
+    // win, so the whole batch fails rather than guess.
+    public boolean[] updateTicketsIf(List<TicketUpdate> updates) {
+        updates.forEach(update -> validate(update.ticket()));
+        return appliedFlags(jdbcTemplate.batchUpdate(UPDATE_TICKET_IF, updates, BATCH_SIZE, this::bindUpdate), updates.size());
+    }
+
+    // Persists the SLA thresholds announced on each ticket, only where the row is still at the version the SLA
+    // monitor read, so a reassign that reset the mask in between keeps its reset. One flag per update, in order.
+    public boolean[] updateSlaAlertMasksIf(List<SlaAlertMaskUpdate> updates) {
+        int[][] counts = jdbcTemplate.batchUpdate("update tickets set sla_alert_mask = ? where ticket_id = ? and event_version = ?",
+                updates, BATCH_SIZE, (ps, update) -> {
+                    ps.setInt(1, update.mask());
+                    ps.setLong(2, update.ticketId());
+                    ps.setInt(3, update.expectedVersion());
+                });
+        return appliedFlags(counts, updates.size());
+    }
+
+    private static boolean[] appliedFlags(int[][] counts, int size) {
+        boolean[] applied = new boolean[size];
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    throw new IllegalStateException("The JDBC driver did not report which conditional ticket updates "
+                            + "applied; batched UPDATEs need per-statement update counts.");
+                }
+                applied[i++] = count == 1;
+            }
+        }
+        return applied;
+    }
+
+    private void bindUpdate(PreparedStatement ps, TicketUpdate update) throws SQLException {
+        Ticket ticket = update.ticket();
+        ps.setObject(1, ticket.getIssueCategory() == null ? null : ticket.getIssueCategory().getCategoryId(), Types.BIGINT);
+        ps.setString(2, ticket.getIssueDescription());
+        ps.setString(3, ticket.getStatus().name());
+        ps.setString(4, ticket.getSeverity() == null ? null : ticket.getSeverity().name());
+        ps.setString(5, ticket.getPriority() == null ? null : ticket.getPriority().name());
+        ps.setObject(6, ticket.getSla() == null ? null : ticket.getSla().getSlaId(), Types.BIGINT);
+        ps.setObject(7, ticket.getSlaDeadline());
+        ps.setObject(8, ticket.getAssignedTo(), Types.BIGINT);
+        ps.setInt(9, ticket.getEventVersion());
+        ps.setObject(10, ticket.getUpdatedAt());
+        ps.setLong(11, ticket.getTicketId());
+        ps.setString(12, update.expectedStatus().name());
+        ps.setInt(13, update.expectedVersion());
+    }
+
+    public void insertEvents(List<TicketEvent> events) {
+        jdbcTemplate.batchUpdate("insert into ticket_events (ticket_id, version, event_type, actor_id, payload, occurred_at) "
+                + "values (?, ?, ?, ?, ?, ?)", events, BATCH_SIZE, (ps, event) -> {
+            ps.setLong(1, event.getTicketId());
+            ps.setInt(2, event.getVersion());
+            ps.setString(3, event.getEventType().name());
+            ps.setObject(4, event.getActorId(), Types.BIGINT);
+            ps.setString(5, event.getPayload());
+            ps.setObject(6, event.getOccurredAt());
+        });
+    }
+
+    // Callers delete any earlier snapshot of these tickets first
+    public void insertSnapshots(List<TicketSnapshot> snapshots) {
+        jdbcTemplate.batchUpdate("insert into ticket_snapshots (ticket_id, version, state, taken_at) values (?, ?, ?, ?)",
+                snapshots, BATCH_SIZE, (ps, snapshot) -> {
+                    ps.setLong(1, snapshot.getTicketId());
+                    ps.setInt(2, snapshot.getVersion());
+                    ps.setString(3, snapshot.getState());
+                    ps.setObject(4, snapshot.getTakenAt());
+                });
+    }
+
+    public void insertAssignmentLogs(List<AssignmentLog> logs) {
+        logs.forEach(this::validate);
+        jdbcTemplate.batchUpdate("insert into assignment_logs (ticket_id, assigned_to, assigned_by, assigned_at) values (?, ?, ?, ?)",
+                logs, BATCH_SIZE, (ps, log) -> {
+                    ps.setLong(1, log.getTicket().getTicketId());
+                    ps.setLong(2, log.getAssignedTo());
+                    ps.setLong(3, log.getAssignedBy());
+                    ps.setObject(4, log.getAssignedAt());
+                });
+    }
+
+    public void insertActionLogs(List<TicketActionLog> logs) {
+        logs.forEach(this::validate);
+        jdbcTemplate.batchUpdate("insert into ticket_action_logs (ticket_id, updated_by, status, action_note, attachment_url, action_time) "
+                + "values (?, ?, ?, ?, ?, ?)", logs, BATCH_SIZE, (ps, log) -> {
+            ps.setLong(1, log.getTicket().getTicketId());
+            ps.setLong(2, log.getUpdatedBy());
+            ps.setString(3, log.getStatus().name());
+            ps.setString(4, log.getActionNote());
+            ps.setString(5, log.getAttachmentUrl());
+            ps.setObject(6, log.getActionTime());
+        });
+    }
+
+    public void insertOutboxEvents(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate("insert into outbox_events (aggregate_id, event_type, payload, status, attempts, next_attempt_at, created_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", events, BATCH_SIZE, (ps, event) -> {
+            ps.setLong(1, event.getAggregateId());
+            ps.setString(2, event.getEventType().name());
+            ps.setString(3, event.getPayload());
+            ps.setString(4, event.getStatus().name());
+            ps.setInt(5, event.getAttempts());
+            ps.setObject(6, event.getNextAttemptAt());
+            ps.setObject(7, event.getCreatedAt());
+        });
+    }
+
+    // The ticket's new state, and the status and event version its row must still have
+    public record TicketUpdate(Ticket ticket, TicketStatus expectedStatus, int expectedVersion) {
+    }
+
+    // The alert mask to store on the ticket, and the event version its row must still have
+    public record SlaAlertMaskUpdate(long ticketId, int mask, int expectedVersion) {
+    }
+
+    private void validate(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+}
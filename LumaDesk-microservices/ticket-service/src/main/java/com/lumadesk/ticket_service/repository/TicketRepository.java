@@ -1,20 +1,153 @@
 package com.lumadesk.ticket_service.repository;
 
+import com.lumadesk.ticket_service.dto.TicketSummary;
 import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
 import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
-    List<Ticket> findAllByCreatedFor(Long custId);
+    // List views select straight into TicketSummary: one query per list over tickets alone (the
+    // category and SLA ids are the foreign key columns), no entities in the persistence context
+    String SUMMARY = "select new com.lumadesk.ticket_service.dto.TicketSummary(" +
+            "t.ticketId, t.createdBy, t.createdFor, t.issueCategory.categoryId, t.issueDescription, " +
+            "t.status, t.severity, t.priority, t.sla.slaId, " +
+            "t.assignedTo, t.slaDeadline, t.slaBreached, t.createdAt, t.updatedAt) " +
+            "from Ticket t ";
+
+    // Single-ticket loads return the entity to clients, so both associations come in the same select
+    @Override
+    @EntityGraph(attributePaths = {"issueCategory", "sla"})
+    Optional<Ticket> findById(Long ticketId);
+
+    @Query(SUMMARY + "where t.createdFor = :custId order by t.ticketId desc")
+    List<TicketSummary> findSummariesByCreatedFor(@Param("custId") Long custId);
+
+    @Query(SUMMARY + "where t.status = :status order by t.ticketId desc")
+    List<TicketSummary> findSummariesByStatus(@Param("status") TicketStatus status);
+
+    @Query(SUMMARY + "where t.assignedTo = :assignedTo order by t.ticketId desc")
+    List<TicketSummary> findSummariesByAssignedTo(@Param("assignedTo") Long assignedTo);
+
+    @Query(SUMMARY + "order by t.ticketId desc")
+    List<TicketSummary> findAllSummaries();
+
+    // Rows the search index (re)builds its documents from
+    @Query(SUMMARY + "where t.ticketId in :ticketIds")
+    List<TicketSummary> findSummariesByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Query(SUMMARY + "where t.ticketId > :after order by t.ticketId")
+    List<TicketSummary> findSummariesAfter(@Param("after") long after, Pageable pageable);
+
+    // Transitions write the row with a conditional UPDATE (TicketJdbcRepository); read-only keeps Hibernate from writing it too
+    @EntityGraph(attributePaths = {"issueCategory", "sla"})
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("select t from Ticket t where t.ticketId = :ticketId")
+    Optional<Ticket> findForTransition(@Param("ticketId") Long ticketId);
+
+    @EntityGraph(attributePaths = "issueCategory")
+    List<Ticket> findByTicketIdIn(Collection<Long> ticketIds);
+
+    // Bulk transitions write these rows through TicketJdbcRepository; read-only keeps Hibernate from updating them again
+    @QueryHints(@QueryHint(name = HINT_READ_ONLY, value = "true"))
+    @Query("select t from Ticket t where t.ticketId in :ticketIds")
+    List<Ticket> findReadOnlyByTicketIdIn(@Param("ticketIds") Collection<Long> ticketIds);
+
+    // Keyset page ordered by ticketId descending: the cursor is the last ticketId already seen,
+    // so the database seeks straight to it instead of skipping OFFSET rows.
+    @Query(SUMMARY +
+            "where (:cursor is null or t.ticketId < :cursor) " +
+            "and (:status is null or t.status = :status) " +
+            "and (:priority is null or t.priority = :priority) " +
+            "and (:severity is null or t.severity = :severity) " +
+            "and (:categoryId is null or t.issueCategory.categoryId = :categoryId) " +
+            "and (:assignedTo is null or t.assignedTo = :assignedTo) " +
+            "and (:createdFrom is null or t.createdAt >= :createdFrom) " +
+            "and (:createdTo is null or t.createdAt < :createdTo) " +
+            "order by t.ticketId desc")
+    List<TicketSummary> findPageAfter(@Param("cursor") Long cursor,
+                               @Param("status") TicketStatus status,
+                               @Param("priority") TicketPriority priority,
+                               @Param("severity") TicketSeverity severity,
+                               @Param("categoryId") Long categoryId,
+                               @Param("assignedTo") Long assignedTo,
+                               @Param("createdFrom") LocalDateTime createdFrom,
+                               @Param("createdTo") LocalDateTime createdTo,
+                               Pageable pageable);
+
+    // Forward-only cursor for exports. A fetch size of Integer.MIN_VALUE makes the MySQL driver stream
+    // rows as they arrive instead of buffering the whole result set; only this query holds its
+    // connection in streaming mode, every other statement keeps the default client-side reads.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Ticket t left join fetch t.issueCategory left join fetch t.sla " +
+            "where (:status is null or t.status = :status) " +
+            "and (:priority is null or t.priority = :priority) " +
+            "and (:severity is null or t.severity = :severity) " +
+            "and (:categoryId is null or t.issueCategory.categoryId = :categoryId) " +
+            "and (:assignedTo is null or t.assignedTo = :assignedTo) " +
+            "and (:createdFrom is null or t.createdAt >= :createdFrom) " +
+            "and (:createdTo is null or t.createdAt < :createdTo) " +
+            "order by t.ticketId")
+    Stream<Ticket> streamForExport(@Param("status") TicketStatus status,
+                                   @Param("priority") TicketPriority priority,
+                                   @Param("severity") TicketSeverity severity,
+                                   @Param("categoryId") Long categoryId,
+                                   @Param("assignedTo") Long assignedTo,
+                                   @Param("createdFrom") LocalDateTime createdFrom,
+                                   @Param("createdTo") LocalDateTime createdTo);
+
+    // Served by idx_tickets_status_sla_deadline: only tickets already inside the warning window are read,
+    // restricted to the SLA monitor partitions (ticketId mod partitionCount) leased by the caller.
+    @Query("select t from Ticket t where t.status in :statuses and t.slaBreached = false " +
+            "and t.assignedTo is not null and t.slaDeadline <= :windowEnd " +
+            "and mod(t.ticketId, :partitionCount) in :partitions")
+    List<Ticket> findApproachingSlaDeadline(@Param("statuses") Collection<TicketStatus> statuses,
+                                            @Param("windowEnd") LocalDateTime windowEnd,
+                                            @Param("partitionCount") long partitionCount,
+                                            @Param("partitions") Collection<Long> partitions);
+
+    @EntityGraph(attributePaths = "sla")
+    List<Ticket> findTop500BySlaIsNotNullAndSlaDeadlineIsNull();
 
-    List<Ticket> findAllByStatus(TicketStatus status);
+    @Transactional
+    @Modifying
+    @Query("update Ticket t set t.slaDeadline = :slaDeadline where t.ticketId = :ticketId")
+    int updateSlaDeadline(@Param("ticketId") Long ticketId, @Param("slaDeadline") LocalDateTime slaDeadline);
 
-    List<Ticket> findAllByAssignedTo(Long assignedToId);
+    // Bookkeeping only; the priority that goes with a breach is an SLA_ESCALATED event
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.slaBreached = true, t.updatedAt = :now " +
+            "where t.ticketId in :ticketIds and t.slaBreached = false")
+    int markSlaBreached(@Param("ticketIds") Collection<Long> ticketIds,
+                        @Param("now") LocalDateTime now);
 
-    List<Ticket> findByStatusIn(List<TicketStatus> statuses);
+    @Transactional
+    @Modifying
+    @Query("update Ticket t set t.slaAlertMask = :mask where t.ticketId in :ticketIds")
+    int updateSlaAlertMask(@Param("ticketIds") Collection<Long> ticketIds, @Param("mask") int mask);
 }
@@ -0,0 +1,18 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.TicketSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface TicketSnapshotRepository extends JpaRepository<TicketSnapshot, Long> {
+
+    @Modifying
+    @Query("delete from TicketSnapshot s where s.ticketId in :ticketIds")
+    int deleteByTicketIds(@Param("ticketIds") Collection<Long> ticketIds);
+}
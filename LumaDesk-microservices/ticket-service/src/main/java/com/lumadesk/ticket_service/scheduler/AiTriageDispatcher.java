@@ -0,0 +1,305 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.client.AiAgentServiceClient;
+import com.lumadesk.ticket_service.dto.BatchTriageItem;
+import com.lumadesk.ticket_service.dto.BatchTriageRequest;
+import com.lumadesk.ticket_service.dto.BatchTriageResult;
+import com.lumadesk.ticket_service.dto.TicketChange;
+import com.lumadesk.ticket_service.entities.AiTriageJob;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.AiTriageJobStatus;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.exception.ResourceNotFoundException;
+import com.lumadesk.ticket_service.repository.AiTriageJobRepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.service.TicketEventService;
+import com.lumadesk.ticket_service.service.TicketEventService.Transition;
+import com.lumadesk.ticket_service.service.TicketServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the AI triage queue to ai-agent-service. Each tick starts at most as many calls as
+ * there are idle workers and rate-limit tokens (a bucket refilled at rate-per-second, per
+ * instance), and each call carries up to batch-size jobs to the batch endpoint, so a backlog
+ * waits in the database rather than in memory and costs one prompt per batch. Claiming is a
+ * conditional QUEUED -> RUNNING update, which lets several replicas drain one queue.
+ * A worker reads the tickets in one short transaction, calls the model with no transaction
+ * open and writes the suggestions back in a second one. A suggestion is recorded as a
+ * TRIAGE_SUGGESTED event only on a ticket that is still NEW and unchanged since it was read
+ * there; otherwise a triage officer got there first and the suggestion stays on the job.
+ * A call that fails as a whole (transport error, timeout, 5xx or 429) puts its jobs back on the
+ * queue with exponential backoff, like the outbox relay, up to MAX_ATTEMPTS calls per job. A job
+ * is FAILED for good by an error about its own ticket, by a request ai-agent-service rejects,
+ * or when its attempts run out.
+ */
+@Component
+@Slf4j
+public class AiTriageDispatcher {
+
+    private static final Duration SUGGESTION_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration STALE_AFTER = Duration.ofMinutes(5);
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(10);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final AiTriageJobRepository aiTriageJobRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketEventService ticketEventService;
+    private final AiAgentServiceClient aiAgentServiceClient;
+    private final ThreadPoolTaskExecutor aiTriageExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final double ratePerSecond;
+    private final int batchSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter retried;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public AiTriageDispatcher(AiTriageJobRepository aiTriageJobRepository,
+                              TicketRepository ticketRepository,
+                              TicketEventService ticketEventService,
+                              AiAgentServiceClient aiAgentServiceClient,
+                              @Qualifier("aiTriageExecutor") ThreadPoolTaskExecutor aiTriageExecutor,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${lumadesk.ai-triage.rate-per-second:5}") double ratePerSecond,
+                              @Value("${lumadesk.ai-triage.batch-size:10}") int batchSize,
+                              MeterRegistry meterRegistry) {
+        this.aiTriageJobRepository = aiTriageJobRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketEventService = ticketEventService;
+        this.aiAgentServiceClient = aiAgentServiceClient;
+        this.aiTriageExecutor = aiTriageExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = aiTriageExecutor.getMaxPoolSize();
+        this.ratePerSecond = ratePerSecond;
+        this.batchSize = batchSize;
+        Gauge.builder("ticket.ai.triage.backlog", backlog, AtomicLong::get)
+                .description("AI triage jobs waiting in the queue")
+                .register(meterRegistry);
+        Gauge.builder("ticket.ai.triage.in.flight", inFlight, AtomicInteger::get)
+                .description("AI triage calls this instance is waiting on")
+                .register(meterRegistry);
+        this.completed = meterRegistry.counter("ticket.ai.triage.completed");
+        this.failed = meterRegistry.counter("ticket.ai.triage.failed");
+        this.retried = meterRegistry.counter("ticket.ai.triage.retried");
+    }
+
+    @Scheduled(fixedDelay = 200)
+    public void dispatch() {
+        refillTokens();
+        int calls = (int) Math.min(workers - inFlight.get(), Math.floor(tokens));
+        if (calls <= 0) {
+            return;
+        }
+        List<Long> claimed = new ArrayList<>();
+        for (Long jobId : aiTriageJobRepository.findIdsByStatus(AiTriageJobStatus.QUEUED, LocalDateTime.now(),
+                PageRequest.of(0, calls * batchSize))) {
+            if (aiTriageJobRepository.transition(jobId, AiTriageJobStatus.QUEUED, AiTriageJobStatus.RUNNING,
+                    LocalDateTime.now()) == 1) {
+                claimed.add(jobId); // otherwise another instance got there first
+            }
+        }
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<Long> batch = List.copyOf(claimed.subList(from, Math.min(from + batchSize, claimed.size())));
+            if (!submit(batch)) {
+                claimed.subList(from, claimed.size()).forEach(jobId -> aiTriageJobRepository.transition(jobId,
+                        AiTriageJobStatus.RUNNING, AiTriageJobStatus.QUEUED, LocalDateTime.now()));
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedRate = 5000)
+    public void refreshBacklogMetrics() {
+        backlog.set(aiTriageJobRepository.countByStatus(AiTriageJobStatus.QUEUED));
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void requeueStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = aiTriageJobRepository.requeueStale(AiTriageJobStatus.RUNNING, AiTriageJobStatus.QUEUED,
+                now.minus(STALE_AFTER), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} AI triage jobs left running by a stopped instance.", requeued);
+        }
+    }
+
+    // Token bucket holding at most one second's worth of calls
+    private void refillTokens() {
+        long now = System.nanoTime();
+        tokens = Math.min(ratePerSecond, tokens + (now - lastRefillNanos) * ratePerSecond / 1_000_000_000d);
+        lastRefillNanos = now;
+    }
+
+    private boolean submit(List<Long> jobIds) {
+        tokens -= 1;
+        inFlight.incrementAndGet();
+        try {
+            aiTriageExecutor.execute(() -> {
+                try {
+                    run(jobIds);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.decrementAndGet();
+            tokens += 1;
+            return false;
+        }
+    }
+
+    private void run(List<Long> jobIds) {
+        try {
+            List<BatchTriageItem> items = transactionTemplate.execute(status -> {
+                List<BatchTriageItem> batch = new ArrayList<>();
+                for (Ticket ticket : ticketRepository.findByTicketIdIn(ticketIdsOf(jobIds))) {
+                    // A ticket not categorized yet goes without a category rather than failing its batch
+                    batch.add(new BatchTriageItem(ticket.getTicketId(), ticket.getIssueCategory() == null ? null
+                            : ticket.getIssueCategory().getCategoryName(), ticket.getIssueDescription()));
+                }
+                return batch;
+            });
+
+            List<BatchTriageResult> results = items.isEmpty() ? List.of()
+                    : aiAgentServiceClient.getTriageSuggestions(new BatchTriageRequest(items)).block(SUGGESTION_TIMEOUT);
+            Map<Long, BatchTriageResult> byTicket = new HashMap<>();
+            if (results != null) {
+                results.forEach(result -> byTicket.putIfAbsent(result.getTicketId(), result));
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                List<AiTriageJob> jobs = aiTriageJobRepository.findAllById(jobIds);
+                Map<Long, Ticket> tickets = new HashMap<>();
+                ticketRepository.findReadOnlyByTicketIdIn(ticketIdsOf(jobIds))
+                        .forEach(ticket -> tickets.put(ticket.getTicketId(), ticket));
+                Map<Long, Transition> suggestions = new LinkedHashMap<>();
+                for (AiTriageJob job : jobs) {
+                    Transition suggestion = apply(job, tickets.get(job.getTicketId()), byTicket.get(job.getTicketId()));
+                    if (suggestion != null) {
+                        suggestions.putIfAbsent(job.getTicketId(), suggestion);
+                    }
+                }
+                // A ticket changed since it was read here is left to whoever changed it
+                int recorded = ticketEventService.recordAll(TicketEventType.TRIAGE_SUGGESTED,
+                        new ArrayList<>(suggestions.values())).size();
+                log.debug("Recorded AI triage suggestions on {} of {} tickets.", recorded, suggestions.size());
+            });
+        } catch (RuntimeException e) {
+            boolean retryable = isTransient(e);
+            log.warn("AI triage of jobs {} failed{}: {}", jobIds, retryable ? ", retrying" : "", e.getMessage());
+            jobIds.forEach(jobId -> retryOrFail(jobId, String.valueOf(e.getMessage()), retryable));
+        }
+    }
+
+    // Completes the job and returns the change to record on the ticket, or null when there is none
+    private Transition apply(AiTriageJob job, Ticket ticket, BatchTriageResult result) {
+        String error = ticket == null ? TicketServiceImpl.TKTNOTFOUND + job.getTicketId()
+                : result == null ? "No suggestion returned for the ticket"
+                : result.getError();
+        TicketSeverity severity = null;
+        TicketPriority priority = null;
+        if (error == null) {
+            try {
+                severity = TicketSeverity.valueOf(result.getSeverity());
+                priority = TicketPriority.valueOf(result.getPriority());
+            } catch (RuntimeException e) {
+                error = "Unknown severity or priority: " + result.getSeverity() + "/" + result.getPriority();
+            }
+        }
+        if (error != null) {
+            markFailed(job, error);
+            return null;
+        }
+
+        job.setSuggestedSeverity(severity);
+        job.setSuggestedPriority(priority);
+        job.setStatus(AiTriageJobStatus.COMPLETED);
+        job.setError(null); // left by a failed earlier attempt
+        completed.increment();
+        // A triage officer who got there first has the final word
+        if (ticket.getStatus() != TicketStatus.NEW) {
+            return null;
+        }
+        TicketChange change = new TicketChange();
+        change.setSeverity(severity);
+        change.setPriority(priority);
+        return new Transition(ticket, null, change);
+    }
+
+    private List<Long> ticketIdsOf(List<Long> jobIds) {
+        return aiTriageJobRepository.findAllById(jobIds).stream().map(AiTriageJob::getTicketId).distinct().toList();
+    }
+
+    // A rejected request gets the same answer however often it is sent; anything else may pass next time
+    private static boolean isTransient(RuntimeException e) {
+        return !(e instanceof WebClientResponseException response)
+                || response.getStatusCode().is5xxServerError()
+                || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private void retryOrFail(Long jobId, String error, boolean retryable) {
+        transactionTemplate.executeWithoutResult(status -> {
+            AiTriageJob job = job(jobId);
+            int attempts = job.getAttempts() + 1;
+            job.setAttempts(attempts);
+            if (!retryable || attempts >= MAX_ATTEMPTS) {
+                markFailed(job, error);
+                return;
+            }
+            long backoffMillis = Math.min(BASE_BACKOFF.toMillis() << Math.min(attempts - 1, 20), MAX_BACKOFF.toMillis());
+            job.setStatus(AiTriageJobStatus.QUEUED);
+            job.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMillis)));
+            job.setError(abbreviate(error));
+            retried.increment();
+        });
+    }
+
+    private void markFailed(AiTriageJob job, String error) {
+        job.setStatus(AiTriageJobStatus.FAILED);
+        job.setError(abbreviate(error));
+        failed.increment();
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 512 ? message : message.substring(0, 512);
+    }
+
+    private AiTriageJob job(Long jobId) {
+        return aiTriageJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI triage job not found with ID: " + jobId));
+    }
+}
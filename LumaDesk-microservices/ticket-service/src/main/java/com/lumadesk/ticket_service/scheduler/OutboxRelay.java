@@ -0,0 +1,232 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumadesk.ticket_service.client.FeedbackServiceClient;
+import com.lumadesk.ticket_service.client.NotificationServiceClient;
+import com.lumadesk.ticket_service.dto.FeedbackCreationRequest;
+import com.lumadesk.ticket_service.dto.NotificationRequest;
+import com.lumadesk.ticket_service.entities.OutboxEvent;
+import com.lumadesk.ticket_service.entities.enums.OutboxStatus;
+import com.lumadesk.ticket_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains outbox_events to notification-service and feedback-service after the ticket changes
+ * that produced them have committed. Events of one ticket go out strictly in eventId order and a
+ * failing event holds back the ones behind it until its backoff expires; different tickets are
+ * delivered concurrently. Each instance relays the tickets of the SLA monitor partitions it leases,
+ * so replicas neither duplicate nor reorder each other's deliveries. A cycle lasts at most twice the
+ * send timeout: it starts a send only while the whole send timeout still fits in the cycle and leaves
+ * the rest of each queue for the next one, so every send it started ends in time to be recorded. The
+ * send timeout is capped so that a cycle, and the scheduler thread it holds, ends well within the
+ * partition lease TTL; a cycle that still overruns is cut off and its unfinished sends stay pending.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int CONCURRENCY = 16;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final Duration RETENTION = Duration.ofDays(7);
+    // Slack for the last sends of a cycle to report back before it is cut off
+    private static final Duration CYCLE_GRACE = Duration.ofSeconds(1);
+    // Two send timeouts plus the grace must end before the leases this instance relays for could expire
+    static final Duration MAX_SEND_TIMEOUT = SlaPartitionLeaseManager.LEASE_TTL.minus(Duration.ofSeconds(5))
+            .minus(CYCLE_GRACE).dividedBy(2);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationServiceClient notificationServiceClient;
+    private final FeedbackServiceClient feedbackServiceClient;
+    private final SlaPartitionLeaseManager leaseManager;
+    private final ObjectMapper objectMapper;
+    private final Duration sendTimeout;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Timer deliveryLag;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       NotificationServiceClient notificationServiceClient,
+                       FeedbackServiceClient feedbackServiceClient,
+                       SlaPartitionLeaseManager leaseManager,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${lumadesk.outbox.send-timeout:10s}") Duration sendTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.notificationServiceClient = notificationServiceClient;
+        this.feedbackServiceClient = feedbackServiceClient;
+        this.leaseManager = leaseManager;
+        this.objectMapper = objectMapper;
+        if (sendTimeout.compareTo(MAX_SEND_TIMEOUT) > 0) {
+            throw new IllegalArgumentException("lumadesk.outbox.send-timeout is " + sendTimeout + "; at most "
+                    + MAX_SEND_TIMEOUT + " keeps a relay cycle within the " + SlaPartitionLeaseManager.LEASE_TTL
+                    + " partition lease");
+        }
+        this.sendTimeout = sendTimeout;
+        Gauge.builder("ticket.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events waiting for delivery")
+                .register(meterRegistry);
+        Gauge.builder("ticket.outbox.lag", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.delivered = meterRegistry.counter("ticket.outbox.delivered");
+        this.retried = meterRegistry.counter("ticket.outbox.retried");
+        this.deadLettered = meterRegistry.counter("ticket.outbox.dead");
+        this.deliveryLag = Timer.builder("ticket.outbox.delivery.lag")
+                .description("Time from enqueue to successful delivery")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = 500)
+    public void relay() {
+        Set<Long> partitions = leaseManager.ownedPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxEventRepository.findDue(OutboxStatus.PENDING, now,
+                SlaPartitionLeaseManager.PARTITIONS, partitions, PageRequest.of(0, BATCH_SIZE));
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<List<OutboxEvent>> queues = queuesInTicketOrder(due);
+        long lastStart = System.nanoTime() + sendTimeout.toNanos();
+        // Every send ends by its own timeout, so the cut-off only fires if something ignores that; sends
+        // still running then are cancelled and stay pending, with no attempt counted
+        List<Delivery> results = Flux.fromIterable(queues)
+                .flatMap(queue -> deliverInOrder(queue, lastStart), CONCURRENCY)
+                .take(sendTimeout.multipliedBy(2).plus(CYCLE_GRACE))
+                .collectList()
+                .block();
+
+        List<Long> sent = new ArrayList<>();
+        LocalDateTime finishedAt = LocalDateTime.now();
+        for (Delivery result : results) {
+            if (result.error() == null) {
+                sent.add(result.event().getEventId());
+                deliveryLag.record(Duration.between(result.event().getCreatedAt(), finishedAt));
+            } else {
+                scheduleRetry(result.event(), result.error(), finishedAt);
+            }
+        }
+        if (!sent.isEmpty()) {
+            outboxEventRepository.markSent(sent, OutboxStatus.SENT, finishedAt);
+            delivered.increment(sent.size());
+        }
+        log.debug("Outbox relay delivered {} of {} due events.", sent.size(), due.size());
+    }
+
+    @Scheduled(fixedRate = 5000)
+    public void refreshBacklogMetrics() {
+        pendingEvents.set(outboxEventRepository.countByStatus(OutboxStatus.PENDING));
+        oldestPendingAgeSeconds.set(outboxEventRepository.findFirstByStatusOrderByEventIdAsc(OutboxStatus.PENDING)
+                .map(event -> Duration.between(event.getCreatedAt(), LocalDateTime.now()).toSeconds())
+                .orElse(0L));
+    }
+
+    @Scheduled(cron = "0 0 3 * * *")
+    public void purgeDelivered() {
+        int purged = outboxEventRepository.deleteSentBefore(OutboxStatus.SENT, LocalDateTime.now().minus(RETENTION));
+        log.info("Purged {} delivered outbox events.", purged);
+    }
+
+    // Groups due events per ticket, dropping tickets whose oldest pending event is not due yet
+    private List<List<OutboxEvent>> queuesInTicketOrder(List<OutboxEvent> due) {
+        Map<Long, List<OutboxEvent>> byTicket = new LinkedHashMap<>();
+        due.forEach(event -> byTicket.computeIfAbsent(event.getAggregateId(), id -> new ArrayList<>()).add(event));
+
+        Map<Long, Long> headOfLine = new HashMap<>();
+        for (Object[] row : outboxEventRepository.findHeadOfLine(OutboxStatus.PENDING, byTicket.keySet())) {
+            headOfLine.put((Long) row[0], (Long) row[1]);
+        }
+        List<List<OutboxEvent>> queues = new ArrayList<>();
+        byTicket.forEach((ticketId, events) -> {
+            if (events.get(0).getEventId().equals(headOfLine.get(ticketId))) {
+                queues.add(events);
+            }
+        });
+        return queues;
+    }
+
+    // Sends one ticket's events one after another and stops at the first failure or once a send started now
+    // could outlast the cycle
+    private Flux<Delivery> deliverInOrder(List<OutboxEvent> events, long lastStart) {
+        return Flux.fromIterable(events)
+                .concatMap(event -> Mono.defer(() -> System.nanoTime() - lastStart > 0
+                        ? Mono.<Delivery>empty()
+                        : send(event)
+                                .timeout(sendTimeout)
+                                .thenReturn(new Delivery(event, null))
+                                .onErrorResume(e -> Mono.just(new Delivery(event, e)))))
+                .takeUntil(result -> result.error() != null);
+    }
+
+    private Mono<Void> send(OutboxEvent event) {
+        return Mono.defer(() -> switch (event.getEventType()) {
+            case NOTIFICATION -> notificationServiceClient.sendNotification(read(event, NotificationRequest.class));
+            case PENDING_FEEDBACK -> feedbackServiceClient.createPendingFeedback(read(event, FeedbackCreationRequest.class));
+        });
+    }
+
+    private <T> T read(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable outbox payload for event " + event.getEventId(), e);
+        }
+    }
+
+    private void scheduleRetry(OutboxEvent event, Throwable error, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        String message = abbreviate(String.valueOf(error.getMessage()));
+        if (attempts >= MAX_ATTEMPTS) {
+            outboxEventRepository.markAttemptFailed(event.getEventId(), OutboxStatus.FAILED, attempts,
+                    event.getNextAttemptAt(), message);
+            deadLettered.increment();
+            log.error("Giving up on outbox event {} ({}) for ticket {} after {} attempts: {}",
+                    event.getEventId(), event.getEventType(), event.getAggregateId(), attempts, message);
+            return;
+        }
+        long backoffMillis = Math.min(BASE_BACKOFF.toMillis() << Math.min(attempts - 1, 20), MAX_BACKOFF.toMillis());
+        outboxEventRepository.markAttemptFailed(event.getEventId(), OutboxStatus.PENDING, attempts,
+                now.plus(Duration.ofMillis(backoffMillis)), message);
+        retried.increment();
+        log.warn("Outbox event {} for ticket {} failed (attempt {}), retrying in {} ms: {}",
+                event.getEventId(), event.getAggregateId(), attempts, backoffMillis, message);
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 512 ? message : message.substring(0, 512);
+    }
+
+    private record Delivery(OutboxEvent event, Throwable error) {
+    }
+}
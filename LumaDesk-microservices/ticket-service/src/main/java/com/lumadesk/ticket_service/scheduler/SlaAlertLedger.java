@@ -0,0 +1,151 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Remembers which SLA checkpoints were already announced for each tracked ticket, as one
+ * bit per checkpoint. Each entry is stamped with the ticket version it was recorded for: a
+ * reset of the SLA window (triage, reassignment, reopen) may happen on another replica and
+ * only shows up here as a newer version, so an entry with an older stamp is discarded and
+ * the caller's persisted mask taken instead. Open addressing over parallel primitive arrays
+ * keeps an entry at 13 bytes (a long key, an int stamp and a byte mask) with no boxing, so
+ * the active set of a busy instance stays small. Ticket ids are positive; key 0 marks an
+ * empty slot. All methods are synchronized; callers are request threads and the monitor tick.
+ */
+public class SlaAlertLedger {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] stamps;
+    private byte[] masks;
+    private int size;
+
+    public SlaAlertLedger() {
+        this(MIN_CAPACITY);
+    }
+
+    public SlaAlertLedger(int expectedTickets) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedTickets * 2) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        stamps = new int[capacity];
+        masks = new byte[capacity];
+    }
+
+    public static int bitOf(SlaCheckpoint checkpoint) {
+        return 1 << checkpoint.ordinal();
+    }
+
+    public synchronized int get(long ticketId) {
+        int slot = find(ticketId);
+        return keys[slot] == ticketId ? masks[slot] : 0;
+    }
+
+    // ORs the given bits into the ticket's mask for the given version and returns the combined mask.
+    // Bits recorded for any other version belong to an earlier SLA window and are dropped first.
+    public synchronized int merge(long ticketId, int stamp, int bits) {
+        if (ticketId <= 0) {
+            throw new IllegalArgumentException("Ticket id must be positive");
+        }
+        int slot = find(ticketId);
+        if (keys[slot] == ticketId && stamps[slot] != stamp) {
+            deleteAt(slot);
+            slot = find(ticketId);
+        }
+        if (keys[slot] != ticketId) {
+            if (bits == 0) {
+                return 0; // nothing announced yet, no need to hold an entry
+            }
+            keys[slot] = ticketId;
+            stamps[slot] = stamp;
+            masks[slot] = 0;
+            if (++size * 2 > keys.length) {
+                resize(keys.length << 1);
+                slot = find(ticketId);
+            }
+        }
+        masks[slot] |= (byte) bits;
+        return masks[slot];
+    }
+
+    public synchronized void remove(long ticketId) {
+        int slot = find(ticketId);
+        if (keys[slot] == ticketId) {
+            deleteAt(slot);
+        }
+    }
+
+    public synchronized int removeIf(LongPredicate ticketFilter) {
+        int removed = 0;
+        int slot = 0;
+        while (slot < keys.length) {
+            if (keys[slot] != 0 && ticketFilter.test(keys[slot])) {
+                deleteAt(slot); // may shift a later entry into this slot, so look at it again
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Linear probing: the slot holding ticketId, or the empty slot where it would go
+    private int find(long ticketId) {
+        int mask = keys.length - 1;
+        int slot = hash(ticketId) & mask;
+        while (keys[slot] != 0 && keys[slot] != ticketId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void deleteAt(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != 0) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                stamps[hole] = stamps[next];
+                masks[hole] = masks[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = 0;
+        stamps[hole] = 0;
+        masks[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldStamps = stamps;
+        byte[] oldMasks = masks;
+        keys = new long[capacity];
+        stamps = new int[capacity];
+        masks = new byte[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                stamps[slot] = oldStamps[i];
+                masks[slot] = oldMasks[i];
+            }
+        }
+    }
+
+    private static int hash(long ticketId) {
+        long h = ticketId * 0x9E3779B97F4A7C15L; // sequential ids would otherwise cluster
+        return (int) (h ^ (h >>> 32));
+    }
+}
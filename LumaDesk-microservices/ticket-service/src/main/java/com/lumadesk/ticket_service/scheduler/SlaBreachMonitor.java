@@ -1,115 +1,256 @@
 package com.lumadesk.ticket_service.scheduler;
 
-import com.lumadesk.ticket_service.client.NotificationServiceClient;
 import com.lumadesk.ticket_service.dto.NotificationRequest;
+import com.lumadesk.ticket_service.dto.TicketChange;
 import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
 import com.lumadesk.ticket_service.entities.enums.TicketPriority;
-import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository.SlaAlertMaskUpdate;
 import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.service.OutboxService;
+import com.lumadesk.ticket_service.service.TicketEventService;
+import com.lumadesk.ticket_service.service.TicketEventService.Transition;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class SlaBreachMonitor {
 
-    private final TicketRepository ticketRepository;
-    private final NotificationServiceClient notificationServiceClient;
+    // Tickets enter the wheel once their deadline is this close; must cover the earliest checkpoint
+    private static final Duration WARNING_WINDOW = SlaCheckpoint.WARN_15_MINUTES.getBeforeBreach().plusMinutes(5);
+    // From the 15-minute warning on, and after the breach, a ticket is URGENT
+    private static final long ESCALATE_WITHIN_MINUTES = SlaCheckpoint.WARN_15_MINUTES.getBeforeBreach().toMinutes();
 
-    private static final List<TicketStatus> ACTIVE_STATUSES = List.of(
-            TicketStatus.NEW,
-            TicketStatus.ASSIGNED,
-            TicketStatus.IN_PROGRESS,
-            TicketStatus.ON_HOLD,
-            TicketStatus.REOPENED
-    );
+    private final TicketRepository ticketRepository;
+    private final TicketJdbcRepository ticketJdbcRepository;
+    private final TicketEventService ticketEventService;
+    private final OutboxService outboxService;
+    private final SlaDeadlineTracker slaDeadlineTracker;
+    private final SlaPartitionLeaseManager leaseManager;
 
-    @Scheduled(fixedRate = 300000)
-    public void checkForSlaBreaches() {
-        log.info("Running SLA Breach Monitor...");
-        List<Ticket> activeTickets = ticketRepository.findByStatusIn(ACTIVE_STATUSES);
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildDeadlines() {
+        leaseManager.ensurePartitionsExist();
+        leaseManager.rebalance();
+        backfillSlaDeadlines();
+        loadApproachingDeadlines();
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        for (Ticket ticket : activeTickets) {
+    // Renews this instance's partition leases well within their TTL and follows replicas joining or leaving
+    @Scheduled(fixedRate = 10000, initialDelay = 10000)
+    public void rebalancePartitions() {
+        if (leaseManager.rebalance()) {
+            int dropped = slaDeadlineTracker.untrackForeignPartitions();
+            log.debug("Dropped {} tickets from partitions handed to other instances.", dropped);
+            loadApproachingDeadlines();
+        }
+    }
 
-            if (!isTicketEligibleForSlaCheck(ticket)) {
-                continue;
+    // Picks up tickets entering the warning window that this instance has not scheduled itself,
+    // e.g. assigned before a restart or on another replica, and reschedules those whose deadline
+    // moved elsewhere. Cost follows the number of tickets near breach in the owned partitions, not the backlog.
+    @Scheduled(fixedRate = 60000)
+    public void loadApproachingDeadlines() {
+        Set<Long> partitions = leaseManager.ownedPartitions();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        List<Ticket> approaching = ticketRepository.findApproachingSlaDeadline(
+                SlaDeadlineTracker.ACTIVE_STATUSES, LocalDateTime.now().plus(WARNING_WINDOW),
+                SlaPartitionLeaseManager.PARTITIONS, partitions);
+        int added = 0;
+        for (Ticket ticket : approaching) {
+            if (!slaDeadlineTracker.isTracked(ticket.getTicketId())) {
+                added++;
             }
+            // Also reschedules tickets whose SLA window was reset on another replica
+            slaDeadlineTracker.refresh(ticket);
+        }
+        log.debug("SLA window sweep: {} tickets near breach, {} newly tracked.", approaching.size(), added);
+    }
 
-            LocalDateTime breachTime = ticket.getCreatedAt()
-                    .plusHours(ticket.getSla().getTimeLimitHour());
+    // One transaction per tick: the escalations, the flags, the alert masks and the queued alerts commit together.
+    // Escalations are SLA_ESCALATED events written on the version read here, so they never undo a transition
+    // and a transition computed before them fails instead of putting the old priority back. The alert masks are
+    // written on the same version (the escalated one where the tick escalated), so a reassign that reset a mask in
+    // between keeps its reset. A ticket that loses either race is left alone this tick: no flag and no alert; the
+    // next sweep re-reads it and schedules it again.
+    @Scheduled(fixedRate = 1000)
+    @Transactional
+    public void checkForSlaBreaches() {
+        List<SlaTimingWheel.Expired> due = slaDeadlineTracker.pollDue();
+        if (due.isEmpty()) {
+            return;
+        }
 
-            boolean slaBreached = handleSlaBreachIfOccurred(ticket, now, breachTime);
+        // Re-read the tickets: they may have been resolved or reassigned since the checkpoint was scheduled.
+        // Partitions lost since then belong to another instance now, which raises the alerts itself.
+        Set<Long> dueIds = new LinkedHashSet<>();
+        due.stream()
+                .map(SlaTimingWheel.Expired::ticketId)
+                .filter(leaseManager::owns)
+                .forEach(dueIds::add);
+        if (dueIds.isEmpty()) {
+            return;
+        }
+        // Read-only: escalations write the ticket rows conditionally through the event store
+        List<Ticket> tickets = ticketRepository.findReadOnlyByTicketIdIn(dueIds).stream()
+                .filter(SlaDeadlineTracker::isEligibleForSlaCheck)
+                .filter(ticket -> !ticket.isSlaBreached())
+                .toList();
 
-            if (!slaBreached) {
-                handleImpendingSlaBreach(ticket, now, breachTime);
+        LocalDateTime now = LocalDateTime.now();
+        Set<Ticket> lost = escalate(tickets, now);
+        TickOutcome outcome = new TickOutcome();
+        for (Ticket ticket : tickets) {
+            if (!lost.contains(ticket)) {
+                evaluate(ticket, now, outcome);
             }
         }
-        log.info("SLA Breach Monitor finished.");
-    }
 
-    private boolean isTicketEligibleForSlaCheck(Ticket ticket) {
-        return ticket.getSla() != null && ticket.getAssignedTo() != null;
+        // The masks go first, in one batch, so the ledger survives restarts and partition moves
+        Set<Long> changed = new HashSet<>();
+        if (!outcome.alertMasks.isEmpty()) {
+            boolean[] stored = ticketJdbcRepository.updateSlaAlertMasksIf(outcome.alertMasks);
+            for (int i = 0; i < stored.length; i++) {
+                if (!stored[i]) {
+                    changed.add(outcome.alertMasks.get(i).ticketId());
+                }
+            }
+        }
+        if (!changed.isEmpty()) {
+            log.debug("Tickets {} changed while their SLA alerts were recorded; the next sweep picks them up again.", changed);
+            outcome.breached.removeAll(changed);
+            outcome.alerts.keySet().removeAll(changed);
+        }
+        if (!outcome.breached.isEmpty()) {
+            ticketRepository.markSlaBreached(outcome.breached, now);
+            log.warn("SLA BREACHED for tickets {}!", outcome.breached);
+        }
+        outcome.alerts.forEach(outboxService::enqueueNotification);
+        log.info("{} SLA alerts have been queued for the assigned engineers.", outcome.alerts.size());
     }
 
-    private boolean handleSlaBreachIfOccurred(Ticket ticket, LocalDateTime now, LocalDateTime breachTime) {
-        if (now.isAfter(breachTime)) {
-            if (!ticket.isSlaBreached()) {
-                markTicketAsBreached(ticket);
-                sendNotification(ticket, "SLA HAS BEEN BREACHED for ticket " + ticket.getTicketId());
+    // Records URGENT on the tickets in or past their 15-minute band; returns those changed by another request first
+    private Set<Ticket> escalate(List<Ticket> tickets, LocalDateTime now) {
+        List<Transition> escalations = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            if (ticket.getPriority() != TicketPriority.URGENT
+                    && Duration.between(now, SlaDeadlineTracker.breachTimeOf(ticket)).toMinutes() <= ESCALATE_WITHIN_MINUTES) {
+                TicketChange change = new TicketChange();
+                change.setPriority(TicketPriority.URGENT);
+                escalations.add(new Transition(ticket, null, change));
             }
-            return true; // stop further processing for this ticket
         }
-        return false;
+        if (escalations.isEmpty()) {
+            return Set.of();
+        }
+        Set<Transition> applied = Collections.newSetFromMap(new IdentityHashMap<>());
+        applied.addAll(ticketEventService.recordAll(TicketEventType.SLA_ESCALATED, escalations));
+        Set<Ticket> lost = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Transition escalation : escalations) {
+            if (!applied.contains(escalation)) {
+                lost.add(escalation.ticket());
+            }
+        }
+        if (!applied.isEmpty()) {
+            log.warn("Priority for tickets {} set to URGENT.", applied.stream().map(t -> t.ticket().getTicketId()).toList());
+        }
+        if (!lost.isEmpty()) {
+            log.debug("{} tickets changed while escalating; the next sweep picks them up again.", lost.size());
+        }
+        return lost;
     }
 
-    private void handleImpendingSlaBreach(Ticket ticket, LocalDateTime now, LocalDateTime breachTime) {
-        long minutesUntilBreach = Duration.between(now, breachTime).toMinutes();
+    private void evaluate(Ticket ticket, LocalDateTime now, TickOutcome outcome) {
+        LocalDateTime breachTime = SlaDeadlineTracker.breachTimeOf(ticket);
+        int announced = slaDeadlineTracker.announcedAlerts(ticket);
+
+        if (!now.isBefore(breachTime)) {
+            outcome.breached.add(ticket.getTicketId());
+            announce(ticket, announced, SlaCheckpoint.BREACH, outcome,
+                    "SLA HAS BEEN BREACHED for ticket " + ticket.getTicketId());
+            return; // stop further processing for this ticket
+        }
 
+        long minutesUntilBreach = Duration.between(now, breachTime).toMinutes();
         if (minutesUntilBreach <= 5) {
-            sendWarning(ticket, 5, "Urgent: 5 minutes remaining for SLA on ticket ");
+            announce(ticket, announced, SlaCheckpoint.WARN_5_MINUTES, outcome,
+                    "Urgent: 5 minutes remaining for SLA on ticket " + ticket.getTicketId());
         } else if (minutesUntilBreach <= 10) {
-            sendWarning(ticket, 10, "Warning: 10 minutes remaining for SLA on ticket ");
+            announce(ticket, announced, SlaCheckpoint.WARN_10_MINUTES, outcome,
+                    "Warning: 10 minutes remaining for SLA on ticket " + ticket.getTicketId());
         } else if (minutesUntilBreach <= 15) {
-            upgradePriorityIfNeeded(ticket);
-            sendWarning(ticket, 15, "Warning: 15 minutes remaining for SLA on ticket ");
+            announce(ticket, announced, SlaCheckpoint.WARN_15_MINUTES, outcome,
+                    "Warning: 15 minutes remaining for SLA on ticket " + ticket.getTicketId());
         }
     }
 
-    private void markTicketAsBreached(Ticket ticket) {
-        ticket.setPriority(TicketPriority.URGENT);
-        ticket.setSlaBreached(true);
-        ticketRepository.save(ticket);
-        log.warn("SLA BREACHED for ticket {}!", ticket.getTicketId());
-    }
-
-    private void upgradePriorityIfNeeded(Ticket ticket) {
-        if (ticket.getPriority() != TicketPriority.URGENT) {
-            ticket.setPriority(TicketPriority.URGENT);
-            ticketRepository.save(ticket);
-            log.warn("Priority for ticket {} set to URGENT.", ticket.getTicketId());
+    // Each threshold is announced once per SLA window, however often the ticket is re-evaluated
+    private void announce(Ticket ticket, int announced, SlaCheckpoint checkpoint, TickOutcome outcome, String message) {
+        if ((announced & SlaAlertLedger.bitOf(checkpoint)) != 0) {
+            log.debug("{} already announced for ticket {}.", checkpoint, ticket.getTicketId());
+            return;
         }
+        if (checkpoint != SlaCheckpoint.BREACH) {
+            log.warn("SLA for ticket {} is about to breach in {} minutes!",
+                    ticket.getTicketId(), checkpoint.getBeforeBreach().toMinutes());
+        }
+        int mask = slaDeadlineTracker.recordAlert(ticket, announced, checkpoint);
+        outcome.alertMasks.add(new SlaAlertMaskUpdate(ticket.getTicketId(), mask, ticket.getEventVersion()));
+        outcome.alerts.put(ticket.getTicketId(), alert(ticket, message));
     }
 
-    private void sendWarning(Ticket ticket, int minutes, String messagePrefix) {
-        log.warn("SLA for ticket {} is about to breach in {} minutes!", ticket.getTicketId(), minutes);
-        sendNotification(ticket, messagePrefix + ticket.getTicketId());
+    // One-off migration for tickets triaged before slaDeadline was persisted
+    private void backfillSlaDeadlines() {
+        List<Ticket> batch = ticketRepository.findTop500BySlaIsNotNullAndSlaDeadlineIsNull();
+        int filled = 0;
+        while (!batch.isEmpty()) {
+            for (Ticket ticket : batch) {
+                ticketRepository.updateSlaDeadline(ticket.getTicketId(),
+                        ticket.getCreatedAt().plusHours(ticket.getSla().getTimeLimitHour()));
+            }
+            filled += batch.size();
+            batch = ticketRepository.findTop500BySlaIsNotNullAndSlaDeadlineIsNull();
+        }
+        if (filled > 0) {
+            log.info("Backfilled SLA deadline for {} tickets.", filled);
+        }
     }
 
-    private void sendNotification(Ticket ticket, String message) {
-        notificationServiceClient.sendNotification(new NotificationRequest(
+    private NotificationRequest alert(Ticket ticket, String message) {
+        return new NotificationRequest(
                 String.valueOf(ticket.getAssignedTo()),
                 "System-SLA-Monitor",
                 "SLA Alert for Ticket: " + ticket.getTicketId(),
                 message
-        ));
-        log.info("Alert has been sent to the assigned engineer.");
+        );
+    }
+
+    // Changes collected over one tick, written in bulk once every due ticket has been evaluated
+    private static final class TickOutcome {
+        private final List<Long> breached = new ArrayList<>();
+        private final List<SlaAlertMaskUpdate> alertMasks = new ArrayList<>();
+        private final Map<Long, NotificationRequest> alerts = new LinkedHashMap<>();
     }
 }
@@ -0,0 +1,21 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import java.time.Duration;
+
+// The points on a ticket's SLA timeline at which the monitor has to act.
+public enum SlaCheckpoint {
+    WARN_15_MINUTES(Duration.ofMinutes(15)),
+    WARN_10_MINUTES(Duration.ofMinutes(10)),
+    WARN_5_MINUTES(Duration.ofMinutes(5)),
+    BREACH(Duration.ZERO);
+
+    private final Duration beforeBreach;
+
+    SlaCheckpoint(Duration beforeBreach) {
+        this.beforeBreach = beforeBreach;
+    }
+
+    public Duration getBeforeBreach() {
+        return beforeBreach;
+    }
+}
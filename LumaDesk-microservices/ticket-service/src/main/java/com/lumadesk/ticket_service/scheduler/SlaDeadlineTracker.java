@@ -0,0 +1,143 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Keeps the SLA checkpoints of every active, assigned ticket in a timing wheel so the
+ * monitor only wakes up for tickets that actually reached a warning or breach point.
+ * TicketServiceImpl refreshes a ticket here on every transition that can change its SLA clock.
+ * Only tickets in SLA monitor partitions leased by this instance are kept.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlaDeadlineTracker {
+
+    public static final List<TicketStatus> ACTIVE_STATUSES = List.of(
+            TicketStatus.NEW,
+            TicketStatus.ASSIGNED,
+            TicketStatus.IN_PROGRESS,
+            TicketStatus.ON_HOLD,
+            TicketStatus.REOPENED
+    );
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 512;
+
+    private final SlaPartitionLeaseManager leaseManager;
+    private final SlaTimingWheel wheel = new SlaTimingWheel(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+    private final SlaAlertLedger alertLedger = new SlaAlertLedger();
+
+    public static boolean isEligibleForSlaCheck(Ticket ticket) {
+        return ticket.getSlaDeadline() != null && ticket.getAssignedTo() != null
+                && ACTIVE_STATUSES.contains(ticket.getStatus());
+    }
+
+    public static LocalDateTime breachTimeOf(Ticket ticket) {
+        return ticket.getSlaDeadline();
+    }
+
+    // (Re)schedules the ticket's checkpoints, or drops them once it no longer needs watching.
+    // Inside a transaction the wheel is only touched after commit, so rolled back changes never leak in.
+    public void refresh(Ticket ticket) {
+        Long ticketId = ticket.getTicketId();
+        if (!isEligibleForSlaCheck(ticket) || ticket.isSlaBreached() || !leaseManager.owns(ticketId)) {
+            runAfterCommit(() -> forget(ticketId));
+            return;
+        }
+        long breachMillis = breachTimeOf(ticket).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int version = ticket.getEventVersion();
+        int persistedAlerts = ticket.getSlaAlertMask();
+        runAfterCommit(() -> schedule(ticketId, breachMillis, alertLedger.merge(ticketId, version, persistedAlerts)));
+    }
+
+    // A new SLA window (triage, reassignment, reopen): every threshold may be announced again.
+    // Call before refresh so the after-commit actions run in that order. The instance owning the
+    // ticket's partition drops its entry when it next reads the ticket at the new version.
+    public void resetAlerts(Long ticketId) {
+        runAfterCommit(() -> alertLedger.remove(ticketId));
+    }
+
+    // Checkpoints already announced in the ticket's current SLA window, from this instance's ledger and the persisted mask
+    public int announcedAlerts(Ticket ticket) {
+        return alertLedger.merge(ticket.getTicketId(), ticket.getEventVersion(), ticket.getSlaAlertMask());
+    }
+
+    // Returns the ticket's mask with the checkpoint announced; the ledger takes it once the alert has committed
+    public int recordAlert(Ticket ticket, int announced, SlaCheckpoint checkpoint) {
+        Long ticketId = ticket.getTicketId();
+        int version = ticket.getEventVersion();
+        int mask = announced | SlaAlertLedger.bitOf(checkpoint);
+        runAfterCommit(() -> alertLedger.merge(ticketId, version, mask));
+        return mask;
+    }
+
+    public boolean isTracked(Long ticketId) {
+        return wheel.isTracked(ticketId);
+    }
+
+    public void untrack(Long ticketId) {
+        runAfterCommit(() -> forget(ticketId));
+    }
+
+    // Drops the checkpoints of tickets whose partition moved to another instance
+    public int untrackForeignPartitions() {
+        alertLedger.removeIf(ticketId -> !leaseManager.owns(ticketId));
+        return wheel.cancelIf(ticketId -> !leaseManager.owns(ticketId));
+    }
+
+    public List<SlaTimingWheel.Expired> pollDue() {
+        return wheel.advanceTo(System.currentTimeMillis());
+    }
+
+    public int trackedTickets() {
+        return wheel.size();
+    }
+
+    private void schedule(long ticketId, long breachMillis, int announced) {
+        wheel.cancel(ticketId);
+        long now = System.currentTimeMillis();
+        SlaCheckpoint missed = null;
+        for (SlaCheckpoint checkpoint : SlaCheckpoint.values()) {
+            long at = breachMillis - checkpoint.getBeforeBreach().toMillis();
+            if (at > now) {
+                if ((announced & SlaAlertLedger.bitOf(checkpoint)) == 0) {
+                    wheel.schedule(ticketId, checkpoint, at);
+                }
+            } else {
+                missed = checkpoint; // only the latest band already entered is still worth announcing
+            }
+        }
+        if (missed != null && (announced & SlaAlertLedger.bitOf(missed)) == 0) {
+            wheel.schedule(ticketId, missed, now);
+        }
+    }
+
+    private void forget(long ticketId) {
+        wheel.cancel(ticketId);
+        alertLedger.remove(ticketId);
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.entities.SlaMonitorLease;
+import com.lumadesk.ticket_service.entities.SlaMonitorMember;
+import com.lumadesk.ticket_service.repository.SlaMonitorLeaseRepository;
+import com.lumadesk.ticket_service.repository.SlaMonitorMemberRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+/**
+ * Splits SLA monitoring across ticket-service replicas. Tickets are hashed into a fixed number
+ * of partitions (ticketId mod PARTITIONS) and every partition is owned through a lease row that
+ * its owner renews on each rebalance. Live instances announce themselves with a heartbeat row;
+ * each takes at most its fair share of partitions, so when a replica joins the others hand some
+ * back, and when one dies its leases expire and the survivors pick them up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlaPartitionLeaseManager {
+
+    public static final long PARTITIONS = 16;
+    public static final Duration LEASE_TTL = Duration.ofSeconds(30);
+
+    private final SlaMonitorLeaseRepository leaseRepository;
+    private final SlaMonitorMemberRepository memberRepository;
+
+    private final String memberId = "ticket-service-" + UUID.randomUUID();
+    private volatile Set<Long> ownedPartitions = Set.of();
+
+    public static long partitionOf(long ticketId) {
+        return Math.floorMod(ticketId, PARTITIONS);
+    }
+
+    public boolean owns(long ticketId) {
+        return ownedPartitions.contains(partitionOf(ticketId));
+    }
+
+    public Set<Long> ownedPartitions() {
+        return ownedPartitions;
+    }
+
+    // Heartbeats, renews the leases still held and moves towards the fair share.
+    // Returns true when the set of owned partitions changed.
+    public synchronized boolean rebalance() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(LEASE_TTL);
+        memberRepository.save(new SlaMonitorMember(memberId, now));
+        memberRepository.deleteStale(now.minus(LEASE_TTL.multipliedBy(3)));
+
+        long liveMembers = Math.max(1, memberRepository.countByLastSeenGreaterThanEqual(now.minus(LEASE_TTL)));
+        long fairShare = (PARTITIONS + liveMembers - 1) / liveMembers;
+
+        TreeSet<Long> owned = new TreeSet<>();
+        for (Long partition : ownedPartitions) {
+            if (leaseRepository.tryAcquire(partition, memberId, expiresAt, now) == 1) {
+                owned.add(partition);
+            } else {
+                log.warn("Lost SLA monitor lease on partition {}.", partition);
+            }
+        }
+        while (owned.size() > fairShare) {
+            Long partition = owned.pollLast();
+            leaseRepository.release(partition, memberId);
+        }
+        if (owned.size() < fairShare) {
+            for (SlaMonitorLease lease : leaseRepository.findClaimable(now)) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+                if (leaseRepository.tryAcquire(lease.getPartitionId(), memberId, expiresAt, now) == 1) {
+                    owned.add(lease.getPartitionId());
+                }
+            }
+        }
+
+        boolean changed = !owned.equals(ownedPartitions);
+        if (changed) {
+            log.info("SLA monitor partitions now {} ({} live instances, fair share {}).", owned, liveMembers, fairShare);
+        }
+        ownedPartitions = Set.copyOf(owned);
+        return changed;
+    }
+
+    // Creates the lease rows once; replicas starting together may race, the loser just skips.
+    public void ensurePartitionsExist() {
+        List<Long> ids = LongStream.range(0, PARTITIONS).boxed().toList();
+        Set<Long> existing = new TreeSet<>();
+        leaseRepository.findAllById(ids).forEach(lease -> existing.add(lease.getPartitionId()));
+        List<Long> missing = new ArrayList<>(ids);
+        missing.removeAll(existing);
+        for (Long partition : missing) {
+            try {
+                leaseRepository.createPartition(partition);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("SLA monitor partition {} was created by another instance.", partition);
+            }
+        }
+    }
+
+    // Hands the partitions back straight away so the other replicas do not wait for expiry.
+    @PreDestroy
+    public synchronized void releaseAll() {
+        try {
+            ownedPartitions.forEach(partition -> leaseRepository.release(partition, memberId));
+            memberRepository.deleteById(memberId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release SLA monitor leases on shutdown: {}", e.getMessage());
+        }
+        ownedPartitions = Set.of();
+    }
+}
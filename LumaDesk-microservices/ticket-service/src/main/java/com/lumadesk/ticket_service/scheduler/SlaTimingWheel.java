@@ -0,0 +1,154 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Hashed timing wheel holding the SLA checkpoints of active tickets.
+ * Scheduling and cancelling are O(1); advancing the clock only touches the buckets
+ * of the ticks that elapsed, so cost follows the number of due checkpoints rather
+ * than the number of tickets being watched. Deadlines further away than one
+ * revolution are parked with a rounds counter.
+ * All methods are synchronized; callers are request threads and the monitor tick.
+ */
+public class SlaTimingWheel {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Slot[] wheel;
+    private final Map<Long, List<Slot>> slotsByTicket = new HashMap<>();
+    private long currentTick;
+
+    public SlaTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.wheel = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = Slot.sentinel();
+        }
+    }
+
+    // A checkpoint whose deadline has already passed fires on the next advance.
+    public synchronized void schedule(long ticketId, SlaCheckpoint checkpoint, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis - startMillis, tickMillis), currentTick);
+        Slot slot = new Slot(ticketId, checkpoint, deadlineMillis);
+        slot.remainingRounds = (deadlineTick - currentTick) / wheel.length;
+        slot.linkAfter(wheel[(int) (deadlineTick & mask)]);
+        slotsByTicket.computeIfAbsent(ticketId, id -> new ArrayList<>(SlaCheckpoint.values().length)).add(slot);
+    }
+
+    public synchronized void cancel(long ticketId) {
+        List<Slot> slots = slotsByTicket.remove(ticketId);
+        if (slots != null) {
+            slots.forEach(Slot::unlink);
+        }
+    }
+
+    public synchronized int cancelIf(LongPredicate ticketFilter) {
+        int cancelled = 0;
+        Iterator<Map.Entry<Long, List<Slot>>> tickets = slotsByTicket.entrySet().iterator();
+        while (tickets.hasNext()) {
+            Map.Entry<Long, List<Slot>> ticket = tickets.next();
+            if (ticketFilter.test(ticket.getKey())) {
+                ticket.getValue().forEach(Slot::unlink);
+                tickets.remove();
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    public synchronized boolean isTracked(long ticketId) {
+        return slotsByTicket.containsKey(ticketId);
+    }
+
+    public synchronized int size() {
+        return slotsByTicket.size();
+    }
+
+    // Processes every tick that has fully elapsed by nowMillis and returns the checkpoints that fell due.
+    public synchronized List<Expired> advanceTo(long nowMillis) {
+        List<Expired> expired = new ArrayList<>();
+        while (startMillis + (currentTick + 1) * tickMillis <= nowMillis) {
+            Slot head = wheel[(int) (currentTick & mask)];
+            Slot slot = head.next;
+            while (slot != head) {
+                Slot next = slot.next;
+                if (slot.remainingRounds <= 0) {
+                    slot.unlink();
+                    forget(slot);
+                    expired.add(new Expired(slot.ticketId, slot.checkpoint, slot.deadlineMillis));
+                } else {
+                    slot.remainingRounds--;
+                }
+                slot = next;
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    private void forget(Slot slot) {
+        List<Slot> slots = slotsByTicket.get(slot.ticketId);
+        if (slots != null) {
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                slotsByTicket.remove(slot.ticketId);
+            }
+        }
+    }
+
+    public record Expired(long ticketId, SlaCheckpoint checkpoint, long deadlineMillis) {
+    }
+
+    // Node of the intrusive circular list kept per bucket; a sentinel marks each list head.
+    private static final class Slot {
+        private final long ticketId;
+        private final SlaCheckpoint checkpoint;
+        private final long deadlineMillis;
+        private long remainingRounds;
+        private Slot prev;
+        private Slot next;
+
+        private Slot(long ticketId, SlaCheckpoint checkpoint, long deadlineMillis) {
+            this.ticketId = ticketId;
+            this.checkpoint = checkpoint;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        private static Slot sentinel() {
+            Slot head = new Slot(-1, null, -1);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        private void linkAfter(Slot head) {
+            prev = head;
+            next = head.next;
+            head.next.prev = this;
+            head.next = this;
+        }
+
+        private void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
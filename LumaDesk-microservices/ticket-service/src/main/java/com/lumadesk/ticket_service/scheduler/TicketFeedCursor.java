@@ -0,0 +1,82 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.entities.TicketEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Read position of a reader that must not miss a ticket event. The feed is in eventId order and
+ * an eventId is taken at INSERT, so a transaction still open when a page is read can commit
+ * smaller ids after it. The cursor remembers every id it has passed without seeing (a gap) and
+ * the reader looks those ids up again on each poll; an event that fills a gap is handed out when
+ * it appears. A gap open for longer than the gap timeout is given up: the id belonged to a
+ * rolled-back insert (MySQL does not reuse AUTO_INCREMENT values) or to a transaction that ran
+ * longer than any should. position() stays below the oldest open gap, so a reader that restarts
+ * from it re-reads what it may have missed. Not thread-safe; one per reader.
+ */
+public class TicketFeedCursor {
+
+    private final long gapTimeoutNanos;
+    // Missing eventId -> System.nanoTime() when it was first passed
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+    private long highest;
+
+    public TicketFeedCursor(long position, Duration gapTimeout) {
+        this.highest = position;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+    }
+
+    // Read the next page of the feed after this eventId
+    public long after() {
+        return highest;
+    }
+
+    public Collection<Long> openGaps() {
+        return List.copyOf(gaps.keySet());
+    }
+
+    // A page read after after(), in eventId order; every id skipped between its events becomes a gap
+    public void advance(List<TicketEvent> page, long nowNanos) {
+        for (TicketEvent event : page) {
+            for (long id = highest + 1; id < event.getEventId(); id++) {
+                gaps.put(id, nowNanos);
+            }
+            highest = Math.max(highest, event.getEventId());
+        }
+    }
+
+    // Events found for open gaps; returns those that filled one, which the reader has not seen yet
+    public List<TicketEvent> fill(List<TicketEvent> found) {
+        List<TicketEvent> filled = new ArrayList<>(found.size());
+        for (TicketEvent event : found) {
+            if (gaps.remove(event.getEventId()) != null) {
+                filled.add(event);
+            }
+        }
+        return filled;
+    }
+
+    // Gives up the gaps open for longer than the timeout; returns how many
+    public int expire(long nowNanos) {
+        int expired = 0;
+        Iterator<Long> open = gaps.values().iterator();
+        while (open.hasNext()) {
+            if (nowNanos - open.next() > gapTimeoutNanos) {
+                open.remove();
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    // Every event up to here has been handed out or given up
+    public long position() {
+        return gaps.isEmpty() ? highest : gaps.firstKey() - 1;
+    }
+}
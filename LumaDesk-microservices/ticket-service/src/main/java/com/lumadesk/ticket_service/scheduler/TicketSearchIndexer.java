@@ -0,0 +1,147 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.dto.TicketSummary;
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import com.lumadesk.ticket_service.repository.TicketActionLogRepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.search.TicketSearchIndex;
+import com.lumadesk.ticket_service.service.TicketEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps this instance's TicketSearchIndex in step with the tickets. An index that has never been
+ * built is filled from the ticket rows at startup; from then on every poll reads the ticket event
+ * feed through a TicketFeedCursor, which also looks up events of transactions that committed after
+ * later ones, re-reads the touched tickets and their action notes and replaces their documents.
+ * Documents are rebuilt from the current rows, so applying an event twice is harmless and the
+ * position only needs to be committed now and then. Every write of an indexed field is a ticket
+ * event, SLA escalations and AI triage suggestions included, so the feed is all the index needs to
+ * follow. gap-timeout bounds how long a transaction that writes ticket events may stay open.
+ */
+@Component
+@Slf4j
+public class TicketSearchIndexer {
+
+    private static final int BUILD_PAGE = 1000;
+    private static final int FEED_PAGE = 1000;
+
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketEventService ticketEventService;
+    private final TicketRepository ticketRepository;
+    private final TicketActionLogRepository ticketActionLogRepository;
+    private final Duration gapTimeout;
+
+    private TicketFeedCursor cursor;
+    private volatile boolean ready;
+
+    public TicketSearchIndexer(TicketSearchIndex ticketSearchIndex,
+                               TicketEventService ticketEventService,
+                               TicketRepository ticketRepository,
+                               TicketActionLogRepository ticketActionLogRepository,
+                               @Value("${lumadesk.ticket-search.gap-timeout:5m}") Duration gapTimeout) {
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.ticketEventService = ticketEventService;
+        this.ticketRepository = ticketRepository;
+        this.ticketActionLogRepository = ticketActionLogRepository;
+        this.gapTimeout = gapTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        if (!ticketSearchIndex.isBuilt()) {
+            // Changes after the head are applied from the feed, so tickets updated during the scan are caught up.
+            // Events inserted before the gap timeout belong to transactions done by now; later ones may still commit.
+            long head = ticketEventService.getFeedPositionBefore(LocalDateTime.now().minus(gapTimeout));
+            long after = 0;
+            int built = 0;
+            List<TicketSummary> page;
+            do {
+                page = ticketRepository.findSummariesAfter(after, PageRequest.of(0, BUILD_PAGE));
+                if (!page.isEmpty()) {
+                    indexTickets(page);
+                    after = page.get(page.size() - 1).getTicketId();
+                    built += page.size();
+                }
+            } while (page.size() == BUILD_PAGE);
+            ticketSearchIndex.advanceTo(head);
+            ticketSearchIndex.commit();
+            log.info("Built the ticket search index from {} tickets up to feed position {}.", built, head);
+        }
+        ticketSearchIndex.refresh();
+        cursor = new TicketFeedCursor(ticketSearchIndex.position(), gapTimeout);
+        ready = true;
+    }
+
+    @Scheduled(fixedDelayString = "${lumadesk.ticket-search.poll-interval:1s}")
+    public void applyFeed() {
+        if (!ready) {
+            return;
+        }
+        int applied = 0;
+        List<Long> gaps = new ArrayList<>(cursor.openGaps());
+        for (int from = 0; from < gaps.size(); from += FEED_PAGE) {
+            applied += apply(cursor.fill(ticketEventService.getEvents(
+                    gaps.subList(from, Math.min(from + FEED_PAGE, gaps.size())))));
+        }
+        List<TicketEvent> events;
+        do {
+            events = ticketEventService.getFeed(cursor.after(), FEED_PAGE);
+            cursor.advance(events, System.nanoTime());
+            applied += apply(events);
+        } while (events.size() == FEED_PAGE);
+        int expired = cursor.expire(System.nanoTime());
+        if (expired > 0) {
+            // Mostly ids of rolled-back inserts, e.g. transitions that lost a race
+            log.debug("Stopped waiting for {} ticket event ids not committed within {}.", expired, gapTimeout);
+        }
+        if (cursor.position() != ticketSearchIndex.position()) {
+            ticketSearchIndex.advanceTo(cursor.position());
+        }
+        if (applied > 0) {
+            ticketSearchIndex.refresh();
+            log.debug("Applied {} ticket events to the search index, now at feed position {}.", applied, ticketSearchIndex.position());
+        }
+    }
+
+    // A commit fsyncs the index; between commits a restart re-applies the feed from the last committed position
+    @Scheduled(fixedRate = 10000)
+    public void commit() {
+        if (ready) {
+            ticketSearchIndex.commit();
+        }
+    }
+
+    private int apply(List<TicketEvent> events) {
+        if (!events.isEmpty()) {
+            Set<Long> ticketIds = new LinkedHashSet<>();
+            events.forEach(event -> ticketIds.add(event.getTicketId()));
+            indexTickets(ticketRepository.findSummariesByTicketIdIn(ticketIds));
+        }
+        return events.size();
+    }
+
+    private void indexTickets(List<TicketSummary> tickets) {
+        List<Long> ticketIds = new ArrayList<>(tickets.size());
+        tickets.forEach(ticket -> ticketIds.add(ticket.getTicketId()));
+        Map<Long, List<String>> notes = new HashMap<>();
+        for (Object[] row : ticketActionLogRepository.findNotesByTicketIdIn(ticketIds)) {
+            notes.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        ticketSearchIndex.index(tickets, notes);
+    }
+}
@@ -0,0 +1,281 @@
+package com.lumadesk.ticket_service.search;
+
+import com.lumadesk.ticket_service.dto.TicketSearchHit;
+import com.lumadesk.ticket_service.dto.TicketSearchResponse;
+import com.lumadesk.ticket_service.dto.TicketSummary;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index of ticket descriptions and action notes, one document per ticket, in a
+ * memory-mapped directory on local disk. Every instance owns its own index: TicketSearchIndexer
+ * fills it from the database when it has never been built and then applies the ticket event
+ * feed, and the last applied feed position is stored with each Lucene commit so a restart resumes
+ * from there. Searches use a near-real-time searcher refreshed after every applied feed page and are
+ * answered from stored fields alone, without a database round trip.
+ * Several instances may run on one host with the same index-dir, so the index lives in the first
+ * slot-N subdirectory whose Lucene write lock is free; an instance that restarts may get another
+ * slot and simply resumes from that slot's position.
+ */
+@Component
+@Slf4j
+public class TicketSearchIndex {
+
+    public static final String DESCRIPTION = "description";
+    public static final String NOTES = "notes";
+    public static final String STATUS = "status";
+    public static final String SEVERITY = "severity";
+    public static final String PRIORITY = "priority";
+    public static final String CATEGORY_ID = "categoryId";
+    public static final String ASSIGNED_TO = "assignedTo";
+    public static final String CUSTOMER_ID = "customerId";
+    public static final String CREATED_AT = "createdAt";
+
+    private static final String ID = "id";
+    private static final String TICKET_ID = "ticketId";
+    private static final String POSITION = "feedPosition";
+    // Instances on one host sharing the index-dir
+    private static final int SLOTS = 16;
+
+    // Stored for highlighting, with offsets in the postings so the highlighter does not re-analyze the text
+    private static final FieldType TEXT = new FieldType();
+
+    static {
+        TEXT.setTokenized(true);
+        TEXT.setStored(true);
+        TEXT.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT.freeze();
+    }
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile long position = -1;
+
+    public TicketSearchIndex(@Value("${lumadesk.ticket-search.index-dir:data/ticket-search}") Path indexDir) throws IOException {
+        this.writer = openFreeSlot(indexDir, analyzer);
+        this.directory = writer.getDirectory();
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            commitData.forEach(entry -> {
+                if (POSITION.equals(entry.getKey())) {
+                    position = Long.parseLong(entry.getValue());
+                }
+            });
+        }
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("Opened ticket search index at {} with {} tickets, feed position {}.",
+                ((MMapDirectory) directory).getDirectory(), writer.getDocStats().numDocs, position);
+    }
+
+    // eventId up to which every ticket event has been applied to the index; -1 until the index has been built
+    public long position() {
+        return position;
+    }
+
+    public boolean isBuilt() {
+        return position >= 0;
+    }
+
+    public Analyzer analyzer() {
+        return analyzer;
+    }
+
+    // Replaces the documents of the given tickets; notes holds each ticket's action notes, oldest first
+    public void index(Collection<TicketSummary> tickets, Map<Long, List<String>> notes) {
+        try {
+            for (TicketSummary ticket : tickets) {
+                writer.updateDocument(new Term(ID, ticket.getTicketId().toString()),
+                        document(ticket, notes.getOrDefault(ticket.getTicketId(), List.of())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the ticket search index", e);
+        }
+    }
+
+    // Becomes durable with the next commit, together with the documents written before it
+    public void advanceTo(long feedPosition) {
+        position = feedPosition;
+        writer.setLiveCommitData(Map.of(POSITION, Long.toString(feedPosition)).entrySet());
+    }
+
+    // Makes the documents written so far visible to searches
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not refresh the ticket search index", e);
+        }
+    }
+
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not commit the ticket search index", e);
+        }
+    }
+
+    // Ranked hits offset..offset+size of the query, highlighted
+    public TicketSearchResponse search(Query query, int offset, int size) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, offset + size + 1);
+                ScoreDoc[] page = Arrays.copyOfRange(top.scoreDocs,
+                        Math.min(offset, top.scoreDocs.length), Math.min(offset + size, top.scoreDocs.length));
+                UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                        .withMaxNoHighlightPassages(0)
+                        .build();
+                Map<String, String[]> highlights = highlighter.highlightFields(new String[]{DESCRIPTION, NOTES}, query,
+                        new TopDocs(top.totalHits, page), new int[]{1, 3});
+
+                StoredFields storedFields = searcher.storedFields();
+                List<TicketSearchHit> hits = new ArrayList<>(page.length);
+                for (int i = 0; i < page.length; i++) {
+                    Document doc = storedFields.document(page[i].doc);
+                    String description = highlights.get(DESCRIPTION)[i];
+                    hits.add(new TicketSearchHit(
+                            longValue(doc, TICKET_ID),
+                            page[i].score,
+                            enumValue(doc, STATUS, TicketStatus.class),
+                            enumValue(doc, SEVERITY, TicketSeverity.class),
+                            enumValue(doc, PRIORITY, TicketPriority.class),
+                            longValue(doc, CATEGORY_ID),
+                            longValue(doc, ASSIGNED_TO),
+                            longValue(doc, CUSTOMER_ID),
+                            dateValue(doc, CREATED_AT),
+                            description != null ? description : doc.get(DESCRIPTION),
+                            highlights.get(NOTES)[i]));
+                }
+                return new TicketSearchResponse(hits, top.totalHits.value,
+                        top.totalHits.relation == TotalHits.Relation.EQUAL_TO,
+                        top.scoreDocs.length > offset + size);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search the ticket search index", e);
+        }
+    }
+
+    public static long epochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // Closing commits the documents and the feed position written since the last commit
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // The write lock is held until the writer closes, also against another instance on this host
+    private static IndexWriter openFreeSlot(Path indexDir, Analyzer analyzer) throws IOException {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Path slotDir = indexDir.resolve("slot-" + slot).toAbsolutePath();
+            Files.createDirectories(slotDir);
+            Directory directory = new MMapDirectory(slotDir);
+            try {
+                return new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                        .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            } catch (LockObtainFailedException e) {
+                directory.close();
+            }
+        }
+        throw new IllegalStateException("All " + SLOTS + " ticket search index slots under " + indexDir.toAbsolutePath()
+                + " are locked by other instances; give this one its own lumadesk.ticket-search.index-dir");
+    }
+
+    private static Document document(TicketSummary ticket, List<String> notes) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, ticket.getTicketId().toString(), Field.Store.NO));
+        doc.add(new StoredField(TICKET_ID, ticket.getTicketId()));
+        if (ticket.getIssueDescription() != null) {
+            doc.add(new Field(DESCRIPTION, ticket.getIssueDescription(), TEXT));
+        }
+        notes.forEach(note -> doc.add(new Field(NOTES, note, TEXT)));
+        addKeyword(doc, STATUS, ticket.getStatus());
+        addKeyword(doc, SEVERITY, ticket.getSeverity());
+        addKeyword(doc, PRIORITY, ticket.getPriority());
+        addLong(doc, CATEGORY_ID, ticket.getCategoryId());
+        addLong(doc, ASSIGNED_TO, ticket.getAssignedTo());
+        addLong(doc, CUSTOMER_ID, ticket.getCreatedFor());
+        addLong(doc, CREATED_AT, ticket.getCreatedAt() == null ? null : epochMillis(ticket.getCreatedAt()));
+        return doc;
+    }
+
+    private static void addKeyword(Document doc, String field, Enum<?> value) {
+        if (value != null) {
+            doc.add(new StringField(field, value.name(), Field.Store.YES));
+        }
+    }
+
+    private static void addLong(Document doc, String field, Long value) {
+        if (value != null) {
+            doc.add(new LongPoint(field, value));
+            doc.add(new StoredField(field, value));
+        }
+    }
+
+    private static Long longValue(Document doc, String field) {
+        IndexableField value = doc.getField(field);
+        return value == null ? null : value.numericValue().longValue();
+    }
+
+    private static LocalDateTime dateValue(Document doc, String field) {
+        Long millis = longValue(doc, field);
+        return millis == null ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static <E extends Enum<E>> E enumValue(Document doc, String field, Class<E> type) {
+        String value = doc.get(field);
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+}
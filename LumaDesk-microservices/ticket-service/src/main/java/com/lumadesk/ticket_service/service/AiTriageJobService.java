@@ -0,0 +1,9 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.entities.AiTriageJob;
+
+public interface AiTriageJobService {
+    AiTriageJob submit(Long ticketId);
+    void enqueueForNewTicket(Long ticketId);
+    AiTriageJob getJob(Long jobId);
+}
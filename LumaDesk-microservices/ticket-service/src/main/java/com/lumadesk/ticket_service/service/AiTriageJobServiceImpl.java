@@ -0,0 +1,81 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.entities.AiTriageJob;
+import com.lumadesk.ticket_service.entities.enums.AiTriageJobStatus;
+import com.lumadesk.ticket_service.exception.ResourceNotFoundException;
+import com.lumadesk.ticket_service.exception.TriageQueueFullException;
+import com.lumadesk.ticket_service.repository.AiTriageJobRepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Puts tickets on the persistent AI triage queue (QUEUED ai_triage_jobs rows) that
+ * AiTriageDispatcher drains. The queue is bounded: once max-backlog jobs are waiting, a
+ * request from a user is refused with 429 and a newly created ticket is simply left for
+ * manual triage, so a slow or unavailable model never holds up ticket creation.
+ */
+@Service
+@Slf4j
+public class AiTriageJobServiceImpl implements AiTriageJobService {
+
+    private final AiTriageJobRepository aiTriageJobRepository;
+    private final TicketRepository ticketRepository;
+    private final long maxBacklog;
+    private final Counter shed;
+
+    public AiTriageJobServiceImpl(AiTriageJobRepository aiTriageJobRepository,
+                                  TicketRepository ticketRepository,
+                                  @Value("${lumadesk.ai-triage.max-backlog:1000}") long maxBacklog,
+                                  MeterRegistry meterRegistry) {
+        this.aiTriageJobRepository = aiTriageJobRepository;
+        this.ticketRepository = ticketRepository;
+        this.maxBacklog = maxBacklog;
+        this.shed = meterRegistry.counter("ticket.ai.triage.shed");
+    }
+
+    @Override
+    public AiTriageJob submit(Long ticketId) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new ResourceNotFoundException(TicketServiceImpl.TKTNOTFOUND + ticketId);
+        }
+        if (isFull()) {
+            shed.increment();
+            throw new TriageQueueFullException("AI triage is busy, please retry shortly.");
+        }
+        return aiTriageJobRepository.save(newJob(ticketId, false));
+    }
+
+    // Joins the ticket creation transaction, so the job exists exactly when the ticket does
+    @Override
+    @Transactional
+    public void enqueueForNewTicket(Long ticketId) {
+        if (isFull()) {
+            shed.increment();
+            log.warn("AI triage queue is full, ticket {} is left for manual triage.", ticketId);
+            return;
+        }
+        aiTriageJobRepository.save(newJob(ticketId, true));
+    }
+
+    @Override
+    public AiTriageJob getJob(Long jobId) {
+        return aiTriageJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI triage job not found with ID: " + jobId));
+    }
+
+    private boolean isFull() {
+        return aiTriageJobRepository.countByStatus(AiTriageJobStatus.QUEUED) >= maxBacklog;
+    }
+
+    private static AiTriageJob newJob(Long ticketId, boolean automatic) {
+        AiTriageJob job = new AiTriageJob();
+        job.setTicketId(ticketId);
+        job.setAutomatic(automatic);
+        return job;
+    }
+}
@@ -1,8 +1,10 @@
 package com.lumadesk.ticket_service.service;
 
+import com.lumadesk.ticket_service.cache.ReferenceDataCache;
 import com.lumadesk.ticket_service.dto.IssueCategoryCreationRequest;
 import com.lumadesk.ticket_service.dto.IssueCategoryUpdationRequest;
 import com.lumadesk.ticket_service.entities.IssueCategory;
+import com.lumadesk.ticket_service.entities.enums.ReferenceDataType;
 import com.lumadesk.ticket_service.exception.ResourceNotFoundException;
 import com.lumadesk.ticket_service.repository.IssueCategoryRepository;
 import lombok.RequiredArgsConstructor;
@@ -16,12 +18,14 @@ import java.util.List;
 public class IssueCategoryServiceImpl implements IssueCategoryService {
 
     private final IssueCategoryRepository issueCategoryRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     @Transactional
     public IssueCategory createIssueCategory(IssueCategoryCreationRequest request) {
         IssueCategory newIssueCategory = new IssueCategory();
         newIssueCategory.setCategoryName(request.getCategoryName());
+        referenceDataCache.invalidate(ReferenceDataType.ISSUE_CATEGORY);
         return issueCategoryRepository.save(newIssueCategory);
     }
 
@@ -31,19 +35,20 @@ public class IssueCategoryServiceImpl implements IssueCategoryService {
         IssueCategory existingCategory = issueCategoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Issue Category not found with ID: " + request.getCategoryId()));
         existingCategory.setCategoryName(request.getCategoryName());
+        referenceDataCache.invalidate(ReferenceDataType.ISSUE_CATEGORY);
         return issueCategoryRepository.save(existingCategory);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<IssueCategory> getAllIssueCategories() {
-        return issueCategoryRepository.findAll();
+        return referenceDataCache.issueCategories();
     }
 
     @Override
     @Transactional(readOnly = true)
     public IssueCategory getIssueCategoryById(Long categoryId) {
-        return issueCategoryRepository.findById(categoryId)
+        return referenceDataCache.issueCategory(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Issue Category not found with ID: " + categoryId));
     }
 
@@ -54,5 +59,6 @@ public class IssueCategoryServiceImpl implements IssueCategoryService {
             throw new ResourceNotFoundException("Issue Category not found with ID: " + categoryId);
         }
         issueCategoryRepository.deleteById(categoryId);
+        referenceDataCache.invalidate(ReferenceDataType.ISSUE_CATEGORY);
     }
 }
@@ -0,0 +1,12 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.FeedbackCreationRequest;
+import com.lumadesk.ticket_service.dto.NotificationRequest;
+
+import java.util.Map;
+
+public interface OutboxService {
+    void enqueueNotification(Long ticketId, NotificationRequest request);
+    void enqueueNotifications(Map<Long, NotificationRequest> requestsByTicket);
+    void enqueuePendingFeedback(FeedbackCreationRequest request);
+}
@@ -0,0 +1,72 @@
+package com.lumadesk.ticket_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumadesk.ticket_service.dto.FeedbackCreationRequest;
+import com.lumadesk.ticket_service.dto.NotificationRequest;
+import com.lumadesk.ticket_service.entities.OutboxEvent;
+import com.lumadesk.ticket_service.entities.enums.OutboxEventType;
+import com.lumadesk.ticket_service.repository.OutboxEventRepository;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Joins the caller's transaction, so the message is stored only if the ticket change commits
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TicketJdbcRepository ticketJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void enqueueNotification(Long ticketId, NotificationRequest request) {
+        enqueue(ticketId, OutboxEventType.NOTIFICATION, request);
+    }
+
+    // One batched insert for a bulk operation
+    @Override
+    @Transactional
+    public void enqueueNotifications(Map<Long, NotificationRequest> requestsByTicket) {
+        List<OutboxEvent> events = new ArrayList<>(requestsByTicket.size());
+        requestsByTicket.forEach((ticketId, request) -> events.add(newEvent(ticketId, OutboxEventType.NOTIFICATION, request)));
+        ticketJdbcRepository.insertOutboxEvents(events);
+    }
+
+    @Override
+    @Transactional
+    public void enqueuePendingFeedback(FeedbackCreationRequest request) {
+        enqueue(request.getTicketId(), OutboxEventType.PENDING_FEEDBACK, request);
+    }
+
+    private void enqueue(Long ticketId, OutboxEventType type, Object body) {
+        outboxEventRepository.save(newEvent(ticketId, type, body));
+    }
+
+    private OutboxEvent newEvent(Long ticketId, OutboxEventType type, Object body) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateId(ticketId);
+        event.setEventType(type);
+        event.setPayload(toJson(body));
+        event.setNextAttemptAt(now);
+        event.setCreatedAt(now);
+        return event;
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise outbox payload", e);
+        }
+    }
+}
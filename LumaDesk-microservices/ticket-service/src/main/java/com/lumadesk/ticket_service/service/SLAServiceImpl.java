@@ -1,8 +1,10 @@
 package com.lumadesk.ticket_service.service;
 
+import com.lumadesk.ticket_service.cache.ReferenceDataCache;
 import com.lumadesk.ticket_service.dto.SLACreationRequest;
 import com.lumadesk.ticket_service.dto.SLAUpdationRequest;
 import com.lumadesk.ticket_service.entities.SLA;
+import com.lumadesk.ticket_service.entities.enums.ReferenceDataType;
 import com.lumadesk.ticket_service.exception.ResourceNotFoundException;
 import com.lumadesk.ticket_service.repository.SLARepository;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +18,7 @@ import java.util.List;
 public class SLAServiceImpl implements SLAService {
 
     private final SLARepository slaRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     @Transactional
@@ -24,6 +27,7 @@ public class SLAServiceImpl implements SLAService {
         sla.setSeverity(request.getSeverity());
         sla.setPriority(request.getPriority());
         sla.setTimeLimitHour(request.getTimeLimitHour());
+        referenceDataCache.invalidate(ReferenceDataType.SLA);
         return slaRepository.save(sla);
     }
 
@@ -36,19 +40,20 @@ public class SLAServiceImpl implements SLAService {
         existingSLA.setPriority(request.getPriority());
         existingSLA.setTimeLimitHour(request.getTimeLimitHour());
 
+        referenceDataCache.invalidate(ReferenceDataType.SLA);
         return slaRepository.save(existingSLA);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SLA> getAllSLAs() {
-        return slaRepository.findAll();
+        return referenceDataCache.slas();
     }
 
     @Override
     @Transactional(readOnly = true)
     public SLA getSLAById(Long slaId) {
-        return slaRepository.findById(slaId)
+        return referenceDataCache.sla(slaId)
                 .orElseThrow(() -> new ResourceNotFoundException("SLA not found with ID: " + slaId));
     }
 
@@ -59,5 +64,6 @@ public class SLAServiceImpl implements SLAService {
             throw new ResourceNotFoundException("SLA not found with ID: " + slaId);
         }
         slaRepository.deleteById(slaId);
+        referenceDataCache.invalidate(ReferenceDataType.SLA);
     }
 }
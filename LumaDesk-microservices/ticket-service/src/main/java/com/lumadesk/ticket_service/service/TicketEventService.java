@@ -0,0 +1,25 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.TicketChange;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TicketEventService {
+    Ticket record(Ticket ticket, TicketEventType type, Long actorId, TicketChange change);
+    List<Transition> recordAll(TicketEventType type, List<Transition> transitions);
+    List<TicketEvent> getHistory(Long ticketId);
+    List<TicketEvent> getFeed(long afterEventId, int limit);
+    List<TicketEvent> getEvents(Collection<Long> eventIds);
+    long getFeedPositionBefore(LocalDateTime time);
+    TicketChange rebuildState(Long ticketId);
+    TicketChange rebuildProjection(Long ticketId);
+
+    // One ticket's part of a bulk operation; recordAll writes the ticket row itself, so load it read-only
+    record Transition(Ticket ticket, Long actorId, TicketChange change) {
+    }
+}
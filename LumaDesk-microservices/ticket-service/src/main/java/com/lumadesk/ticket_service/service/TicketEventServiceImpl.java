@@ -0,0 +1,370 @@
+package com.lumadesk.ticket_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumadesk.ticket_service.cache.ReferenceDataCache;
+import com.lumadesk.ticket_service.dto.TicketChange;
+import com.lumadesk.ticket_service.entities.AssignmentLog;
+import com.lumadesk.ticket_service.entities.IssueCategory;
+import com.lumadesk.ticket_service.entities.SLA;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.TicketActionLog;
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import com.lumadesk.ticket_service.entities.TicketSnapshot;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.exception.ConcurrentTicketUpdateException;
+import com.lumadesk.ticket_service.exception.InvalidTransitionException;
+import com.lumadesk.ticket_service.exception.ResourceNotFoundException;
+import com.lumadesk.ticket_service.repository.AssignmentLogRepository;
+import com.lumadesk.ticket_service.repository.IssueCategoryRepository;
+import com.lumadesk.ticket_service.repository.SLARepository;
+import com.lumadesk.ticket_service.repository.TicketActionLogRepository;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository.TicketUpdate;
+import com.lumadesk.ticket_service.repository.TicketEventRepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.repository.TicketSnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only history of every ticket transition. record() appends one ticket_events row and
+ * applies it, in the caller's transaction, to the projections the rest of the service reads:
+ * the tickets row and the assignment and action logs. The transition must be allowed by
+ * TicketStateMachine, and the tickets row is written with a conditional UPDATE on the status
+ * and event version the ticket was loaded with, so callers load it read-only
+ * (TicketRepository.findForTransition) and a lost race surfaces as a 409. Every N events
+ * (lumadesk.ticket-events.snapshot-every) the folded state is written to ticket_snapshots, so
+ * rebuilding a ticket replays at most N events. A ticket older than the event store gets its current row as a version-0 baseline
+ * snapshot on its first event. The SLA monitor's own columns (slaBreached, slaAlertMask) are
+ * bookkeeping, not events, and are not replayed; its priority escalations are SLA_ESCALATED
+ * events. Those and TRIAGE_SUGGESTED set fields of a ticket without moving it through its
+ * lifecycle, so they are not checked against the state machine but are still written on the
+ * loaded status and version. The change feed is in eventId order, which is insertion order;
+ * readers that must not miss an event of a transaction committing late use TicketFeedCursor.
+ */
+@Service
+public class TicketEventServiceImpl implements TicketEventService {
+
+    private static final int MAX_FEED_PAGE = 1000;
+    private static final Set<TicketEventType> KEEP_STATUS = EnumSet.of(TicketEventType.TRIAGE_SUGGESTED,
+            TicketEventType.SLA_ESCALATED);
+
+    private final TicketEventRepository ticketEventRepository;
+    private final TicketSnapshotRepository ticketSnapshotRepository;
+    private final TicketRepository ticketRepository;
+    private final IssueCategoryRepository issueCategoryRepository;
+    private final SLARepository slaRepository;
+    private final AssignmentLogRepository assignmentLogRepository;
+    private final TicketActionLogRepository ticketActionLogRepository;
+    private final TicketJdbcRepository ticketJdbcRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+
+    public TicketEventServiceImpl(TicketEventRepository ticketEventRepository,
+                                  TicketSnapshotRepository ticketSnapshotRepository,
+                                  TicketRepository ticketRepository,
+                                  IssueCategoryRepository issueCategoryRepository,
+                                  SLARepository slaRepository,
+                                  AssignmentLogRepository assignmentLogRepository,
+                                  TicketActionLogRepository ticketActionLogRepository,
+                                  TicketJdbcRepository ticketJdbcRepository,
+                                  ReferenceDataCache referenceDataCache,
+                                  ObjectMapper objectMapper,
+                                  @Value("${lumadesk.ticket-events.snapshot-every:10}") int snapshotEvery) {
+        this.ticketEventRepository = ticketEventRepository;
+        this.ticketSnapshotRepository = ticketSnapshotRepository;
+        this.ticketRepository = ticketRepository;
+        this.issueCategoryRepository = issueCategoryRepository;
+        this.slaRepository = slaRepository;
+        this.assignmentLogRepository = assignmentLogRepository;
+        this.ticketActionLogRepository = ticketActionLogRepository;
+        this.ticketJdbcRepository = ticketJdbcRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    // Appends the event and projects it onto the ticket (a new Ticket for CREATED), returning the saved ticket
+    @Override
+    @Transactional
+    public Ticket record(Ticket ticket, TicketEventType type, Long actorId, TicketChange change) {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket savedTicket;
+        if (ticket.getTicketId() == null) {
+            project(ticket, change);
+            ticket.setEventVersion(1);
+            savedTicket = ticketRepository.save(ticket);
+        } else {
+            TicketStatus expectedStatus = ticket.getStatus();
+            int expectedVersion = ticket.getEventVersion();
+            requireTransition(ticket, type, change);
+            if (expectedVersion == 0) {
+                ticketSnapshotRepository.save(snapshotOf(ticket, now));
+            }
+            project(ticket, change);
+            ticket.setEventVersion(expectedVersion + 1);
+            ticket.setUpdatedAt(now);
+            if (!ticketJdbcRepository.updateTicketIf(new TicketUpdate(ticket, expectedStatus, expectedVersion))) {
+                throw new ConcurrentTicketUpdateException("Ticket " + ticket.getTicketId()
+                        + " was changed by another request; reload it and try again.");
+            }
+            savedTicket = ticket;
+        }
+        ticketEventRepository.save(eventOf(savedTicket, type, actorId, change, now));
+
+        Projections logs = new Projections();
+        logs.add(savedTicket, type, actorId, change, now);
+        assignmentLogRepository.saveAll(logs.assignments);
+        ticketActionLogRepository.saveAll(logs.actions);
+        if (savedTicket.getEventVersion() % snapshotEvery == 0) {
+            ticketSnapshotRepository.save(snapshotOf(savedTicket, now));
+        }
+        return savedTicket;
+    }
+
+    // Same as record() for many tickets, with every row written in JDBC batches. Returns the transitions that
+    // applied; a ticket changed by another request since it was loaded is left as it is.
+    @Override
+    @Transactional
+    public List<Transition> recordAll(TicketEventType type, List<Transition> transitions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TicketUpdate> updates = new ArrayList<>(transitions.size());
+        Map<Long, TicketSnapshot> baselines = new HashMap<>();
+        for (Transition transition : transitions) {
+            Ticket ticket = transition.ticket();
+            requireTransition(ticket, type, transition.change());
+            updates.add(new TicketUpdate(ticket, ticket.getStatus(), ticket.getEventVersion()));
+            if (ticket.getEventVersion() == 0) {
+                baselines.put(ticket.getTicketId(), snapshotOf(ticket, now));
+            }
+            project(ticket, transition.change());
+            ticket.setEventVersion(ticket.getEventVersion() + 1);
+            ticket.setUpdatedAt(now);
+        }
+        boolean[] updated = ticketJdbcRepository.updateTicketsIf(updates);
+
+        List<Transition> applied = new ArrayList<>(transitions.size());
+        Map<Long, TicketSnapshot> snapshots = new LinkedHashMap<>();
+        List<TicketEvent> events = new ArrayList<>(transitions.size());
+        Projections logs = new Projections();
+        for (int i = 0; i < transitions.size(); i++) {
+            if (!updated[i]) {
+                continue;
+            }
+            Transition transition = transitions.get(i);
+            Ticket ticket = transition.ticket();
+            applied.add(transition);
+            if (baselines.containsKey(ticket.getTicketId())) {
+                snapshots.put(ticket.getTicketId(), baselines.get(ticket.getTicketId()));
+            }
+            events.add(eventOf(ticket, type, transition.actorId(), transition.change(), now));
+            logs.add(ticket, type, transition.actorId(), transition.change(), now);
+            if (ticket.getEventVersion() % snapshotEvery == 0) {
+                snapshots.put(ticket.getTicketId(), snapshotOf(ticket, now));
+            }
+        }
+        ticketJdbcRepository.insertEvents(events);
+        ticketJdbcRepository.insertAssignmentLogs(logs.assignments);
+        ticketJdbcRepository.insertActionLogs(logs.actions);
+        if (!snapshots.isEmpty()) {
+            ticketSnapshotRepository.deleteByTicketIds(snapshots.keySet());
+            ticketJdbcRepository.insertSnapshots(new ArrayList<>(snapshots.values()));
+        }
+        return applied;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketEvent> getHistory(Long ticketId) {
+        return ticketEventRepository.findByTicketIdAndVersionGreaterThanOrderByVersionAsc(ticketId, 0);
+    }
+
+    // Committed events in eventId order; a transaction still open can commit smaller ids later
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketEvent> getFeed(long afterEventId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_FEED_PAGE));
+        return ticketEventRepository.findFeed(afterEventId, PageRequest.of(0, pageSize));
+    }
+
+    // The committed ones among the given events, for a feed reader looking up the ids it passed
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketEvent> getEvents(Collection<Long> eventIds) {
+        return ticketEventRepository.findAllById(eventIds);
+    }
+
+    // Feed position a new reader can start after once it has read the current ticket rows: it sees every event
+    // of a transaction opened since the given time
+    @Override
+    @Transactional(readOnly = true)
+    public long getFeedPositionBefore(LocalDateTime time) {
+        return ticketEventRepository.findLastEventIdBefore(time);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketChange rebuildState(Long ticketId) {
+        return replay(ticketId).state();
+    }
+
+    // Overwrites the ticket row with the state replayed from its snapshot and events
+    @Override
+    @Transactional
+    public TicketChange rebuildProjection(Long ticketId) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found with ID: " + ticketId));
+        Replay replay = replay(ticketId);
+        project(ticket, replay.state());
+        ticket.setEventVersion(replay.version());
+        ticketRepository.save(ticket);
+        return replay.state();
+    }
+
+    private Replay replay(Long ticketId) {
+        TicketSnapshot snapshot = ticketSnapshotRepository.findById(ticketId).orElse(null);
+        TicketChange state = snapshot == null ? new TicketChange() : read(snapshot.getState());
+        int version = snapshot == null ? 0 : snapshot.getVersion();
+        List<TicketEvent> events = ticketEventRepository.findByTicketIdAndVersionGreaterThanOrderByVersionAsc(ticketId, version);
+        if (snapshot == null && events.isEmpty()) {
+            throw new ResourceNotFoundException("No events recorded for ticket: " + ticketId);
+        }
+        for (TicketEvent event : events) {
+            state.apply(read(event.getPayload()));
+            version = event.getVersion();
+        }
+        return new Replay(state, version);
+    }
+
+    private static void requireTransition(Ticket ticket, TicketEventType type, TicketChange change) {
+        if (KEEP_STATUS.contains(type) && change.getStatus() == null) {
+            return;
+        }
+        TicketStatus to = change.getStatus() == null ? ticket.getStatus() : change.getStatus();
+        if (!TicketStateMachine.canMove(ticket.getStatus(), to)) {
+            throw new InvalidTransitionException("Cannot move ticket " + ticket.getTicketId()
+                    + " from " + ticket.getStatus() + " to " + to + ".");
+        }
+    }
+
+    private void project(Ticket ticket, TicketChange change) {
+        if (change.getCreatedBy() != null) ticket.setCreatedBy(change.getCreatedBy());
+        if (change.getCreatedFor() != null) ticket.setCreatedFor(change.getCreatedFor());
+        if (change.getIssueCategoryId() != null) ticket.setIssueCategory(issueCategory(change.getIssueCategoryId()));
+        if (change.getIssueDescription() != null) ticket.setIssueDescription(change.getIssueDescription());
+        if (change.getStatus() != null) ticket.setStatus(change.getStatus());
+        if (change.getSeverity() != null) ticket.setSeverity(change.getSeverity());
+        if (change.getPriority() != null) ticket.setPriority(change.getPriority());
+        if (change.getSlaId() != null) ticket.setSla(sla(change.getSlaId()));
+        if (change.getSlaDeadline() != null) ticket.setSlaDeadline(change.getSlaDeadline());
+        if (change.getAssignedTo() != null) ticket.setAssignedTo(change.getAssignedTo());
+    }
+
+    // The ticket is returned to clients after the transaction, so it gets loaded rows rather than lazy references.
+    // A row the local cache does not know yet (created on another replica moments ago) is read directly.
+    private IssueCategory issueCategory(Long categoryId) {
+        return referenceDataCache.issueCategory(categoryId)
+                .or(() -> issueCategoryRepository.findById(categoryId))
+                .orElseThrow(() -> new ResourceNotFoundException("Issue Category not found with ID: " + categoryId));
+    }
+
+    private SLA sla(Long slaId) {
+        return referenceDataCache.sla(slaId)
+                .or(() -> slaRepository.findById(slaId))
+                .orElseThrow(() -> new ResourceNotFoundException("SLA not found with ID: " + slaId));
+    }
+
+    private TicketEvent eventOf(Ticket ticket, TicketEventType type, Long actorId, TicketChange change, LocalDateTime now) {
+        TicketEvent event = new TicketEvent();
+        event.setTicketId(ticket.getTicketId());
+        event.setVersion(ticket.getEventVersion());
+        event.setEventType(type);
+        event.setActorId(actorId);
+        event.setPayload(write(change));
+        event.setOccurredAt(now);
+        return event;
+    }
+
+    private TicketSnapshot snapshotOf(Ticket ticket, LocalDateTime now) {
+        TicketSnapshot snapshot = new TicketSnapshot();
+        snapshot.setTicketId(ticket.getTicketId());
+        snapshot.setVersion(ticket.getEventVersion());
+        snapshot.setState(write(TicketChange.stateOf(ticket)));
+        snapshot.setTakenAt(now);
+        return snapshot;
+    }
+
+    private String write(TicketChange change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise ticket event", e);
+        }
+    }
+
+    private TicketChange read(String json) {
+        try {
+            return objectMapper.readValue(json, TicketChange.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable ticket event payload", e);
+        }
+    }
+
+    private record Replay(TicketChange state, int version) {
+    }
+
+    // Log rows for a set of events; the log tables keep the shape their endpoints have always returned
+    private static class Projections {
+        private final List<AssignmentLog> assignments = new ArrayList<>();
+        private final List<TicketActionLog> actions = new ArrayList<>();
+
+        void add(Ticket ticket, TicketEventType type, Long actorId, TicketChange change, LocalDateTime now) {
+            switch (type) {
+                case TRIAGED -> assignments.add(assignment(ticket, actorId, now));
+                case REASSIGNED, REOPENED -> {
+                    assignments.add(assignment(ticket, actorId, now));
+                    actions.add(action(ticket, actorId, change, now));
+                }
+                case OPENED, RESOLVED, HELD, CLOSED -> actions.add(action(ticket, actorId, change, now));
+                case CREATED, STATUS_CHANGED, TRIAGE_SUGGESTED, SLA_ESCALATED -> {
+                    // never logged
+                }
+            }
+        }
+
+        private static AssignmentLog assignment(Ticket ticket, Long assignedBy, LocalDateTime now) {
+            AssignmentLog assignmentLog = new AssignmentLog();
+            assignmentLog.setTicket(ticket);
+            assignmentLog.setAssignedTo(ticket.getAssignedTo());
+            assignmentLog.setAssignedBy(assignedBy);
+            assignmentLog.setAssignedAt(now);
+            return assignmentLog;
+        }
+
+        private static TicketActionLog action(Ticket ticket, Long updatedBy, TicketChange change, LocalDateTime now) {
+            TicketActionLog actionLog = new TicketActionLog();
+            actionLog.setTicket(ticket);
+            actionLog.setUpdatedBy(updatedBy);
+            actionLog.setStatus(ticket.getStatus()); // Status at the time of action
+            actionLog.setActionNote(change.getActionNote());
+            actionLog.setAttachmentUrl(change.getAttachmentUrl());
+            actionLog.setActionTime(now);
+            return actionLog;
+        }
+    }
+}
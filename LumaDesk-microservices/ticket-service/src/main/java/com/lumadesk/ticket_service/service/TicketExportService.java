@@ -0,0 +1,12 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.ExportFormat;
+import com.lumadesk.ticket_service.dto.TicketSearchCriteria;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TicketExportService {
+
+    void exportTickets(TicketSearchCriteria criteria, ExportFormat format, OutputStream out) throws IOException;
+}
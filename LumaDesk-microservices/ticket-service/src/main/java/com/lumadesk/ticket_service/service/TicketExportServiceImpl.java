@@ -0,0 +1,100 @@
+package com.lumadesk.ticket_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumadesk.ticket_service.dto.ExportFormat;
+import com.lumadesk.ticket_service.dto.TicketSearchCriteria;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TicketExportServiceImpl implements TicketExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final String CSV_HEADER = "ticketId,createdBy,createdFor,issueCategory,issueDescription,status," +
+            "severity,priority,slaTimeLimitHour,assignedTo,slaBreached,createdAt,updatedAt";
+
+    private final TicketRepository ticketRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // Rows are read through a forward-only cursor and detached as soon as they are written,
+    // so neither the persistence context nor the response buffer grows with the export size.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTickets(TicketSearchCriteria criteria, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<Ticket> tickets = ticketRepository.streamForExport(
+                criteria.getStatus(),
+                criteria.getPriority(),
+                criteria.getSeverity(),
+                criteria.getCategoryId(),
+                criteria.getAssignedTo(),
+                criteria.getCreatedFrom(),
+                criteria.getCreatedTo())) {
+            Iterator<Ticket> iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsvRow(ticket) : objectMapper.writeValueAsString(ticket));
+                writer.write('\n');
+                entityManager.detach(ticket);
+                if (++rows % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} tickets as {}", rows, format);
+    }
+
+    private String toCsvRow(Ticket ticket) {
+        return String.join(",",
+                csv(ticket.getTicketId()),
+                csv(ticket.getCreatedBy()),
+                csv(ticket.getCreatedFor()),
+                csv(ticket.getIssueCategory() == null ? null : ticket.getIssueCategory().getCategoryName()),
+                csv(ticket.getIssueDescription()),
+                csv(ticket.getStatus()),
+                csv(ticket.getSeverity()),
+                csv(ticket.getPriority()),
+                csv(ticket.getSla() == null ? null : ticket.getSla().getTimeLimitHour()),
+                csv(ticket.getAssignedTo()),
+                csv(ticket.isSlaBreached()),
+                csv(ticket.getCreatedAt()),
+                csv(ticket.getUpdatedAt()));
+    }
+
+    // RFC 4180 quoting: wrap in quotes when the value holds a delimiter, quote or line break
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
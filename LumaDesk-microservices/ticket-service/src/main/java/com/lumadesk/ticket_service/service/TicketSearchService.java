@@ -0,0 +1,8 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.TicketSearchResponse;
+import com.lumadesk.ticket_service.dto.TicketTextSearchCriteria;
+
+public interface TicketSearchService {
+    TicketSearchResponse search(TicketTextSearchCriteria criteria);
+}
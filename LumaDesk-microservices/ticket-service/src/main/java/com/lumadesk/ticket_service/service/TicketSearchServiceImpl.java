@@ -0,0 +1,66 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.TicketSearchResponse;
+import com.lumadesk.ticket_service.dto.TicketTextSearchCriteria;
+import com.lumadesk.ticket_service.search.TicketSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class TicketSearchServiceImpl implements TicketSearchService {
+
+    // A word in the description weighs twice as much as the same word in an action note
+    private static final Map<String, Float> FIELD_WEIGHTS =
+            Map.of(TicketSearchIndex.DESCRIPTION, 2f, TicketSearchIndex.NOTES, 1f);
+
+    private final TicketSearchIndex ticketSearchIndex;
+
+    @Override
+    public TicketSearchResponse search(TicketTextSearchCriteria criteria) {
+        // SimpleQueryParser never throws on user input; every word must match somewhere in the ticket
+        SimpleQueryParser parser = new SimpleQueryParser(ticketSearchIndex.analyzer(), FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query text = parser.parse(criteria.getQ());
+        if (text == null) {
+            return new TicketSearchResponse(List.of(), 0, true, false); // nothing but stop words
+        }
+
+        // Filters restrict the matches without affecting their score
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(text, BooleanClause.Occur.MUST);
+        filterKeyword(query, TicketSearchIndex.STATUS, criteria.getStatus());
+        filterKeyword(query, TicketSearchIndex.PRIORITY, criteria.getPriority());
+        filterKeyword(query, TicketSearchIndex.SEVERITY, criteria.getSeverity());
+        filterLong(query, TicketSearchIndex.CATEGORY_ID, criteria.getCategoryId());
+        filterLong(query, TicketSearchIndex.ASSIGNED_TO, criteria.getAssignedTo());
+        filterLong(query, TicketSearchIndex.CUSTOMER_ID, criteria.getCustomerId());
+        if (criteria.getCreatedFrom() != null || criteria.getCreatedTo() != null) {
+            long from = criteria.getCreatedFrom() == null ? Long.MIN_VALUE : TicketSearchIndex.epochMillis(criteria.getCreatedFrom());
+            long to = criteria.getCreatedTo() == null ? Long.MAX_VALUE : TicketSearchIndex.epochMillis(criteria.getCreatedTo()) - 1;
+            query.add(LongPoint.newRangeQuery(TicketSearchIndex.CREATED_AT, from, to), BooleanClause.Occur.FILTER);
+        }
+        return ticketSearchIndex.search(query.build(), criteria.getPage() * criteria.getSize(), criteria.getSize());
+    }
+
+    private static void filterKeyword(BooleanQuery.Builder query, String field, Enum<?> value) {
+        if (value != null) {
+            query.add(new TermQuery(new Term(field, value.name())), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private static void filterLong(BooleanQuery.Builder query, String field, Long value) {
+        if (value != null) {
+            query.add(LongPoint.newExactQuery(field, value), BooleanClause.Occur.FILTER);
+        }
+    }
+}
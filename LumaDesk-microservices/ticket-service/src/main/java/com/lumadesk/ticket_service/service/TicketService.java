@@ -7,7 +7,7 @@ import java.util.List;
 public interface TicketService {
     Ticket createTicketByCustomer(CustTicketCreationRequest request);
     Ticket createTicketByAgent(AgentTicketCreationRequest request);
-    List<Ticket> getTicketsByCustomerId(Long custId);
+    List<TicketSummary> getTicketsByCustomerId(Long custId);
     String updateTicketStatus(UpdateStatusRequest request);
     Ticket triageAndAssignEngineer(TriageAssignTicketRequest request);
     Ticket reassignTicket(ReassignTicketRequest request);
@@ -15,9 +15,14 @@ public interface TicketService {
     Ticket resolveTicket(ResolveTicketRequest request);
     Ticket holdTicket(HoldTicketRequest request);
     Ticket closeTicket(CloseTicketRequest request);
-    List<Ticket> getNewTickets();
-    List<Ticket> getTicketsByAssignedTo(Long engineerId);
+    List<TicketSummary> getNewTickets();
+    List<TicketSummary> getTicketsByAssignedTo(Long engineerId);
     Ticket reopenTicket(ReopenTicketRequest request);
-    Ticket triageTicketWithAI(Long ticketId);
-    List<Ticket> getAllTickets();
+    List<TicketSummary> getAllTickets();
+    TicketPageResponse getTicketsPage(TicketSearchCriteria criteria);
+    BulkTicketResponse bulkUpdateTicketStatus(List<UpdateStatusRequest> requests);
+    BulkTicketResponse bulkTriageAndAssign(List<TriageAssignTicketRequest> requests);
+    BulkTicketResponse bulkReassign(List<ReassignTicketRequest> requests);
+    BulkTicketResponse bulkHold(List<HoldTicketRequest> requests);
+    BulkTicketResponse bulkResolve(List<ResolveTicketRequest> requests);
 }
@@ -1,25 +1,36 @@
 package com.lumadesk.ticket_service.service;
 
-import com.lumadesk.ticket_service.client.AiAgentServiceClient;
-import com.lumadesk.ticket_service.client.FeedbackServiceClient;
-import com.lumadesk.ticket_service.client.NotificationServiceClient;
+import com.lumadesk.ticket_service.cache.ReferenceDataCache;
 import com.lumadesk.ticket_service.dto.*;
 import com.lumadesk.ticket_service.entities.AssignmentLog;
+import com.lumadesk.ticket_service.entities.IssueCategory;
+import com.lumadesk.ticket_service.entities.SLA;
 import com.lumadesk.ticket_service.entities.Ticket;
-import com.lumadesk.ticket_service.entities.TicketActionLog;
-import com.lumadesk.ticket_service.entities.enums.TicketPriority;
-import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
 import com.lumadesk.ticket_service.entities.enums.TicketStatus;
 import com.lumadesk.ticket_service.exception.ResourceNotFoundException;
 import com.lumadesk.ticket_service.repository.AssignmentLogRepository;
 import com.lumadesk.ticket_service.repository.IssueCategoryRepository;
-import com.lumadesk.ticket_service.repository.TicketActionLogRepository;
+import com.lumadesk.ticket_service.repository.SLARepository;
 import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.scheduler.SlaDeadlineTracker;
+import com.lumadesk.ticket_service.service.TicketEventService.Transition;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,11 +38,13 @@ public class TicketServiceImpl implements TicketService {
 
     private final TicketRepository ticketRepository;
     private final IssueCategoryRepository issueCategoryRepository;
+    private final SLARepository slaRepository;
     private final AssignmentLogRepository assignmentLogRepository;
-    private final TicketActionLogRepository ticketActionLogRepository;
-    private final FeedbackServiceClient feedbackServiceClient;
-    private final NotificationServiceClient notificationServiceClient;
-    private final AiAgentServiceClient aiAgentServiceClient;
+    private final TicketEventService ticketEventService;
+    private final OutboxService outboxService;
+    private final AiTriageJobService aiTriageJobService;
+    private final SlaDeadlineTracker slaDeadlineTracker;
+    private final ReferenceDataCache referenceDataCache;
     
     public static final String SYSTEM="System"; 
     
@@ -40,115 +53,95 @@ public class TicketServiceImpl implements TicketService {
     @Override
     @Transactional
     public Ticket createTicketByCustomer(CustTicketCreationRequest request) {
-        Ticket ticket = new Ticket();
-        ticket.setCreatedBy(request.getCustomerUserId());
-        ticket.setCreatedFor(request.getCustomerUserId()); // Customer creates for themselves
-        ticket.setIssueCategory(request.getIssueCategory());
-        ticket.setIssueDescription(request.getIssueDescription());
-        ticket.setStatus(TicketStatus.NEW); // Default status
-        Ticket savedTicket = ticketRepository.save(ticket);
+        TicketChange change = new TicketChange();
+        change.setCreatedBy(request.getCustomerUserId());
+        change.setCreatedFor(request.getCustomerUserId()); // Customer creates for themselves
+        change.setIssueCategoryId(categoryIdOf(request.getIssueCategory()));
+        change.setIssueDescription(request.getIssueDescription());
+        change.setStatus(TicketStatus.NEW); // Default status
+        Ticket savedTicket = ticketEventService.record(new Ticket(), TicketEventType.CREATED, request.getCustomerUserId(), change);
 
         // Send notification
-        notificationServiceClient.sendNotification(new NotificationRequest(
+        outboxService.enqueueNotification(savedTicket.getTicketId(), new NotificationRequest(
                 String.valueOf(savedTicket.getCreatedFor()),
                 SYSTEM,
                 "Ticket Created: " + savedTicket.getTicketId(),
                 "Your ticket has been created successfully"
         ));
 
+        aiTriageJobService.enqueueForNewTicket(savedTicket.getTicketId()); // suggestion ready before triage
+
         return savedTicket;
     }
 
     @Override
     @Transactional
     public Ticket createTicketByAgent(AgentTicketCreationRequest request) {
-        Ticket ticket = new Ticket();
-        ticket.setCreatedBy(request.getAgentUserId());
-        ticket.setCreatedFor(request.getCustomerUserId()); // Agent creates for a customer
-        ticket.setIssueCategory(request.getIssueCategory());
-        ticket.setIssueDescription(request.getIssueDescription());
-        ticket.setStatus(TicketStatus.NEW);
-        Ticket savedTicket = ticketRepository.save(ticket);
+        TicketChange change = new TicketChange();
+        change.setCreatedBy(request.getAgentUserId());
+        change.setCreatedFor(request.getCustomerUserId()); // Agent creates for a customer
+        change.setIssueCategoryId(categoryIdOf(request.getIssueCategory()));
+        change.setIssueDescription(request.getIssueDescription());
+        change.setStatus(TicketStatus.NEW);
+        Ticket savedTicket = ticketEventService.record(new Ticket(), TicketEventType.CREATED, request.getAgentUserId(), change);
 
         // Send notification
-        notificationServiceClient.sendNotification(new NotificationRequest(
+        outboxService.enqueueNotification(savedTicket.getTicketId(), new NotificationRequest(
                 String.valueOf(savedTicket.getCreatedFor()),
                 SYSTEM,
                 "Ticket Created: " + savedTicket.getTicketId(),
                 "A ticket has been created for you by a support agent."
         ));
 
+        aiTriageJobService.enqueueForNewTicket(savedTicket.getTicketId()); // suggestion ready before triage
+
         return savedTicket;
     }
 
     @Override
-    @Transactional
-    public List<Ticket> getTicketsByCustomerId(Long custId){
-        return ticketRepository.findAllByCreatedFor(custId);
+    @Transactional(readOnly = true)
+    public List<TicketSummary> getTicketsByCustomerId(Long custId){
+        return referenceDataCache.describe(ticketRepository.findSummariesByCreatedFor(custId));
     }
 
     @Override
     @Transactional
     public String updateTicketStatus(UpdateStatusRequest request){
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
-        ticket.setStatus(request.getStatus());
-        ticketRepository.save(ticket);
+        ticketEventService.record(ticket, TicketEventType.STATUS_CHANGED, null, TicketChange.ofStatus(request.getStatus()));
+        slaDeadlineTracker.refresh(ticket);
         return "Status changed successfully";
     }
 
     @Override
     @Transactional
     public Ticket triageAndAssignEngineer(TriageAssignTicketRequest request) {
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + request.getTicketId()));
-        ticket.setSla(request.getSla());
-        ticket.setPriority(request.getPriority());
-        ticket.setSeverity(request.getSeverity());
-        ticket.setAssignedTo(request.getAssignedTo());
-        ticket.setStatus(TicketStatus.ASSIGNED);
-        Ticket updatedTicket = ticketRepository.save(ticket);
-        AssignmentLog log = new AssignmentLog();
-        log.setTicket(updatedTicket);
-        log.setAssignedTo(request.getAssignedTo());
-        log.setAssignedBy(request.getAssignedBy());
-        assignmentLogRepository.save(log);
+        SLA sla = slaRepository.findById(request.getSla().getSlaId())
+                .orElseThrow(() -> new ResourceNotFoundException("SLA not found with ID: " + request.getSla().getSlaId()));
+        resetSlaAlerts(List.of(ticket));
+        Ticket updatedTicket = ticketEventService.record(ticket, TicketEventType.TRIAGED, request.getAssignedBy(),
+                triageChange(ticket, sla, request));
+        slaDeadlineTracker.refresh(updatedTicket);
 
         // Send notification
-        notificationServiceClient.sendNotification(new NotificationRequest(
-                String.valueOf(updatedTicket.getAssignedTo()),
-                SYSTEM,
-                "New Ticket Assigned: " + updatedTicket.getTicketId(),
-                "You have been assigned a new ticket."
-        ));
+        outboxService.enqueueNotification(updatedTicket.getTicketId(), assignedNotification(updatedTicket));
         return updatedTicket;
     }
 
     @Override
     @Transactional
     public Ticket reassignTicket(ReassignTicketRequest request) {
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + request.getTicketId()));
 
-        Long oldAssignee = ticket.getAssignedTo();
-        ticket.setAssignedTo(request.getNewAssignedToId());
-        // The status remains ASSIGNED
-        Ticket updatedTicket = ticketRepository.save(ticket);
-
-        // Create an AssignmentLog for the new assignment
-        AssignmentLog assignmentLog = new AssignmentLog();
-        assignmentLog.setTicket(updatedTicket);
-        assignmentLog.setAssignedTo(request.getNewAssignedToId());
-        assignmentLog.setAssignedBy(request.getReassignedById());
-        assignmentLogRepository.save(assignmentLog);
-
-        // Create a TicketActionLog to record the reassignment action
-        TicketActionLog actionLog = new TicketActionLog();
-        actionLog.setTicket(updatedTicket);
-        actionLog.setUpdatedBy(request.getReassignedById());
-        actionLog.setStatus(ticket.getStatus()); // Status at the time of action
-        actionLog.setActionNote("Ticket reassigned from user " + oldAssignee + " to user " + request.getNewAssignedToId());
-        ticketActionLogRepository.save(actionLog);
+        // The status remains ASSIGNED; the event logs both the new assignment and the reassignment action
+        TicketChange change = reassignChange(ticket, request);
+        resetSlaAlerts(List.of(ticket)); // the new engineer gets every warning again
+        Ticket updatedTicket = ticketEventService.record(ticket, TicketEventType.REASSIGNED, request.getReassignedById(), change);
+        slaDeadlineTracker.refresh(updatedTicket);
 
         return updatedTicket;
     }
@@ -156,21 +149,15 @@ public class TicketServiceImpl implements TicketService {
     @Override
     @Transactional
     public Ticket openTicket(OpenTicketRequest request) {
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + request.getTicketId()));
 
-        ticket.setStatus(TicketStatus.IN_PROGRESS);
-        Ticket updatedTicket = ticketRepository.save(ticket);
-
-        TicketActionLog actionLog = new TicketActionLog();
-        actionLog.setTicket(updatedTicket);
-        actionLog.setUpdatedBy(request.getEngineerId());
-        actionLog.setStatus(TicketStatus.IN_PROGRESS);
-        actionLog.setActionNote("Ticket opened by engineer.");
-        ticketActionLogRepository.save(actionLog);
+        TicketChange change = TicketChange.ofStatus(TicketStatus.IN_PROGRESS);
+        change.setActionNote("Ticket opened by engineer.");
+        Ticket updatedTicket = ticketEventService.record(ticket, TicketEventType.OPENED, request.getEngineerId(), change);
 
         // Send notification
-        notificationServiceClient.sendNotification(new NotificationRequest(
+        outboxService.enqueueNotification(updatedTicket.getTicketId(), new NotificationRequest(
                 String.valueOf(updatedTicket.getCreatedFor()),
                 SYSTEM,
                 "Ticket In Progress: " + updatedTicket.getTicketId(),
@@ -183,27 +170,14 @@ public class TicketServiceImpl implements TicketService {
     @Override
     @Transactional
     public Ticket resolveTicket(ResolveTicketRequest request) {
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + request.getTicketId()));
 
-        ticket.setStatus(TicketStatus.RESOLVED);
-        Ticket updatedTicket = ticketRepository.save(ticket);
-
-        TicketActionLog actionLog = new TicketActionLog();
-        actionLog.setTicket(updatedTicket);
-        actionLog.setUpdatedBy(request.getEngineerId());
-        actionLog.setStatus(TicketStatus.RESOLVED);
-        actionLog.setActionNote(request.getActionNote());
-        actionLog.setAttachmentUrl(request.getAttachmentUrl());
-        ticketActionLogRepository.save(actionLog);
+        Ticket updatedTicket = ticketEventService.record(ticket, TicketEventType.RESOLVED, request.getEngineerId(), resolveChange(request));
+        slaDeadlineTracker.untrack(updatedTicket.getTicketId());
 
         // Send notification
-        notificationServiceClient.sendNotification(new NotificationRequest(
-                String.valueOf(updatedTicket.getCreatedFor()),
-                SYSTEM,
-                "Ticket Resolved: " + updatedTicket.getTicketId(),
-                "Your ticket has been resolved. Please confirm the resolution."
-        ));
+        outboxService.enqueueNotification(updatedTicket.getTicketId(), resolvedNotification(updatedTicket));
 
         return updatedTicket;
     }
@@ -211,26 +185,14 @@ public class TicketServiceImpl implements TicketService {
     @Override
     @Transactional
     public Ticket holdTicket(HoldTicketRequest request) {
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + request.getTicketId()));
 
-        ticket.setStatus(TicketStatus.ON_HOLD);
-        Ticket updatedTicket = ticketRepository.save(ticket);
-
-        TicketActionLog actionLog = new TicketActionLog();
-        actionLog.setTicket(updatedTicket);
-        actionLog.setUpdatedBy(request.getEngineerId());
-        actionLog.setStatus(TicketStatus.ON_HOLD);
-        actionLog.setActionNote(request.getActionNote());
-        ticketActionLogRepository.save(actionLog);
+        Ticket updatedTicket = ticketEventService.record(ticket, TicketEventType.HELD, request.getEngineerId(), holdChange(request));
+        slaDeadlineTracker.refresh(updatedTicket); // the SLA clock keeps running while on hold
 
         // Send notification
-        notificationServiceClient.sendNotification(new NotificationRequest(
-                String.valueOf(updatedTicket.getCreatedFor()),
-                SYSTEM,
-                "Ticket Closed: " + updatedTicket.getTicketId(),
-                "Your ticket has been put ONHOLD"
-        ));
+        outboxService.enqueueNotification(updatedTicket.getTicketId(), heldNotification(updatedTicket));
 
         return updatedTicket;
     }
@@ -238,29 +200,20 @@ public class TicketServiceImpl implements TicketService {
     @Override
     @Transactional
     public Ticket closeTicket(CloseTicketRequest request) {
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + request.getTicketId()));
 
-        // Business logic: Only a resolved ticket can be closed
-        if (ticket.getStatus() != TicketStatus.RESOLVED) {
-            throw new IllegalStateException("Only a resolved ticket can be closed.");
-        }
-
-        ticket.setStatus(TicketStatus.CLOSED);
-        Ticket updatedTicket = ticketRepository.save(ticket);
+        // Only a resolved ticket can be closed; TicketStateMachine rejects the rest
+        TicketChange change = TicketChange.ofStatus(TicketStatus.CLOSED);
+        change.setActionNote("Ticket closed by customer.");
+        Ticket updatedTicket = ticketEventService.record(ticket, TicketEventType.CLOSED, request.getCustomerId(), change);
+        slaDeadlineTracker.untrack(updatedTicket.getTicketId());
 
-        TicketActionLog actionLog = new TicketActionLog();
-        actionLog.setTicket(updatedTicket);
-        actionLog.setUpdatedBy(request.getCustomerId());
-        actionLog.setStatus(TicketStatus.CLOSED);
-        actionLog.setActionNote("Ticket closed by customer.");
-        ticketActionLogRepository.save(actionLog);
-
-        // Delegate the WebClient call to the dedicated client
-        feedbackServiceClient.createPendingFeedback(new FeedbackCreationRequest(ticket.getTicketId(), ticket.getCreatedFor()));
+        // Ask feedback-service for a pending feedback once the close has committed
+        outboxService.enqueuePendingFeedback(new FeedbackCreationRequest(ticket.getTicketId(), ticket.getCreatedFor()));
 
         // Send notification
-        notificationServiceClient.sendNotification(new NotificationRequest(
+        outboxService.enqueueNotification(updatedTicket.getTicketId(), new NotificationRequest(
                 String.valueOf(updatedTicket.getCreatedFor()),
                 SYSTEM,
                 "Ticket Closed: " + updatedTicket.getTicketId(),
@@ -272,46 +225,35 @@ public class TicketServiceImpl implements TicketService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Ticket> getNewTickets() {
-        return ticketRepository.findAllByStatus(TicketStatus.NEW);
+    public List<TicketSummary> getNewTickets() {
+        return referenceDataCache.describe(ticketRepository.findSummariesByStatus(TicketStatus.NEW));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Ticket> getTicketsByAssignedTo(Long engineerId) {
-        return ticketRepository.findAllByAssignedTo(engineerId);
+    public List<TicketSummary> getTicketsByAssignedTo(Long engineerId) {
+        return referenceDataCache.describe(ticketRepository.findSummariesByAssignedTo(engineerId));
     }
 
     @Override
     @Transactional
     public Ticket reopenTicket(ReopenTicketRequest request) {
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.findForTransition(request.getTicketId())
                 .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + request.getTicketId()));
 
         // Find the last person the ticket was assigned to
         AssignmentLog lastAssignment = assignmentLogRepository.findTopByTicketOrderByAssignedAtDesc(ticket)
                 .orElseThrow(() -> new IllegalStateException("Cannot reopen ticket: No previous assignment found."));
 
-        ticket.setStatus(TicketStatus.REOPENED);
-        ticket.setAssignedTo(lastAssignment.getAssignedTo()); // Re-assign to the last engineer
-        Ticket updatedTicket = ticketRepository.save(ticket);
-
-        // Create a new AssignmentLog for the re-assignment
-        AssignmentLog newAssignmentLog = new AssignmentLog();
-        newAssignmentLog.setTicket(updatedTicket);
-        newAssignmentLog.setAssignedTo(lastAssignment.getAssignedTo());
-        newAssignmentLog.setAssignedBy(request.getCustomerId()); // The customer is implicitly the one re-opening
-        assignmentLogRepository.save(newAssignmentLog);
-
-        // Create a TicketActionLog to record the reopen action
-        TicketActionLog actionLog = new TicketActionLog();
-        actionLog.setTicket(updatedTicket);
-        actionLog.setUpdatedBy(request.getCustomerId());
-        actionLog.setStatus(TicketStatus.REOPENED);
-        actionLog.setActionNote("Ticket automatically reopened due to low feedback rating.");
-        ticketActionLogRepository.save(actionLog);
-
-        notificationServiceClient.sendNotification(new NotificationRequest(
+        TicketChange change = TicketChange.ofStatus(TicketStatus.REOPENED);
+        change.setAssignedTo(lastAssignment.getAssignedTo()); // Re-assign to the last engineer
+        change.setActionNote("Ticket automatically reopened due to low feedback rating.");
+        resetSlaAlerts(List.of(ticket));
+        // The customer is implicitly the one re-opening; the event logs the re-assignment and the reopen action
+        Ticket updatedTicket = ticketEventService.record(ticket, TicketEventType.REOPENED, request.getCustomerId(), change);
+        slaDeadlineTracker.refresh(updatedTicket);
+
+        outboxService.enqueueNotification(updatedTicket.getTicketId(), new NotificationRequest(
                 String.valueOf(updatedTicket.getCreatedFor()),
                 SYSTEM,
                 "Ticket Reopened: " + updatedTicket.getTicketId(),
@@ -321,28 +263,246 @@ public class TicketServiceImpl implements TicketService {
         return updatedTicket;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketSummary> getAllTickets(){
+        return referenceDataCache.describe(ticketRepository.findAllSummaries());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketPageResponse getTicketsPage(TicketSearchCriteria criteria) {
+        int size = criteria.getSize() == null ? 50 : criteria.getSize();
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TicketSummary> rows = ticketRepository.findPageAfter(
+                criteria.getCursor(),
+                criteria.getStatus(),
+                criteria.getPriority(),
+                criteria.getSeverity(),
+                criteria.getCategoryId(),
+                criteria.getAssignedTo(),
+                criteria.getCreatedFrom(),
+                criteria.getCreatedTo(),
+                PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<TicketSummary> page = hasMore ? rows.subList(0, size) : rows;
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getTicketId() : null;
+        return new TicketPageResponse(referenceDataCache.describe(page), nextCursor, hasMore);
+    }
+
     @Override
     @Transactional
-    public Ticket triageTicketWithAI(Long ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new ResourceNotFoundException(TKTNOTFOUND + ticketId));
-        TriageRequest triageRequest = new TriageRequest(
-                ticket.getIssueCategory().getCategoryName(),
-                ticket.getIssueDescription()
-        );
+    public BulkTicketResponse bulkUpdateTicketStatus(List<UpdateStatusRequest> requests) {
+        BulkTicketResponse response = new BulkTicketResponse();
+        List<Transition> transitions = new ArrayList<>();
+        for (BulkItem<UpdateStatusRequest> item : loadForBulk(requests, UpdateStatusRequest::getTicketId, response)) {
+            addTransition(transitions, response, item.ticket(), null, TicketChange.ofStatus(item.request().getStatus()));
+        }
+        List<Transition> applied = ticketEventService.recordAll(TicketEventType.STATUS_CHANGED, transitions);
+        applied.forEach(transition -> slaDeadlineTracker.refresh(transition.ticket()));
+        return succeeded(response, transitions, applied);
+    }
 
-        TriageResponse triageResponse = aiAgentServiceClient.getTriageSuggestion(triageRequest).block(); // Using .block() for simplicity
-        if (triageResponse != null) {
-            ticket.setSeverity(TicketSeverity.valueOf(triageResponse.getSeverity()));
-            ticket.setPriority(TicketPriority.valueOf(triageResponse.getPriority()));
+    @Override
+    @Transactional
+    public BulkTicketResponse bulkTriageAndAssign(List<TriageAssignTicketRequest> requests) {
+        BulkTicketResponse response = new BulkTicketResponse();
+        List<Transition> transitions = new ArrayList<>();
+        for (BulkItem<TriageAssignTicketRequest> item : loadForBulk(requests, TriageAssignTicketRequest::getTicketId, response)) {
+            Long slaId = item.request().getSla().getSlaId();
+            Optional<SLA> sla = slaId == null ? Optional.empty() : referenceDataCache.sla(slaId);
+            if (sla.isEmpty()) {
+                response.getFailed().put(item.ticket().getTicketId(), "SLA not found with ID: " + slaId);
+                continue;
+            }
+            addTransition(transitions, response, item.ticket(), item.request().getAssignedBy(),
+                    triageChange(item.ticket(), sla.get(), item.request()));
+        }
+        List<Transition> applied = ticketEventService.recordAll(TicketEventType.TRIAGED, transitions);
+        resetSlaAlerts(ticketsOf(applied));
+        Map<Long, NotificationRequest> notifications = new LinkedHashMap<>();
+        for (Transition transition : applied) {
+            slaDeadlineTracker.refresh(transition.ticket());
+            notifications.put(transition.ticket().getTicketId(), assignedNotification(transition.ticket()));
         }
+        outboxService.enqueueNotifications(notifications);
+        return succeeded(response, transitions, applied);
+    }
 
-        return ticketRepository.save(ticket);
+    @Override
+    @Transactional
+    public BulkTicketResponse bulkReassign(List<ReassignTicketRequest> requests) {
+        BulkTicketResponse response = new BulkTicketResponse();
+        List<Transition> transitions = new ArrayList<>();
+        for (BulkItem<ReassignTicketRequest> item : loadForBulk(requests, ReassignTicketRequest::getTicketId, response)) {
+            addTransition(transitions, response, item.ticket(), item.request().getReassignedById(),
+                    reassignChange(item.ticket(), item.request()));
+        }
+        List<Transition> applied = ticketEventService.recordAll(TicketEventType.REASSIGNED, transitions);
+        resetSlaAlerts(ticketsOf(applied));
+        applied.forEach(transition -> slaDeadlineTracker.refresh(transition.ticket()));
+        return succeeded(response, transitions, applied);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<Ticket> getAllTickets(){
-        return ticketRepository.findAll();
+    @Transactional
+    public BulkTicketResponse bulkHold(List<HoldTicketRequest> requests) {
+        BulkTicketResponse response = new BulkTicketResponse();
+        List<Transition> transitions = new ArrayList<>();
+        for (BulkItem<HoldTicketRequest> item : loadForBulk(requests, HoldTicketRequest::getTicketId, response)) {
+            addTransition(transitions, response, item.ticket(), item.request().getEngineerId(), holdChange(item.request()));
+        }
+        List<Transition> applied = ticketEventService.recordAll(TicketEventType.HELD, transitions);
+        Map<Long, NotificationRequest> notifications = new LinkedHashMap<>();
+        for (Transition transition : applied) {
+            slaDeadlineTracker.refresh(transition.ticket());
+            notifications.put(transition.ticket().getTicketId(), heldNotification(transition.ticket()));
+        }
+        outboxService.enqueueNotifications(notifications);
+        return succeeded(response, transitions, applied);
+    }
+
+    @Override
+    @Transactional
+    public BulkTicketResponse bulkResolve(List<ResolveTicketRequest> requests) {
+        BulkTicketResponse response = new BulkTicketResponse();
+        List<Transition> transitions = new ArrayList<>();
+        for (BulkItem<ResolveTicketRequest> item : loadForBulk(requests, ResolveTicketRequest::getTicketId, response)) {
+            addTransition(transitions, response, item.ticket(), item.request().getEngineerId(), resolveChange(item.request()));
+        }
+        List<Transition> applied = ticketEventService.recordAll(TicketEventType.RESOLVED, transitions);
+        Map<Long, NotificationRequest> notifications = new LinkedHashMap<>();
+        for (Transition transition : applied) {
+            slaDeadlineTracker.untrack(transition.ticket().getTicketId());
+            notifications.put(transition.ticket().getTicketId(), resolvedNotification(transition.ticket()));
+        }
+        outboxService.enqueueNotifications(notifications);
+        return succeeded(response, transitions, applied);
+    }
+
+    // Pairs each request with its ticket, all loaded in one query; unknown and repeated tickets are reported as failed
+    private <R> List<BulkItem<R>> loadForBulk(List<R> requests, Function<R, Long> ticketIdOf, BulkTicketResponse response) {
+        Map<Long, Ticket> tickets = ticketRepository.findReadOnlyByTicketIdIn(requests.stream().map(ticketIdOf).distinct().toList()).stream()
+                .collect(Collectors.toMap(Ticket::getTicketId, Function.identity()));
+        Set<Long> seen = new HashSet<>();
+        List<BulkItem<R>> items = new ArrayList<>(requests.size());
+        for (R request : requests) {
+            Long ticketId = ticketIdOf.apply(request);
+            Ticket ticket = tickets.get(ticketId);
+            if (ticket == null) {
+                response.getFailed().put(ticketId, TKTNOTFOUND + ticketId);
+            } else if (!seen.add(ticketId)) {
+                response.getFailed().put(ticketId, "Ticket appears more than once in the request");
+            } else {
+                items.add(new BulkItem<>(request, ticket));
+            }
+        }
+        return items;
+    }
+
+    // Queues the transition if TicketStateMachine allows it, otherwise reports the ticket as failed
+    private static void addTransition(List<Transition> transitions, BulkTicketResponse response,
+                                      Ticket ticket, Long actorId, TicketChange change) {
+        TicketStatus to = change.getStatus() == null ? ticket.getStatus() : change.getStatus();
+        if (TicketStateMachine.canMove(ticket.getStatus(), to)) {
+            transitions.add(new Transition(ticket, actorId, change));
+        } else {
+            response.getFailed().put(ticket.getTicketId(), "Cannot move ticket from " + ticket.getStatus() + " to " + to);
+        }
+    }
+
+    private static BulkTicketResponse succeeded(BulkTicketResponse response, List<Transition> transitions, List<Transition> applied) {
+        Set<Transition> appliedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        appliedSet.addAll(applied);
+        for (Transition transition : transitions) {
+            if (appliedSet.contains(transition)) {
+                response.getUpdated().add(transition.ticket().getTicketId());
+            } else {
+                response.getFailed().put(transition.ticket().getTicketId(), "Ticket was changed by another request");
+            }
+        }
+        return response;
+    }
+
+    private static List<Ticket> ticketsOf(List<Transition> transitions) {
+        return transitions.stream().map(Transition::ticket).toList();
+    }
+
+    private static TicketChange triageChange(Ticket ticket, SLA sla, TriageAssignTicketRequest request) {
+        TicketChange change = new TicketChange();
+        change.setSlaId(sla.getSlaId());
+        change.setSlaDeadline(ticket.getCreatedAt().plusHours(sla.getTimeLimitHour()));
+        change.setPriority(request.getPriority());
+        change.setSeverity(request.getSeverity());
+        change.setAssignedTo(request.getAssignedTo());
+        change.setStatus(TicketStatus.ASSIGNED);
+        return change;
+    }
+
+    private static TicketChange reassignChange(Ticket ticket, ReassignTicketRequest request) {
+        TicketChange change = new TicketChange();
+        change.setAssignedTo(request.getNewAssignedToId());
+        change.setActionNote("Ticket reassigned from user " + ticket.getAssignedTo() + " to user " + request.getNewAssignedToId());
+        return change;
+    }
+
+    private static TicketChange holdChange(HoldTicketRequest request) {
+        TicketChange change = TicketChange.ofStatus(TicketStatus.ON_HOLD);
+        change.setActionNote(request.getActionNote());
+        return change;
+    }
+
+    private static TicketChange resolveChange(ResolveTicketRequest request) {
+        TicketChange change = TicketChange.ofStatus(TicketStatus.RESOLVED);
+        change.setActionNote(request.getActionNote());
+        change.setAttachmentUrl(request.getAttachmentUrl());
+        return change;
+    }
+
+    private static NotificationRequest assignedNotification(Ticket ticket) {
+        return new NotificationRequest(
+                String.valueOf(ticket.getAssignedTo()),
+                SYSTEM,
+                "New Ticket Assigned: " + ticket.getTicketId(),
+                "You have been assigned a new ticket."
+        );
+    }
+
+    private static NotificationRequest heldNotification(Ticket ticket) {
+        return new NotificationRequest(
+                String.valueOf(ticket.getCreatedFor()),
+                SYSTEM,
+                "Ticket Closed: " + ticket.getTicketId(),
+                "Your ticket has been put ONHOLD"
+        );
+    }
+
+    private static NotificationRequest resolvedNotification(Ticket ticket) {
+        return new NotificationRequest(
+                String.valueOf(ticket.getCreatedFor()),
+                SYSTEM,
+                "Ticket Resolved: " + ticket.getTicketId(),
+                "Your ticket has been resolved. Please confirm the resolution."
+        );
+    }
+
+    private static Long categoryIdOf(IssueCategory issueCategory) {
+        return issueCategory == null ? null : issueCategory.getCategoryId();
+    }
+
+    // A new SLA window starts: forget the thresholds already announced, persisted and in the monitor's ledger
+    private void resetSlaAlerts(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return;
+        }
+        tickets.forEach(ticket -> {
+            ticket.setSlaAlertMask(0);
+            slaDeadlineTracker.resetAlerts(ticket.getTicketId());
+        });
+        ticketRepository.updateSlaAlertMask(tickets.stream().map(Ticket::getTicketId).toList(), 0);
+    }
+
+    private record BulkItem<R>(R request, Ticket ticket) {
     }
 }
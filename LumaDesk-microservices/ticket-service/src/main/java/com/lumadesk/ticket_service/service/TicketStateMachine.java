@@ -0,0 +1,42 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.lumadesk.ticket_service.entities.enums.TicketStatus.*;
+
+/**
+ * The ticket lifecycle: which status each status may move to. Work on an open ticket that
+ * keeps its status (a reassignment) is a move to the same status, so it is allowed only where
+ * the table says so. TicketEventService checks every transition against this table and then
+ * applies it with an UPDATE conditioned on the status it was checked against.
+ */
+public final class TicketStateMachine {
+
+    private static final Map<TicketStatus, Set<TicketStatus>> TRANSITIONS = new EnumMap<>(TicketStatus.class);
+
+    static {
+        allow(NEW, ASSIGNED);
+        allow(ASSIGNED, ASSIGNED, IN_PROGRESS, ON_HOLD, RESOLVED);
+        allow(IN_PROGRESS, IN_PROGRESS, ON_HOLD, RESOLVED);
+        allow(ON_HOLD, ON_HOLD, IN_PROGRESS, RESOLVED);
+        allow(REOPENED, REOPENED, IN_PROGRESS, ON_HOLD, RESOLVED);
+        allow(RESOLVED, CLOSED, REOPENED);
+        allow(CLOSED, REOPENED); // a low feedback rating arrives after the customer closed the ticket
+    }
+
+    private TicketStateMachine() {
+    }
+
+    public static boolean canMove(TicketStatus from, TicketStatus to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    private static void allow(TicketStatus from, TicketStatus... to) {
+        TRANSITIONS.put(from, EnumSet.of(to[0], to));
+    }
+}
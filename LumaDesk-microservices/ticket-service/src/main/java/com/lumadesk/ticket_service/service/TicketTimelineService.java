@@ -0,0 +1,8 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.TicketTimelineResponse;
+import com.lumadesk.ticket_service.dto.TimelineCriteria;
+
+public interface TicketTimelineService {
+    TicketTimelineResponse getTimeline(Long ticketId, TimelineCriteria criteria);
+}
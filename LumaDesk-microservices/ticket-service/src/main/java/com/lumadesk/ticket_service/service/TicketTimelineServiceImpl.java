@@ -0,0 +1,75 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.TicketTimelineResponse;
+import com.lumadesk.ticket_service.dto.TimelineCriteria;
+import com.lumadesk.ticket_service.dto.TimelineEvent;
+import com.lumadesk.ticket_service.exception.InvalidCursorException;
+import com.lumadesk.ticket_service.repository.AssignmentLogRepository;
+import com.lumadesk.ticket_service.repository.TicketActionLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ticket's action and assignment logs as one history, oldest first. Each page reads at most
+ * size + 1 rows from each log with a keyset query on (ticket_id, id) and merges them by time.
+ * The cursor holds the last id consumed from each log ("actionId.assignmentId"), so every
+ * source resumes exactly where the previous page stopped.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketTimelineServiceImpl implements TicketTimelineService {
+
+    private final TicketActionLogRepository actionLogRepository;
+    private final AssignmentLogRepository assignmentLogRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketTimelineResponse getTimeline(Long ticketId, TimelineCriteria criteria) {
+        int size = criteria.getSize() == null ? 50 : criteria.getSize();
+        long[] after = parseCursor(criteria.getCursor());
+        List<TimelineEvent> actions = actionLogRepository.findTimelinePage(ticketId, after[0], PageRequest.of(0, size + 1));
+        List<TimelineEvent> assignments = assignmentLogRepository.findTimelinePage(ticketId, after[1], PageRequest.of(0, size + 1));
+
+        List<TimelineEvent> page = new ArrayList<>(size);
+        long lastAction = after[0];
+        long lastAssignment = after[1];
+        int a = 0;
+        int s = 0;
+        while (page.size() < size && (a < actions.size() || s < assignments.size())) {
+            // On equal timestamps the assignment goes first: a triage or reassignment logs it before the action
+            boolean takeAction = s == assignments.size() || (a < actions.size()
+                    && actions.get(a).getOccurredAt().isBefore(assignments.get(s).getOccurredAt()));
+            if (takeAction) {
+                TimelineEvent event = actions.get(a++);
+                lastAction = event.getEventId();
+                page.add(event);
+            } else {
+                TimelineEvent event = assignments.get(s++);
+                lastAssignment = event.getEventId();
+                page.add(event);
+            }
+        }
+        boolean hasMore = a < actions.size() || s < assignments.size();
+        return new TicketTimelineResponse(page, hasMore ? lastAction + "." + lastAssignment : null, hasMore);
+    }
+
+    private static long[] parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new long[]{0, 0};
+        }
+        String[] parts = cursor.split("\\.");
+        try {
+            if (parts.length == 2) {
+                return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new InvalidCursorException("Invalid timeline cursor: " + cursor);
+    }
+}
@@ -0,0 +1,154 @@
+package com.lumadesk.ticket_service.cache;
+
+import com.lumadesk.ticket_service.dto.TicketSummary;
+import com.lumadesk.ticket_service.entities.IssueCategory;
+import com.lumadesk.ticket_service.entities.ReferenceDataVersion;
+import com.lumadesk.ticket_service.entities.enums.ReferenceDataType;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.repository.IssueCategoryRepository;
+import com.lumadesk.ticket_service.repository.ReferenceDataVersionRepository;
+import com.lumadesk.ticket_service.repository.SLARepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReferenceDataCacheTest {
+
+    private IssueCategoryRepository issueCategoryRepository;
+    private ReferenceDataVersionRepository versionRepository;
+    private ReferenceDataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        issueCategoryRepository = mock(IssueCategoryRepository.class);
+        versionRepository = mock(ReferenceDataVersionRepository.class);
+        when(issueCategoryRepository.findAll()).thenReturn(List.of(category(1L, "Network"), category(2L, "Hardware")));
+        givenVersion(1);
+        cache = new ReferenceDataCache(issueCategoryRepository, mock(SLARepository.class), versionRepository, 10, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void issueCategories_shouldReadTheDatabaseOnce_untilTheVersionMoves() {
+        // Given
+        cache.issueCategories();
+        cache.dropStaleSnapshots();
+
+        // When
+        List<IssueCategory> categories = cache.issueCategories();
+        Optional<IssueCategory> hardware = cache.issueCategory(2L);
+
+        // Then
+        assertEquals(2, categories.size());
+        assertEquals("Hardware", hardware.orElseThrow().getCategoryName());
+        verify(issueCategoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void dropStaleSnapshots_shouldReload_afterAnotherReplicaBumpedTheVersion() {
+        // Given
+        cache.issueCategories();
+        givenVersion(2);
+
+        // When
+        cache.dropStaleSnapshots();
+        cache.issueCategories();
+
+        // Then
+        verify(issueCategoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void invalidate_shouldBumpTheVersion_andDropTheLocalCopyOnCommit() {
+        // Given
+        cache.issueCategories();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cache.invalidate(ReferenceDataType.ISSUE_CATEGORY);
+        cache.issueCategories();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.issueCategories();
+
+        // Then
+        verify(versionRepository).bump(ReferenceDataType.ISSUE_CATEGORY);
+        verify(issueCategoryRepository, times(2)).findAll(); // still cached until the write committed
+    }
+
+    @Test
+    void issueCategories_shouldNotCache_aTableLargerThanMaxEntries() {
+        // Given
+        cache = new ReferenceDataCache(issueCategoryRepository, mock(SLARepository.class), versionRepository, 1, new SimpleMeterRegistry());
+
+        // When
+        cache.issueCategories();
+        cache.issueCategories();
+
+        // Then
+        verify(issueCategoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void describe_shouldReadOnlyThePagesCategories_whenTheTableIsTooLargeToCache() {
+        // Given: a table over max-entries, already found to be so
+        cache = new ReferenceDataCache(issueCategoryRepository, mock(SLARepository.class), versionRepository, 1, new SimpleMeterRegistry());
+        cache.issueCategories();
+        when(issueCategoryRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.of(category(1L, "Network"), category(2L, "Hardware")).stream()
+                    .filter(category -> ids.contains(category.getCategoryId())).toList();
+        });
+
+        // When
+        List<TicketSummary> tickets = cache.describe(List.of(ticket(1L), ticket(2L), ticket(1L), ticket(9L)));
+        Optional<IssueCategory> hardware = cache.issueCategory(2L);
+
+        // Then: one query for the page's distinct ids, one for the single lookup, no more full reads
+        assertEquals(List.of("Network", "Hardware", "Network"),
+                tickets.subList(0, 3).stream().map(ticket -> ticket.getIssueCategory().categoryName()).toList());
+        assertNull(tickets.get(3).getIssueCategory().categoryName());
+        assertEquals("Hardware", hardware.orElseThrow().getCategoryName());
+        verify(issueCategoryRepository).findAllById(Set.of(1L, 2L, 9L));
+        verify(issueCategoryRepository).findAllById(List.of(2L));
+        verify(issueCategoryRepository, times(1)).findAll();
+    }
+
+    private void givenVersion(long version) {
+        ReferenceDataVersion row = new ReferenceDataVersion(ReferenceDataType.ISSUE_CATEGORY, version);
+        when(versionRepository.findById(ReferenceDataType.ISSUE_CATEGORY)).thenReturn(Optional.of(row));
+        when(versionRepository.findAll()).thenReturn(List.of(row));
+    }
+
+    private static TicketSummary ticket(Long categoryId) {
+        return new TicketSummary(1L, 5L, 5L, categoryId, "No internet", TicketStatus.NEW, null, null, null,
+                null, null, false, null, null);
+    }
+
+    private static IssueCategory category(Long id, String name) {
+        IssueCategory category = new IssueCategory();
+        category.setCategoryId(id);
+        category.setCategoryName(name);
+        return category;
+    }
+}
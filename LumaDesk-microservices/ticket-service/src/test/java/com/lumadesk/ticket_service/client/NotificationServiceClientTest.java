@@ -0,0 +1,82 @@
+package com.lumadesk.ticket_service.client;
+
+import com.lumadesk.ticket_service.dto.NotificationRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationServiceClientTest {
+
+    private NotificationServiceClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void sendNotification_shouldCoalesceRequestsArrivingTogether_intoOneCall() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        client = client(calls, call -> HttpStatus.OK);
+
+        // When
+        List<CompletableFuture<Void>> results = send(3);
+
+        // Then
+        for (CompletableFuture<Void> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void sendNotification_shouldCompleteOrFailEachCaller_withItsOwnBatch() throws Exception {
+        // Given: the first batch (a full one of 100) is rejected, the second is accepted
+        AtomicInteger calls = new AtomicInteger();
+        client = client(calls, call -> call == 1 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK);
+
+        // When
+        List<CompletableFuture<Void>> results = send(101);
+
+        // Then
+        for (CompletableFuture<Void> result : results.subList(0, 100)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(WebClientResponseException.ServiceUnavailable.class, failure.getCause());
+        }
+        results.get(100).get(5, TimeUnit.SECONDS);
+        assertEquals(2, calls.get());
+    }
+
+    private List<CompletableFuture<Void>> send(int count) {
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(client.sendNotification(
+                    new NotificationRequest("user-" + i, "ticket-service", "Ticket updated", "m")).toFuture());
+        }
+        return results;
+    }
+
+    // A WebClient whose n-th call (1-based) answers with the given status
+    private static NotificationServiceClient client(AtomicInteger calls, IntFunction<HttpStatus> statusOfCall) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.fromSupplier(
+                        () -> ClientResponse.create(statusOfCall.apply(calls.incrementAndGet())).build()))
+                .build();
+        return new NotificationServiceClient(webClient);
+    }
+}
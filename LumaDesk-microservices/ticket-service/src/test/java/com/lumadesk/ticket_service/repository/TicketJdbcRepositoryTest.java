@@ -0,0 +1,101 @@
+package com.lumadesk.ticket_service.repository;
+
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository.TicketUpdate;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketJdbcRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Validator validator;
+
+    private TicketJdbcRepository ticketJdbcRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ticketJdbcRepository = new TicketJdbcRepository(jdbcTemplate, validator);
+    }
+
+    @Test
+    void updateTicketsIf_shouldSendOneBatchPer500Updates_andFlagEachInRequestOrder() {
+        // Given: 1200 updates come back as batches of 500, 500 and 200; the 2nd and the 1100th lost their race
+        List<TicketUpdate> updates = updates(1200);
+        int[][] counts = {ones(500), ones(500), ones(200)};
+        counts[0][1] = 0;
+        counts[2][99] = 0;
+        when(jdbcTemplate.batchUpdate(anyString(), eq(updates), eq(500), any())).thenReturn(counts);
+
+        // When
+        boolean[] applied = ticketJdbcRepository.updateTicketsIf(updates);
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(startsWith("update tickets set"), eq(updates), eq(500), any());
+        assertEquals(1200, applied.length);
+        assertFalse(applied[1]);
+        assertFalse(applied[1099]);
+        int won = 0;
+        for (boolean flag : applied) {
+            won += flag ? 1 : 0;
+        }
+        assertEquals(1198, won);
+    }
+
+    @Test
+    void updateTicketsIf_shouldFailTheBatch_whenTheDriverDoesNotReportRowCounts() {
+        // Given: a driver that answers every statement of a batch with SUCCESS_NO_INFO
+        List<TicketUpdate> updates = updates(3);
+        int[] unknown = new int[3];
+        Arrays.fill(unknown, Statement.SUCCESS_NO_INFO);
+        when(jdbcTemplate.batchUpdate(anyString(), eq(updates), eq(500), any())).thenReturn(new int[][]{unknown});
+
+        // When / Then: an unknown count must never be taken for a won race
+        assertThrows(IllegalStateException.class, () -> ticketJdbcRepository.updateTicketsIf(updates));
+    }
+
+    @Test
+    void updateTicketIf_shouldReportALostRace() {
+        // Given
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class))).thenReturn(0);
+
+        // When / Then
+        assertFalse(ticketJdbcRepository.updateTicketIf(updates(1).get(0)));
+    }
+
+    private static List<TicketUpdate> updates(int count) {
+        List<TicketUpdate> updates = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Ticket ticket = new Ticket();
+            ticket.setTicketId(id);
+            ticket.setStatus(TicketStatus.IN_PROGRESS);
+            ticket.setEventVersion(3);
+            updates.add(new TicketUpdate(ticket, TicketStatus.ASSIGNED, 2));
+        }
+        return updates;
+    }
+
+    private static int[] ones(int count) {
+        int[] counts = new int[count];
+        Arrays.fill(counts, 1);
+        return counts;
+    }
+}
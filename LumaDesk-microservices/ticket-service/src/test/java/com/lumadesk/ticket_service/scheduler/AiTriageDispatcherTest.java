@@ -0,0 +1,356 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.client.AiAgentServiceClient;
+import com.lumadesk.ticket_service.dto.BatchTriageRequest;
+import com.lumadesk.ticket_service.dto.BatchTriageResult;
+import com.lumadesk.ticket_service.entities.AiTriageJob;
+import com.lumadesk.ticket_service.entities.IssueCategory;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.AiTriageJobStatus;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.repository.AiTriageJobRepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.service.TicketEventService;
+import com.lumadesk.ticket_service.service.TicketEventService.Transition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AiTriageDispatcherTest {
+
+    @Mock
+    private AiTriageJobRepository aiTriageJobRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketEventService ticketEventService;
+
+    @Mock
+    private AiAgentServiceClient aiAgentServiceClient;
+
+    @Mock
+    private ThreadPoolTaskExecutor aiTriageExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Transition>> transitions;
+
+    private final List<Runnable> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Calls are captured, not run, so they stay in flight until a test runs them
+        doAnswer(invocation -> started.add(invocation.getArgument(0))).when(aiTriageExecutor).execute(any(Runnable.class));
+        when(aiTriageJobRepository.transition(anyLong(), eq(AiTriageJobStatus.QUEUED), eq(AiTriageJobStatus.RUNNING), any()))
+                .thenReturn(1);
+    }
+
+    @Test
+    void dispatch_shouldStartNoMoreCallsThanTheTokenBucketHolds() throws InterruptedException {
+        // Given: 5 calls per second, a bucket that has had more than a second to fill, and a long queue
+        AiTriageDispatcher dispatcher = dispatcher(8, 5, 1);
+        queued(20);
+        Thread.sleep(1100);
+
+        // When
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // Then: the bucket is capped at one second's worth, and the second tick finds it empty
+        verify(aiTriageJobRepository).findIdsByStatus(eq(AiTriageJobStatus.QUEUED), any(), eq(PageRequest.of(0, 5)));
+        assertEquals(5, started.size());
+    }
+
+    @Test
+    void dispatch_shouldStartNoMoreCallsThanThereAreIdleWorkers_andBatchTheJobs() throws InterruptedException {
+        // Given: plenty of tokens, two workers, ten jobs per call
+        AiTriageDispatcher dispatcher = dispatcher(2, 100, 10);
+        queued(20);
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        // Then: two calls of ten jobs; with both workers busy the second tick does not even look at the queue
+        verify(aiTriageJobRepository, times(1)).findIdsByStatus(eq(AiTriageJobStatus.QUEUED), any(), eq(PageRequest.of(0, 20)));
+        assertEquals(2, started.size());
+    }
+
+    @Test
+    void dispatch_shouldSendOnlyTheJobsItClaimed_whenAnotherReplicaWinsSome() throws InterruptedException {
+        // Given: job 2 is claimed by another instance between the read and the conditional update
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 10);
+        queued(3);
+        when(aiTriageJobRepository.transition(eq(2L), eq(AiTriageJobStatus.QUEUED), eq(AiTriageJobStatus.RUNNING), any()))
+                .thenReturn(0);
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        started.forEach(Runnable::run);
+
+        // Then
+        assertEquals(1, started.size());
+        verify(aiTriageJobRepository, atLeastOnce()).findAllById(List.of(1L, 3L));
+        verify(aiTriageJobRepository, never()).transition(eq(2L), eq(AiTriageJobStatus.RUNNING), any(), any());
+    }
+
+    @Test
+    void dispatch_shouldPutClaimedJobsBackOnTheQueue_whenTheExecutorIsFull() throws InterruptedException {
+        // Given
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 2);
+        queued(4);
+        doThrow(new TaskRejectedException("full")).when(aiTriageExecutor).execute(any(Runnable.class));
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+
+        // Then
+        for (long jobId = 1; jobId <= 4; jobId++) {
+            verify(aiTriageJobRepository).transition(eq(jobId), eq(AiTriageJobStatus.RUNNING), eq(AiTriageJobStatus.QUEUED), any());
+        }
+    }
+
+    @Test
+    void requeueStaleJobs_shouldRequeueJobsRunningForMoreThanFiveMinutes() {
+        // Given
+        AiTriageDispatcher dispatcher = dispatcher(4, 5, 10);
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+
+        // When
+        dispatcher.requeueStaleJobs();
+
+        // Then
+        verify(aiTriageJobRepository).requeueStale(eq(AiTriageJobStatus.RUNNING), eq(AiTriageJobStatus.QUEUED),
+                before.capture(), now.capture());
+        assertEquals(Duration.ofMinutes(5), Duration.between(before.getValue(), now.getValue()));
+    }
+
+    @Test
+    void run_shouldRecordASuggestionOnlyOnATicketStillNew_andCompleteBothJobs() throws InterruptedException {
+        // Given: ticket 11 is still NEW, ticket 12 was triaged by an officer while the model was thinking
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 10);
+        AiTriageJob untriaged = job(1L, 11L);
+        AiTriageJob triaged = job(2L, 12L);
+        Ticket fresh = ticket(11L, TicketStatus.NEW);
+        Ticket officers = ticket(12L, TicketStatus.ASSIGNED);
+        suggested(List.of(untriaged, triaged), List.of(fresh, officers));
+        when(ticketEventService.recordAll(eq(TicketEventType.TRIAGE_SUGGESTED), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        started.forEach(Runnable::run);
+
+        // Then: one event, through the conditional write; the officer's ticket is not touched
+        verify(ticketEventService).recordAll(eq(TicketEventType.TRIAGE_SUGGESTED), transitions.capture());
+        assertEquals(1, transitions.getValue().size());
+        Transition suggestion = transitions.getValue().get(0);
+        assertSame(fresh, suggestion.ticket());
+        assertEquals(TicketSeverity.CRITICAL, suggestion.change().getSeverity());
+        assertEquals(TicketPriority.URGENT, suggestion.change().getPriority());
+        assertNull(suggestion.change().getStatus());
+        assertEquals(TicketPriority.LOW, officers.getPriority());
+        for (AiTriageJob job : List.of(untriaged, triaged)) {
+            assertEquals(AiTriageJobStatus.COMPLETED, job.getStatus());
+            assertEquals(TicketPriority.URGENT, job.getSuggestedPriority());
+        }
+    }
+
+    @Test
+    void run_shouldStillCompleteTheJob_whenAnOfficerChangesTheTicketBeforeTheSuggestionIsWritten() throws InterruptedException {
+        // Given: the conditional write loses the race
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 10);
+        AiTriageJob job = job(1L, 11L);
+        suggested(List.of(job), List.of(ticket(11L, TicketStatus.NEW)));
+        when(ticketEventService.recordAll(eq(TicketEventType.TRIAGE_SUGGESTED), any())).thenReturn(List.of());
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        started.forEach(Runnable::run);
+
+        // Then: the officer won; the suggestion is kept on the job, nothing failed
+        assertEquals(AiTriageJobStatus.COMPLETED, job.getStatus());
+        assertEquals(TicketSeverity.CRITICAL, job.getSuggestedSeverity());
+        assertNull(job.getError());
+    }
+
+    @Test
+    void run_shouldSendAnUncategorizedTicketWithoutACategory_alongsideTheRestOfItsBatch() throws InterruptedException {
+        // Given: ticket 12 was created without a category
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 10);
+        AiTriageJob categorized = job(1L, 11L);
+        AiTriageJob uncategorized = job(2L, 12L);
+        Ticket withoutCategory = ticket(12L, TicketStatus.NEW);
+        withoutCategory.setIssueCategory(null);
+        suggested(List.of(categorized, uncategorized), List.of(ticket(11L, TicketStatus.NEW), withoutCategory));
+        when(ticketEventService.recordAll(eq(TicketEventType.TRIAGE_SUGGESTED), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        started.forEach(Runnable::run);
+
+        // Then: one call for both, and both jobs complete
+        ArgumentCaptor<BatchTriageRequest> request = ArgumentCaptor.forClass(BatchTriageRequest.class);
+        verify(aiAgentServiceClient).getTriageSuggestions(request.capture());
+        assertEquals("Network", request.getValue().getTickets().get(0).getIssueCategory());
+        assertNull(request.getValue().getTickets().get(1).getIssueCategory());
+        assertEquals(AiTriageJobStatus.COMPLETED, categorized.getStatus());
+        assertEquals(AiTriageJobStatus.COMPLETED, uncategorized.getStatus());
+    }
+
+    @Test
+    void run_shouldPutTheJobsBackOnTheQueueWithABackoff_whenTheCallFailsInTransit() throws InterruptedException {
+        // Given: ai-agent-service cannot be reached
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 10);
+        AiTriageJob first = job(1L, 11L);
+        AiTriageJob second = job(2L, 12L);
+        failing(List.of(first, second), new WebClientRequestException(new IOException("Connection refused"),
+                HttpMethod.POST, URI.create("http://ai-agent-service/api/ai-agent/triage/suggest-batch"), new HttpHeaders()));
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        started.forEach(Runnable::run);
+
+        // Then: queued again, not before the backoff, with the reason kept for whoever polls the job
+        for (AiTriageJob job : List.of(first, second)) {
+            assertEquals(AiTriageJobStatus.QUEUED, job.getStatus());
+            assertEquals(1, job.getAttempts());
+            assertTrue(job.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(5)));
+            assertTrue(job.getError().contains("Connection refused"));
+        }
+        verifyNoInteractions(ticketEventService);
+    }
+
+    @Test
+    void run_shouldFailTheJobs_whenTheirAttemptsRunOut() throws InterruptedException {
+        // Given: the fifth call times out too
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 10);
+        AiTriageJob job = job(1L, 11L);
+        job.setAttempts(4);
+        failing(List.of(job), new IllegalStateException("Timeout on blocking read for 60000000000 NANOSECONDS"));
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        started.forEach(Runnable::run);
+
+        // Then
+        assertEquals(AiTriageJobStatus.FAILED, job.getStatus());
+        assertEquals(5, job.getAttempts());
+    }
+
+    @Test
+    void run_shouldFailTheJobsAtOnce_whenAiAgentServiceRejectsTheRequest() throws InterruptedException {
+        // Given: sending the same request again would get the same 400
+        AiTriageDispatcher dispatcher = dispatcher(4, 100, 10);
+        AiTriageJob job = job(1L, 11L);
+        failing(List.of(job), WebClientResponseException.create(400, "Bad Request", null, null, null));
+        Thread.sleep(100);
+
+        // When
+        dispatcher.dispatch();
+        started.forEach(Runnable::run);
+
+        // Then
+        assertEquals(AiTriageJobStatus.FAILED, job.getStatus());
+        assertNull(job.getNextAttemptAt());
+    }
+
+    private AiTriageDispatcher dispatcher(int workers, double ratePerSecond, int batchSize) {
+        when(aiTriageExecutor.getMaxPoolSize()).thenReturn(workers);
+        return new AiTriageDispatcher(aiTriageJobRepository, ticketRepository, ticketEventService, aiAgentServiceClient,
+                aiTriageExecutor, transactionManager, ratePerSecond, batchSize, new SimpleMeterRegistry());
+    }
+
+    // The jobs are queued and the model suggests CRITICAL/URGENT for each of their tickets
+    private void suggested(List<AiTriageJob> jobs, List<Ticket> tickets) {
+        queued(jobs.size());
+        when(aiTriageJobRepository.findAllById(any())).thenReturn(jobs);
+        when(ticketRepository.findByTicketIdIn(any())).thenReturn(tickets);
+        when(ticketRepository.findReadOnlyByTicketIdIn(any())).thenReturn(tickets);
+        when(aiAgentServiceClient.getTriageSuggestions(any())).thenReturn(Mono.just(tickets.stream()
+                .map(ticket -> new BatchTriageResult(ticket.getTicketId(), "CRITICAL", "URGENT", null))
+                .toList()));
+    }
+
+    // The jobs are queued and the call for them fails as a whole
+    private void failing(List<AiTriageJob> jobs, RuntimeException error) {
+        queued(jobs.size());
+        when(aiTriageJobRepository.findAllById(any())).thenReturn(jobs);
+        jobs.forEach(job -> when(aiTriageJobRepository.findById(job.getJobId())).thenReturn(Optional.of(job)));
+        when(ticketRepository.findByTicketIdIn(any())).thenReturn(jobs.stream()
+                .map(job -> ticket(job.getTicketId(), TicketStatus.NEW)).toList());
+        when(aiAgentServiceClient.getTriageSuggestions(any())).thenReturn(Mono.error(error));
+    }
+
+    private static AiTriageJob job(Long jobId, Long ticketId) {
+        AiTriageJob job = new AiTriageJob();
+        job.setJobId(jobId);
+        job.setTicketId(ticketId);
+        job.setStatus(AiTriageJobStatus.RUNNING);
+        return job;
+    }
+
+    private static Ticket ticket(Long ticketId, TicketStatus status) {
+        IssueCategory category = new IssueCategory();
+        category.setCategoryName("Network");
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setIssueCategory(category);
+        ticket.setIssueDescription("No internet");
+        ticket.setStatus(status);
+        ticket.setSeverity(TicketSeverity.LOW);
+        ticket.setPriority(TicketPriority.LOW);
+        return ticket;
+    }
+
+    // Jobs 1..count wait in the queue; like the database, a read returns at most one page of them
+    private void queued(long count) {
+        when(aiTriageJobRepository.findIdsByStatus(eq(AiTriageJobStatus.QUEUED), any(), any())).thenAnswer(invocation ->
+                LongStream.rangeClosed(1, count).boxed().limit(invocation.<Pageable>getArgument(2).getPageSize()).toList());
+    }
+}
@@ -0,0 +1,165 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumadesk.ticket_service.client.FeedbackServiceClient;
+import com.lumadesk.ticket_service.client.NotificationServiceClient;
+import com.lumadesk.ticket_service.entities.OutboxEvent;
+import com.lumadesk.ticket_service.entities.enums.OutboxEventType;
+import com.lumadesk.ticket_service.entities.enums.OutboxStatus;
+import com.lumadesk.ticket_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private NotificationServiceClient notificationServiceClient;
+
+    @Mock
+    private FeedbackServiceClient feedbackServiceClient;
+
+    @Mock
+    private SlaPartitionLeaseManager leaseManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(leaseManager.ownedPartitions()).thenReturn(Set.of(0L, 1L, 2L));
+    }
+
+    @Test
+    void relay_shouldRetryATimedOutSend_andStillRecordTheOtherTicketsDeliveries() {
+        // Given: ticket 1's downstream never answers, ticket 2's answers at once
+        due(event(11L, 1L, "hang", 0), event(21L, 2L, "ok", 0));
+        when(notificationServiceClient.sendNotification(argThat(r -> r != null && "hang".equals(r.getSubject()))))
+                .thenReturn(Mono.never());
+        when(notificationServiceClient.sendNotification(argThat(r -> r != null && "ok".equals(r.getSubject()))))
+                .thenReturn(Mono.empty());
+
+        // When
+        relay(Duration.ofMillis(100)).relay();
+
+        // Then
+        verify(outboxEventRepository).markSent(eq(List.of(21L)), eq(OutboxStatus.SENT), any());
+        verify(outboxEventRepository).markAttemptFailed(eq(11L), eq(OutboxStatus.PENDING), eq(1), any(), anyString());
+        assertEquals(1.0, meterRegistry.counter("ticket.outbox.retried").count());
+    }
+
+    @Test
+    void relay_shouldMarkTheSentPrefix_andHoldBackEventsBehindAFailure() {
+        // Given: three events of one ticket, the second fails
+        due(event(1L, 1L, "first", 0), event(2L, 1L, "second", 0), event(3L, 1L, "third", 0));
+        when(notificationServiceClient.sendNotification(argThat(r -> r != null && "first".equals(r.getSubject()))))
+                .thenReturn(Mono.empty());
+        when(notificationServiceClient.sendNotification(argThat(r -> r != null && "second".equals(r.getSubject()))))
+                .thenReturn(Mono.error(new IllegalStateException("503 Service Unavailable")));
+
+        // When
+        relay(Duration.ofSeconds(1)).relay();
+
+        // Then
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), eq(OutboxStatus.SENT), any());
+        verify(outboxEventRepository).markAttemptFailed(eq(2L), eq(OutboxStatus.PENDING), eq(1), any(),
+                eq("503 Service Unavailable"));
+        verify(outboxEventRepository, never()).markAttemptFailed(eq(3L), any(), anyInt(), any(), any());
+        verify(notificationServiceClient, times(2)).sendNotification(any());
+    }
+
+    @Test
+    void relay_shouldDeadLetterAnEvent_onItsLastAttempt() {
+        // Given: an event that has already failed nine times
+        OutboxEvent event = event(5L, 1L, "doomed", 9);
+        due(event);
+        when(notificationServiceClient.sendNotification(any())).thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        // When
+        relay(Duration.ofSeconds(1)).relay();
+
+        // Then: failed for good, keeping the schedule it last had
+        verify(outboxEventRepository).markAttemptFailed(5L, OutboxStatus.FAILED, 10, event.getNextAttemptAt(), "boom");
+        verify(outboxEventRepository, never()).markSent(any(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("ticket.outbox.dead").count());
+        assertEquals(0.0, meterRegistry.counter("ticket.outbox.retried").count());
+    }
+
+    @Test
+    void relay_shouldStartNoSendThatCouldOutlastTheCycle_andRecordTheFinishedOnes() {
+        // Given: a slow but healthy downstream and more events than fit in one cycle (2 x 1s)
+        List<OutboxEvent> events = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            events.add(event(id, 1L, "slow", 0));
+        }
+        due(events.toArray(OutboxEvent[]::new));
+        when(notificationServiceClient.sendNotification(any()))
+                .thenAnswer(invocation -> Mono.delay(Duration.ofMillis(300)).then());
+
+        // When
+        relay(Duration.ofSeconds(1)).relay();
+
+        // Then: sends started at 0, 0.3, 0.6 and 0.9s went out; at 1.2s a full send timeout no longer fits,
+        // so the rest wait for the next cycle untouched
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L, 3L, 4L)), eq(OutboxStatus.SENT), any());
+        verify(outboxEventRepository, never()).markAttemptFailed(anyLong(), any(), anyInt(), any(), any());
+        verify(notificationServiceClient, times(4)).sendNotification(any());
+    }
+
+    @Test
+    void relay_shouldRefuseASendTimeout_thatWouldLetACycleOutlastThePartitionLease() {
+        // When / Then: two 15s sends plus the grace would run past the 30s lease
+        assertThrows(IllegalArgumentException.class, () -> relay(Duration.ofSeconds(15)));
+        assertDoesNotThrow(() -> relay(OutboxRelay.MAX_SEND_TIMEOUT));
+    }
+
+    private OutboxRelay relay(Duration sendTimeout) {
+        return new OutboxRelay(outboxEventRepository, notificationServiceClient, feedbackServiceClient,
+                leaseManager, new ObjectMapper(), meterRegistry, sendTimeout);
+    }
+
+    private void due(OutboxEvent... events) {
+        when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(), anyLong(), any(), any()))
+                .thenReturn(List.of(events));
+        Map<Long, Long> headOfLine = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            headOfLine.putIfAbsent(event.getAggregateId(), event.getEventId());
+        }
+        List<Object[]> rows = new ArrayList<>();
+        headOfLine.forEach((ticketId, eventId) -> rows.add(new Object[]{ticketId, eventId}));
+        when(outboxEventRepository.findHeadOfLine(eq(OutboxStatus.PENDING), any())).thenReturn(rows);
+    }
+
+    private static OutboxEvent event(long eventId, long ticketId, String subject, int attempts) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventId(eventId);
+        event.setAggregateId(ticketId);
+        event.setEventType(OutboxEventType.NOTIFICATION);
+        event.setPayload("{\"sendTo\":\"user@lumadesk.io\",\"sentBy\":\"ticket-service\",\"subject\":\"" + subject
+                + "\",\"message\":\"m\"}");
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(T0);
+        event.setCreatedAt(T0);
+        return event;
+    }
+}
@@ -0,0 +1,107 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlaAlertLedgerTest {
+
+    private static final int WARN_15 = SlaAlertLedger.bitOf(SlaCheckpoint.WARN_15_MINUTES);
+    private static final int WARN_5 = SlaAlertLedger.bitOf(SlaCheckpoint.WARN_5_MINUTES);
+    private static final int VERSION = 3;
+
+    @Test
+    void merge_shouldAccumulateBitsPerTicket() {
+        // Given
+        SlaAlertLedger ledger = new SlaAlertLedger();
+
+        // When
+        ledger.merge(1L, VERSION, WARN_15);
+        int mask = ledger.merge(1L, VERSION, WARN_5);
+
+        // Then
+        assertEquals(WARN_15 | WARN_5, mask);
+        assertEquals(0, ledger.get(2L), "An unknown ticket has announced nothing.");
+        assertEquals(1, ledger.size());
+    }
+
+    @Test
+    void merge_shouldNotHoldAnEntry_whenNothingWasAnnounced() {
+        // Given
+        SlaAlertLedger ledger = new SlaAlertLedger();
+
+        // When
+        int mask = ledger.merge(3L, VERSION, 0);
+
+        // Then
+        assertEquals(0, mask);
+        assertEquals(0, ledger.size());
+    }
+
+    @Test
+    void removeIf_shouldKeepRemainingEntriesReachable_afterGrowingPastInitialCapacity() {
+        // Given
+        SlaAlertLedger ledger = new SlaAlertLedger();
+        for (long ticketId = 1; ticketId <= 1_000; ticketId++) {
+            ledger.merge(ticketId, VERSION, WARN_15);
+        }
+
+        // When
+        int removed = ledger.removeIf(ticketId -> ticketId % 3 == 0);
+
+        // Then
+        assertEquals(333, removed);
+        assertEquals(667, ledger.size());
+        for (long ticketId = 1; ticketId <= 1_000; ticketId++) {
+            assertEquals(ticketId % 3 == 0 ? 0 : WARN_15, ledger.get(ticketId), "Ticket " + ticketId);
+        }
+    }
+
+    @Test
+    void remove_shouldResetTheTicket() {
+        // Given
+        SlaAlertLedger ledger = new SlaAlertLedger();
+        ledger.merge(4L, VERSION, WARN_15 | WARN_5);
+
+        // When
+        ledger.remove(4L);
+
+        // Then
+        assertEquals(0, ledger.get(4L));
+        assertEquals(0, ledger.size());
+    }
+
+    @Test
+    void merge_shouldDropBitsOfAnEarlierVersion_whenTheWindowWasResetElsewhere() {
+        // Given
+        SlaAlertLedger ledger = new SlaAlertLedger();
+        ledger.merge(5L, VERSION, WARN_15 | WARN_5);
+
+        // When
+        int mask = ledger.merge(5L, VERSION + 1, 0); // reassigned on another replica: persisted mask is 0
+
+        // Then
+        assertEquals(0, mask, "The new engineer must get every warning again.");
+        assertEquals(0, ledger.get(5L));
+        assertEquals(0, ledger.size());
+    }
+
+    @Test
+    void merge_shouldTakeThePersistedMask_whenTheVersionMovedWithoutAReset() {
+        // Given
+        SlaAlertLedger ledger = new SlaAlertLedger();
+        ledger.merge(6L, VERSION, WARN_15);
+
+        // When
+        int mask = ledger.merge(6L, VERSION + 1, WARN_15); // put on hold: the persisted mask still has the bit
+
+        // Then
+        assertEquals(WARN_15, mask);
+        assertEquals(1, ledger.size());
+    }
+
+    @Test
+    void merge_shouldRejectNonPositiveTicketIds() {
+        assertThrows(IllegalArgumentException.class, () -> new SlaAlertLedger().merge(0L, VERSION, WARN_15));
+    }
+}
@@ -0,0 +1,183 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.dto.NotificationRequest;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository.SlaAlertMaskUpdate;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.service.OutboxService;
+import com.lumadesk.ticket_service.service.TicketEventService;
+import com.lumadesk.ticket_service.service.TicketEventService.Transition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SlaBreachMonitorTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketJdbcRepository ticketJdbcRepository;
+
+    @Mock
+    private TicketEventService ticketEventService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private SlaDeadlineTracker slaDeadlineTracker;
+
+    @Mock
+    private SlaPartitionLeaseManager leaseManager;
+
+    @Captor
+    private ArgumentCaptor<List<Transition>> escalations;
+
+    private SlaBreachMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        monitor = new SlaBreachMonitor(ticketRepository, ticketJdbcRepository, ticketEventService, outboxService, slaDeadlineTracker, leaseManager);
+        when(leaseManager.owns(anyLong())).thenReturn(true);
+        when(slaDeadlineTracker.recordAlert(any(), anyInt(), any())).thenAnswer(invocation ->
+                invocation.<Integer>getArgument(1) | SlaAlertLedger.bitOf(invocation.getArgument(2)));
+        when(ticketJdbcRepository.updateSlaAlertMasksIf(any())).thenAnswer(invocation -> {
+            boolean[] stored = new boolean[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(stored, true);
+            return stored;
+        });
+    }
+
+    @Test
+    void checkForSlaBreaches_shouldRecordTheEscalationAsAnEvent_onTheVersionItRead() {
+        // Given: ticket 1 enters its 15-minute band at HIGH; ticket 2 is already URGENT
+        Ticket high = ticket(1L, TicketPriority.HIGH, 12);
+        Ticket urgent = ticket(2L, TicketPriority.URGENT, 12);
+        due(high, urgent);
+        escalationsApply();
+
+        // When
+        monitor.checkForSlaBreaches();
+
+        // Then: only ticket 1 is escalated, through the conditional write; both are warned
+        verify(ticketEventService).recordAll(eq(TicketEventType.SLA_ESCALATED), escalations.capture());
+        assertEquals(1, escalations.getValue().size());
+        assertSame(high, escalations.getValue().get(0).ticket());
+        assertEquals(TicketPriority.URGENT, escalations.getValue().get(0).change().getPriority());
+        assertNull(escalations.getValue().get(0).change().getStatus());
+        verify(outboxService, times(2)).enqueueNotification(anyLong(), any(NotificationRequest.class));
+        verify(ticketRepository, never()).markSlaBreached(any(), any());
+    }
+
+    @Test
+    void checkForSlaBreaches_shouldEscalateAndFlagABreachedTicket() {
+        // Given
+        Ticket breached = ticket(1L, TicketPriority.LOW, -1);
+        due(breached);
+        escalationsApply();
+
+        // When
+        monitor.checkForSlaBreaches();
+
+        // Then
+        verify(ticketEventService).recordAll(eq(TicketEventType.SLA_ESCALATED), argThat(list -> list.size() == 1));
+        verify(ticketRepository).markSlaBreached(eq(List.of(1L)), any());
+        // On the version the escalation wrote, not the one read before it
+        verify(ticketJdbcRepository).updateSlaAlertMasksIf(
+                List.of(new SlaAlertMaskUpdate(1L, SlaAlertLedger.bitOf(SlaCheckpoint.BREACH), 5)));
+        verify(outboxService).enqueueNotification(eq(1L), any(NotificationRequest.class));
+    }
+
+    @Test
+    void checkForSlaBreaches_shouldNeitherFlagNorAnnounce_whenTheTicketChangesBeforeItsAlertMaskIsStored() {
+        // Given: already URGENT, so nothing is escalated; the ticket is reassigned before the mask is written
+        due(ticket(1L, TicketPriority.URGENT, -1));
+        doReturn(new boolean[]{false}).when(ticketJdbcRepository).updateSlaAlertMasksIf(any());
+
+        // When
+        monitor.checkForSlaBreaches();
+
+        // Then: the reassign's reset mask stands and the previous engineer is not alerted
+        verify(ticketJdbcRepository).updateSlaAlertMasksIf(
+                List.of(new SlaAlertMaskUpdate(1L, SlaAlertLedger.bitOf(SlaCheckpoint.BREACH), 4)));
+        verify(ticketRepository, never()).markSlaBreached(any(), any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void checkForSlaBreaches_shouldLeaveATicketAlone_whenItsEscalationLosesToATransition() {
+        // Given: the ticket was reassigned after it was read here
+        due(ticket(1L, TicketPriority.LOW, -1));
+        when(ticketEventService.recordAll(eq(TicketEventType.SLA_ESCALATED), any())).thenReturn(List.of());
+
+        // When
+        monitor.checkForSlaBreaches();
+
+        // Then: nothing is flagged or announced, so the next sweep finds it unannounced and schedules it again
+        verify(ticketRepository, never()).markSlaBreached(any(), any());
+        verifyNoInteractions(ticketJdbcRepository);
+        verify(slaDeadlineTracker, never()).recordAlert(any(), anyInt(), any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void checkForSlaBreaches_shouldSkipTicketsNoLongerWatched() {
+        // Given: the due ticket was resolved since its checkpoint was scheduled
+        Ticket resolved = ticket(1L, TicketPriority.LOW, -1);
+        resolved.setStatus(TicketStatus.RESOLVED);
+        due(resolved);
+
+        // When
+        monitor.checkForSlaBreaches();
+
+        // Then
+        verifyNoInteractions(ticketEventService, outboxService);
+        verify(ticketRepository, never()).markSlaBreached(any(), any());
+    }
+
+    // The event store bumps the version of every ticket it escalates
+    private void escalationsApply() {
+        when(ticketEventService.recordAll(eq(TicketEventType.SLA_ESCALATED), any())).thenAnswer(invocation -> {
+            List<Transition> escalations = invocation.getArgument(1);
+            escalations.forEach(escalation -> escalation.ticket().setEventVersion(escalation.ticket().getEventVersion() + 1));
+            return escalations;
+        });
+    }
+
+    private void due(Ticket... tickets) {
+        List<SlaTimingWheel.Expired> expired = Arrays.stream(tickets)
+                .map(ticket -> new SlaTimingWheel.Expired(ticket.getTicketId(), SlaCheckpoint.WARN_15_MINUTES, 0L))
+                .toList();
+        when(slaDeadlineTracker.pollDue()).thenReturn(expired);
+        when(ticketRepository.findReadOnlyByTicketIdIn(any())).thenReturn(List.of(tickets));
+    }
+
+    // A ticket whose deadline is minutesLeft minutes away (a little under, so it falls inside that band)
+    private static Ticket ticket(Long ticketId, TicketPriority priority, int minutesLeft) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        ticket.setPriority(priority);
+        ticket.setAssignedTo(42L);
+        ticket.setEventVersion(4);
+        ticket.setSlaDeadline(LocalDateTime.now().plusMinutes(minutesLeft).minusSeconds(30));
+        return ticket;
+    }
+}
@@ -0,0 +1,98 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlaTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private SlaTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 1 second ticks, 8 buckets: one revolution covers 8 seconds
+        wheel = new SlaTimingWheel(1000, 8, START);
+    }
+
+    @Test
+    void advanceTo_shouldReturnCheckpoint_onlyOnceItsDeadlineHasPassed() {
+        // Given
+        wheel.schedule(1L, SlaCheckpoint.WARN_15_MINUTES, START + 3_500);
+
+        // When & Then
+        assertTrue(wheel.advanceTo(START + 3_000).isEmpty(), "Nothing should fire before the deadline.");
+        List<SlaTimingWheel.Expired> due = wheel.advanceTo(START + 4_000);
+        assertEquals(1, due.size());
+        assertEquals(1L, due.get(0).ticketId());
+        assertEquals(SlaCheckpoint.WARN_15_MINUTES, due.get(0).checkpoint());
+        assertFalse(wheel.isTracked(1L), "A fired checkpoint should no longer be tracked.");
+    }
+
+    @Test
+    void advanceTo_shouldHonourDeadlinesBeyondOneRevolution() {
+        // Given
+        wheel.schedule(2L, SlaCheckpoint.BREACH, START + 20_200);
+
+        // When & Then
+        assertTrue(wheel.advanceTo(START + 20_000).isEmpty(), "A deadline two revolutions away should not fire early.");
+        assertEquals(1, wheel.advanceTo(START + 21_000).size());
+    }
+
+    @Test
+    void schedule_shouldFireOnNextAdvance_whenDeadlineIsAlreadyPast() {
+        // Given
+        wheel.advanceTo(START + 5_000);
+        wheel.schedule(3L, SlaCheckpoint.WARN_5_MINUTES, START);
+
+        // When
+        List<SlaTimingWheel.Expired> due = wheel.advanceTo(START + 6_000);
+
+        // Then
+        assertEquals(1, due.size());
+        assertEquals(SlaCheckpoint.WARN_5_MINUTES, due.get(0).checkpoint());
+    }
+
+    @Test
+    void cancel_shouldDropEveryCheckpointOfTheTicket() {
+        // Given
+        wheel.schedule(4L, SlaCheckpoint.WARN_10_MINUTES, START + 1_500);
+        wheel.schedule(4L, SlaCheckpoint.BREACH, START + 2_500);
+        wheel.schedule(5L, SlaCheckpoint.BREACH, START + 2_500);
+
+        // When
+        wheel.cancel(4L);
+        List<SlaTimingWheel.Expired> due = wheel.advanceTo(START + 10_000);
+
+        // Then
+        assertEquals(1, due.size());
+        assertEquals(5L, due.get(0).ticketId());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelIf_shouldDropOnlyMatchingTickets() {
+        // Given
+        wheel.schedule(6L, SlaCheckpoint.WARN_15_MINUTES, START + 1_500);
+        wheel.schedule(6L, SlaCheckpoint.BREACH, START + 3_500);
+        wheel.schedule(7L, SlaCheckpoint.BREACH, START + 3_500);
+
+        // When
+        int cancelled = wheel.cancelIf(ticketId -> ticketId % 2 == 0);
+        List<SlaTimingWheel.Expired> due = wheel.advanceTo(START + 10_000);
+
+        // Then
+        assertEquals(1, cancelled);
+        assertEquals(1, due.size());
+        assertEquals(7L, due.get(0).ticketId());
+    }
+
+    @Test
+    void constructor_shouldRejectWheelSizeThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new SlaTimingWheel(1000, 10, START));
+    }
+}
@@ -0,0 +1,75 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketFeedCursorTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final TicketFeedCursor cursor = new TicketFeedCursor(10L, Duration.ofMinutes(5));
+
+    @Test
+    void advance_shouldTrackTheIdsSkippedOver_andKeepThePositionBelowTheOldest() {
+        // When
+        cursor.advance(List.of(event(11L), event(13L), event(16L)), 0);
+
+        // Then
+        assertEquals(16L, cursor.after());
+        assertEquals(List.of(12L, 14L, 15L), cursor.openGaps());
+        assertEquals(11L, cursor.position());
+    }
+
+    @Test
+    void fill_shouldHandOutAnEventThatCommittedLate_onlyOnce() {
+        // Given
+        cursor.advance(List.of(event(12L)), 0);
+        TicketEvent late = event(11L);
+
+        // When
+        List<TicketEvent> first = cursor.fill(List.of(late));
+        List<TicketEvent> second = cursor.fill(List.of(late));
+
+        // Then
+        assertEquals(List.of(late), first);
+        assertTrue(second.isEmpty());
+        assertEquals(12L, cursor.position());
+    }
+
+    @Test
+    void expire_shouldGiveUpOnlyTheGapsOpenForLongerThanTheTimeout() {
+        // Given: 11 and 12 skipped at 0s, 14 at 200s
+        cursor.advance(List.of(event(13L)), 0);
+        cursor.advance(List.of(event(15L)), 200 * SECOND);
+
+        // When
+        int expired = cursor.expire(301 * SECOND);
+
+        // Then
+        assertEquals(2, expired);
+        assertEquals(List.of(14L), cursor.openGaps());
+        assertEquals(13L, cursor.position());
+    }
+
+    @Test
+    void position_shouldBeTheHighestEventSeen_whenNoGapIsOpen() {
+        // When
+        cursor.advance(List.of(event(11L), event(12L)), 0);
+        cursor.advance(List.of(), SECOND);
+
+        // Then
+        assertTrue(cursor.openGaps().isEmpty());
+        assertEquals(12L, cursor.position());
+    }
+
+    private static TicketEvent event(long eventId) {
+        TicketEvent event = new TicketEvent();
+        event.setEventId(eventId);
+        return event;
+    }
+}
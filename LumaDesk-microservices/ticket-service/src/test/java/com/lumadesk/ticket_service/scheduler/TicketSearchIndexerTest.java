@@ -0,0 +1,164 @@
+package com.lumadesk.ticket_service.scheduler;
+
+import com.lumadesk.ticket_service.dto.TicketSearchHit;
+import com.lumadesk.ticket_service.dto.TicketSummary;
+import com.lumadesk.ticket_service.dto.TicketTextSearchCriteria;
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.repository.TicketActionLogRepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.search.TicketSearchIndex;
+import com.lumadesk.ticket_service.service.TicketEventService;
+import com.lumadesk.ticket_service.service.TicketSearchServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketSearchIndexerTest {
+
+    @TempDir
+    Path indexDir;
+
+    @Mock
+    private TicketEventService ticketEventService;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketActionLogRepository ticketActionLogRepository;
+
+    private TicketSearchIndex ticketSearchIndex;
+    private TicketSearchServiceImpl ticketSearchService;
+    private TicketSearchIndexer indexer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ticketSearchIndex = new TicketSearchIndex(indexDir);
+        ticketSearchService = new TicketSearchServiceImpl(ticketSearchIndex);
+        indexer = new TicketSearchIndexer(ticketSearchIndex, ticketEventService, ticketRepository, ticketActionLogRepository,
+                Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ticketSearchIndex.close();
+    }
+
+    @Test
+    void buildIfMissing_shouldIndexTheTicketRows_upToTheLastEventBeforeTheGapTimeout() {
+        // Given
+        when(ticketEventService.getFeedPositionBefore(any())).thenReturn(3L);
+        when(ticketRepository.findSummariesAfter(eq(0L), any())).thenReturn(List.of(
+                ticket(1L, "Printer offline", TicketStatus.NEW, null, null)));
+
+        // When
+        indexer.buildIfMissing();
+
+        // Then
+        assertEquals(3L, ticketSearchIndex.position());
+        assertEquals(List.of(1L), hits("printer", null, null));
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(ticketEventService).getFeedPositionBefore(before.capture());
+        assertTrue(before.getValue().isBefore(LocalDateTime.now().minusMinutes(4)));
+    }
+
+    @Test
+    void applyFeed_shouldPickUpSlaEscalationsAndAiSuggestions_soThePriorityAndSeverityFiltersStayCurrent() {
+        // Given: both tickets were indexed at HIGH/LOW and have since been escalated and triaged by the model
+        built(ticket(1L, "Printer offline", TicketStatus.IN_PROGRESS, TicketSeverity.LOW, TicketPriority.HIGH),
+                ticket(2L, "Printer jams", TicketStatus.NEW, null, null));
+        when(ticketEventService.getFeed(3L, 1000)).thenReturn(List.of(
+                event(1L, TicketEventType.SLA_ESCALATED, 4L), event(2L, TicketEventType.TRIAGE_SUGGESTED, 5L)));
+        when(ticketRepository.findSummariesByTicketIdIn(Set.of(1L, 2L))).thenReturn(List.of(
+                ticket(1L, "Printer offline", TicketStatus.IN_PROGRESS, TicketSeverity.LOW, TicketPriority.URGENT),
+                ticket(2L, "Printer jams", TicketStatus.NEW, TicketSeverity.CRITICAL, TicketPriority.URGENT)));
+
+        // When
+        indexer.applyFeed();
+
+        // Then
+        assertEquals(5L, ticketSearchIndex.position());
+        assertEquals(List.of(1L, 2L), hits("printer", TicketPriority.URGENT, null).stream().sorted().toList());
+        assertTrue(hits("printer", TicketPriority.HIGH, null).isEmpty());
+        assertEquals(List.of(2L), hits("printer", null, TicketSeverity.CRITICAL));
+    }
+
+    @Test
+    void applyFeed_shouldIndexAnEventThatCommitsAfterLaterOnes_andKeepThePositionBelowIt() {
+        // Given: event 5 is read while event 4's transaction is still open
+        built(ticket(1L, "VPN disconnects", TicketStatus.ASSIGNED, null, null),
+                ticket(2L, "VPN slow", TicketStatus.NEW, null, null));
+        when(ticketEventService.getFeed(3L, 1000)).thenReturn(List.of(event(1L, TicketEventType.STATUS_CHANGED, 5L)));
+        when(ticketRepository.findSummariesByTicketIdIn(Set.of(1L))).thenReturn(List.of(
+                ticket(1L, "VPN disconnects", TicketStatus.IN_PROGRESS, null, null)));
+        indexer.applyFeed();
+        assertEquals(3L, ticketSearchIndex.position());
+
+        // When: event 4 commits
+        when(ticketEventService.getEvents(List.of(4L))).thenReturn(List.of(event(2L, TicketEventType.REASSIGNED, 4L)));
+        when(ticketRepository.findSummariesByTicketIdIn(Set.of(2L))).thenReturn(List.of(
+                ticket(2L, "VPN slow", TicketStatus.ASSIGNED, null, null)));
+        indexer.applyFeed();
+
+        // Then
+        assertEquals(5L, ticketSearchIndex.position());
+        verify(ticketRepository).findSummariesByTicketIdIn(Set.of(2L));
+        verify(ticketEventService).getFeed(5L, 1000);
+    }
+
+    @Test
+    void applyFeed_shouldDoNothing_beforeTheIndexIsBuilt() {
+        // When
+        indexer.applyFeed();
+
+        // Then
+        verifyNoInteractions(ticketEventService, ticketRepository);
+    }
+
+    private void built(TicketSummary... tickets) {
+        when(ticketEventService.getFeedPositionBefore(any())).thenReturn(3L);
+        when(ticketRepository.findSummariesAfter(eq(0L), any())).thenReturn(List.of(tickets));
+        indexer.buildIfMissing();
+    }
+
+    private List<Long> hits(String q, TicketPriority priority, TicketSeverity severity) {
+        TicketTextSearchCriteria criteria = new TicketTextSearchCriteria();
+        criteria.setQ(q);
+        criteria.setPriority(priority);
+        criteria.setSeverity(severity);
+        return ticketSearchService.search(criteria).getHits().stream().map(TicketSearchHit::getTicketId).toList();
+    }
+
+    private static TicketEvent event(Long ticketId, TicketEventType type, long eventId) {
+        TicketEvent event = new TicketEvent();
+        event.setEventId(eventId);
+        event.setTicketId(ticketId);
+        event.setEventType(type);
+        return event;
+    }
+
+    private static TicketSummary ticket(Long ticketId, String description, TicketStatus status,
+                                        TicketSeverity severity, TicketPriority priority) {
+        return new TicketSummary(ticketId, 5L, 5L, 1L, description, status, severity, priority, null,
+                42L, null, false, LocalDateTime.of(2026, 1, 1, 9, 0), null);
+    }
+}
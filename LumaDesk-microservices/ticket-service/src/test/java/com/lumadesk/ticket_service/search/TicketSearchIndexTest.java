@@ -0,0 +1,168 @@
+package com.lumadesk.ticket_service.search;
+
+import com.lumadesk.ticket_service.dto.TicketSearchHit;
+import com.lumadesk.ticket_service.dto.TicketSearchResponse;
+import com.lumadesk.ticket_service.dto.TicketSummary;
+import com.lumadesk.ticket_service.dto.TicketTextSearchCriteria;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.service.TicketSearchServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    void search_shouldRankDescriptionMatchesFirstAndHighlightThem() throws Exception {
+        // Given
+        try (Index index = new Index(indexDir)) {
+            index.add(List.of(ticket(1L, "Laptop screen flickers", TicketStatus.NEW),
+                            ticket(2L, "Printer jams on every page", TicketStatus.ASSIGNED)),
+                    Map.of(1L, List.of("Asked the customer whether the printer is on the same network")));
+
+            // When
+            TicketSearchResponse response = index.search("printer");
+
+            // Then
+            assertEquals(List.of(2L, 1L), response.getHits().stream().map(TicketSearchHit::getTicketId).toList());
+            assertEquals("<b>Printer</b> jams on every page", response.getHits().get(0).getIssueDescription());
+            assertNull(response.getHits().get(0).getActionNotes());
+            assertEquals("Laptop screen flickers", response.getHits().get(1).getIssueDescription(),
+                    "A ticket matched only by its notes shows the plain description.");
+            assertTrue(response.getHits().get(1).getActionNotes().contains("<b>printer</b>"));
+            assertEquals(2, response.getTotalHits());
+        }
+    }
+
+    @Test
+    void search_shouldMatchWordFormsAndApplyFilters() throws Exception {
+        // Given
+        try (Index index = new Index(indexDir)) {
+            index.add(List.of(ticket(1L, "Printers offline after update", TicketStatus.NEW),
+                    ticket(2L, "Printer offline", TicketStatus.RESOLVED)), Map.of());
+            TicketTextSearchCriteria criteria = criteria("printer offline");
+            criteria.setStatus(TicketStatus.NEW);
+
+            // When
+            TicketSearchResponse response = index.service.search(criteria);
+
+            // Then
+            assertEquals(1, response.getHits().size());
+            assertEquals(1L, response.getHits().get(0).getTicketId());
+            assertEquals(TicketStatus.NEW, response.getHits().get(0).getStatus());
+        }
+    }
+
+    @Test
+    void index_shouldReplaceTheTicketAndKeepThePositionAcrossRestarts() throws Exception {
+        // Given
+        try (Index index = new Index(indexDir)) {
+            assertFalse(index.index.isBuilt());
+            index.add(List.of(ticket(1L, "VPN disconnects", TicketStatus.NEW)), Map.of());
+            index.add(List.of(ticket(1L, "VPN disconnects", TicketStatus.ASSIGNED)), Map.of());
+            index.index.advanceTo(42L);
+            index.index.commit();
+        }
+
+        // When
+        try (Index reopened = new Index(indexDir)) {
+            TicketSearchResponse response = reopened.search("vpn");
+
+            // Then
+            assertEquals(42L, reopened.index.position());
+            assertEquals(1, response.getHits().size());
+            assertEquals(TicketStatus.ASSIGNED, response.getHits().get(0).getStatus());
+        }
+    }
+
+    @Test
+    void open_shouldGiveEachInstanceSharingTheDirectoryItsOwnSlot() throws Exception {
+        // Given
+        try (Index first = new Index(indexDir)) {
+            first.index.advanceTo(42L);
+            first.index.commit();
+
+            // When
+            try (Index second = new Index(indexDir)) {
+
+                // Then: the second instance builds its own index instead of failing on the first one's lock
+                assertFalse(second.index.isBuilt());
+                assertTrue(Files.isDirectory(indexDir.resolve("slot-1")));
+            }
+        }
+    }
+
+    @Test
+    void open_shouldFailWithTheSetting_whenEverySlotIsTaken() throws Exception {
+        // Given
+        List<TicketSearchIndex> open = new ArrayList<>();
+        try {
+            for (int slot = 0; slot < 16; slot++) {
+                open.add(new TicketSearchIndex(indexDir));
+            }
+
+            // When / Then
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> new TicketSearchIndex(indexDir));
+            assertTrue(e.getMessage().contains("lumadesk.ticket-search.index-dir"));
+        } finally {
+            for (TicketSearchIndex index : open) {
+                index.close();
+            }
+        }
+    }
+
+    @Test
+    void search_shouldReturnNothing_whenTheTextIsOnlyStopWords() throws Exception {
+        try (Index index = new Index(indexDir)) {
+            index.add(List.of(ticket(1L, "The mouse is broken", TicketStatus.NEW)), Map.of());
+
+            assertTrue(index.search("the").getHits().isEmpty());
+        }
+    }
+
+    private static TicketSummary ticket(Long ticketId, String description, TicketStatus status) {
+        return new TicketSummary(ticketId, 5L, 5L, 1L, description, status, null, null, null,
+                null, null, false, LocalDateTime.of(2026, 1, 1, 9, 0), null);
+    }
+
+    private static TicketTextSearchCriteria criteria(String q) {
+        TicketTextSearchCriteria criteria = new TicketTextSearchCriteria();
+        criteria.setQ(q);
+        return criteria;
+    }
+
+    private static class Index implements AutoCloseable {
+        final TicketSearchIndex index;
+        final TicketSearchServiceImpl service;
+
+        Index(Path dir) throws Exception {
+            index = new TicketSearchIndex(dir);
+            service = new TicketSearchServiceImpl(index);
+        }
+
+        void add(List<TicketSummary> tickets, Map<Long, List<String>> notes) {
+            index.index(tickets, notes);
+            index.refresh();
+        }
+
+        TicketSearchResponse search(String q) {
+            return service.search(criteria(q));
+        }
+
+        @Override
+        public void close() throws Exception {
+            index.close();
+        }
+    }
+}
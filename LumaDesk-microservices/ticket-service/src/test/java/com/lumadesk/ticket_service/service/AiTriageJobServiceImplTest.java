@@ -0,0 +1,76 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.entities.AiTriageJob;
+import com.lumadesk.ticket_service.entities.enums.AiTriageJobStatus;
+import com.lumadesk.ticket_service.exception.TriageQueueFullException;
+import com.lumadesk.ticket_service.repository.AiTriageJobRepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class AiTriageJobServiceImplTest {
+
+    @Mock
+    private AiTriageJobRepository aiTriageJobRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AiTriageJobServiceImpl aiTriageJobService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        aiTriageJobService = new AiTriageJobServiceImpl(aiTriageJobRepository, ticketRepository, 3, meterRegistry);
+        when(ticketRepository.existsById(any())).thenReturn(true);
+        when(aiTriageJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void enqueueForNewTicket_shouldQueueAnAutomaticJob_whileThereIsRoom() {
+        // Given
+        when(aiTriageJobRepository.countByStatus(AiTriageJobStatus.QUEUED)).thenReturn(2L);
+
+        // When
+        aiTriageJobService.enqueueForNewTicket(7L);
+
+        // Then
+        verify(aiTriageJobRepository).save(argThat(job -> job.getTicketId() == 7L && job.isAutomatic()));
+        assertEquals(0.0, meterRegistry.counter("ticket.ai.triage.shed").count());
+    }
+
+    @Test
+    void enqueueForNewTicket_shouldShedQuietly_whenTheBacklogIsFull() {
+        // Given
+        when(aiTriageJobRepository.countByStatus(AiTriageJobStatus.QUEUED)).thenReturn(3L);
+
+        // When: ticket creation must not fail
+        assertDoesNotThrow(() -> aiTriageJobService.enqueueForNewTicket(7L));
+
+        // Then
+        verify(aiTriageJobRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.counter("ticket.ai.triage.shed").count());
+    }
+
+    @Test
+    void submit_shouldRefuse_whenTheBacklogIsFull_andQueueAManualJobOtherwise() {
+        // Given
+        when(aiTriageJobRepository.countByStatus(AiTriageJobStatus.QUEUED)).thenReturn(3L, 0L);
+
+        // When / Then
+        assertThrows(TriageQueueFullException.class, () -> aiTriageJobService.submit(7L));
+        AiTriageJob job = aiTriageJobService.submit(7L);
+        assertFalse(job.isAutomatic());
+        assertEquals(1.0, meterRegistry.counter("ticket.ai.triage.shed").count());
+    }
+}
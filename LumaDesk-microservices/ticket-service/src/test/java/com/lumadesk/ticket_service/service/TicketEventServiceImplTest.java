@@ -0,0 +1,329 @@
+package com.lumadesk.ticket_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lumadesk.ticket_service.cache.ReferenceDataCache;
+import com.lumadesk.ticket_service.dto.TicketChange;
+import com.lumadesk.ticket_service.entities.IssueCategory;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.TicketEvent;
+import com.lumadesk.ticket_service.entities.TicketSnapshot;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import com.lumadesk.ticket_service.entities.enums.TicketPriority;
+import com.lumadesk.ticket_service.entities.enums.TicketSeverity;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.exception.ConcurrentTicketUpdateException;
+import com.lumadesk.ticket_service.exception.InvalidTransitionException;
+import com.lumadesk.ticket_service.exception.ResourceNotFoundException;
+import com.lumadesk.ticket_service.repository.AssignmentLogRepository;
+import com.lumadesk.ticket_service.repository.IssueCategoryRepository;
+import com.lumadesk.ticket_service.repository.SLARepository;
+import com.lumadesk.ticket_service.repository.TicketActionLogRepository;
+import com.lumadesk.ticket_service.repository.TicketEventRepository;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository;
+import com.lumadesk.ticket_service.repository.TicketJdbcRepository.TicketUpdate;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.repository.TicketSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TicketEventServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Mock
+    private TicketEventRepository ticketEventRepository;
+
+    @Mock
+    private TicketSnapshotRepository ticketSnapshotRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private IssueCategoryRepository issueCategoryRepository;
+
+    @Mock
+    private SLARepository slaRepository;
+
+    @Mock
+    private AssignmentLogRepository assignmentLogRepository;
+
+    @Mock
+    private TicketActionLogRepository ticketActionLogRepository;
+
+    @Mock
+    private TicketJdbcRepository ticketJdbcRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Captor
+    private ArgumentCaptor<List<TicketEvent>> events;
+
+    @Captor
+    private ArgumentCaptor<List<TicketUpdate>> updates;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TicketEventServiceImpl ticketEventService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ticketEventService = new TicketEventServiceImpl(ticketEventRepository, ticketSnapshotRepository, ticketRepository,
+                issueCategoryRepository, slaRepository, assignmentLogRepository, ticketActionLogRepository,
+                ticketJdbcRepository, referenceDataCache, objectMapper, 10);
+        when(ticketRepository.save(any())).thenAnswer(invocation -> {
+            Ticket ticket = invocation.getArgument(0);
+            if (ticket.getTicketId() == null) {
+                ticket.setTicketId(7L);
+            }
+            return ticket;
+        });
+        when(ticketJdbcRepository.updateTicketIf(any())).thenReturn(true);
+        when(ticketEventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void record_shouldCreateTheTicketAtVersionOne_readingACategoryTheCacheDoesNotKnowYet() {
+        // Given: a category created on another replica moments ago
+        when(referenceDataCache.issueCategory(3L)).thenReturn(Optional.empty());
+        when(issueCategoryRepository.findById(3L)).thenReturn(Optional.of(category(3L)));
+        TicketChange change = new TicketChange();
+        change.setCreatedBy(5L);
+        change.setIssueCategoryId(3L);
+        change.setIssueDescription("No internet");
+        change.setStatus(TicketStatus.NEW);
+
+        // When
+        Ticket ticket = ticketEventService.record(new Ticket(), TicketEventType.CREATED, 5L, change);
+
+        // Then
+        assertEquals(7L, ticket.getTicketId());
+        assertEquals(1, ticket.getEventVersion());
+        assertEquals("Network", ticket.getIssueCategory().getCategoryName());
+        TicketEvent event = savedEvent();
+        assertEquals(TicketEventType.CREATED, event.getEventType());
+        assertEquals(1, event.getVersion());
+        verify(ticketJdbcRepository, never()).updateTicketIf(any());
+    }
+
+    @Test
+    void record_shouldRefuseAnUnknownCategory() {
+        // Given
+        when(referenceDataCache.issueCategory(99L)).thenReturn(Optional.empty());
+        when(issueCategoryRepository.findById(99L)).thenReturn(Optional.empty());
+        TicketChange change = new TicketChange();
+        change.setIssueCategoryId(99L);
+
+        // When / Then
+        assertThrows(ResourceNotFoundException.class,
+                () -> ticketEventService.record(new Ticket(), TicketEventType.CREATED, 5L, change));
+        verify(ticketEventRepository, never()).save(any());
+    }
+
+    @Test
+    void record_shouldWriteATransitionConditionally_onTheStatusAndVersionItWasLoadedAt() {
+        // Given
+        Ticket ticket = ticket(TicketStatus.NEW, 3);
+
+        // When
+        ticketEventService.record(ticket, TicketEventType.TRIAGED, 2L, triage(42L));
+
+        // Then
+        ArgumentCaptor<TicketUpdate> update = ArgumentCaptor.forClass(TicketUpdate.class);
+        verify(ticketJdbcRepository).updateTicketIf(update.capture());
+        assertEquals(TicketStatus.NEW, update.getValue().expectedStatus());
+        assertEquals(3, update.getValue().expectedVersion());
+        assertEquals(TicketStatus.ASSIGNED, ticket.getStatus());
+        assertEquals(4, ticket.getEventVersion());
+        TicketEvent event = savedEvent();
+        assertEquals(4, event.getVersion());
+        verify(assignmentLogRepository).saveAll(argThat(logs -> logs.iterator().next().getAssignedTo() == 42L));
+    }
+
+    @Test
+    void record_shouldFailWith409AndRecordNothing_whenAnotherRequestChangedTheTicketFirst() {
+        // Given
+        when(ticketJdbcRepository.updateTicketIf(any())).thenReturn(false);
+
+        // When / Then
+        assertThrows(ConcurrentTicketUpdateException.class,
+                () -> ticketEventService.record(ticket(TicketStatus.NEW, 3), TicketEventType.TRIAGED, 2L, triage(42L)));
+        verify(ticketEventRepository, never()).save(any());
+        verifyNoInteractions(assignmentLogRepository);
+    }
+
+    @Test
+    void record_shouldRejectATransitionTheStateMachineForbids() {
+        // When / Then
+        assertThrows(InvalidTransitionException.class, () -> ticketEventService.record(ticket(TicketStatus.NEW, 1),
+                TicketEventType.CLOSED, 2L, TicketChange.ofStatus(TicketStatus.CLOSED)));
+        verifyNoInteractions(ticketJdbcRepository);
+    }
+
+    @Test
+    void recordAll_shouldWriteEveryRowInOneBatchPerTable_andSkipTheTicketsThatLostTheirRace() {
+        // Given: three reassignments, the second ticket was changed by another request since it was read
+        List<TicketEventService.Transition> transitions = List.of(
+                new TicketEventService.Transition(ticket(TicketStatus.ASSIGNED, 1, 7L), 2L, reassign(43L)),
+                new TicketEventService.Transition(ticket(TicketStatus.ASSIGNED, 1, 8L), 2L, reassign(43L)),
+                new TicketEventService.Transition(ticket(TicketStatus.ASSIGNED, 1, 9L), 2L, reassign(43L)));
+        when(ticketJdbcRepository.updateTicketsIf(any())).thenReturn(new boolean[]{true, false, true});
+
+        // When
+        List<TicketEventService.Transition> applied = ticketEventService.recordAll(TicketEventType.REASSIGNED, transitions);
+
+        // Then: one statement batch per table, and no event or log row for the lost ticket
+        assertEquals(List.of(transitions.get(0), transitions.get(2)), applied);
+        verify(ticketJdbcRepository).insertEvents(events.capture());
+        assertEquals(List.of(7L, 9L), events.getValue().stream().map(TicketEvent::getTicketId).toList());
+        verify(ticketJdbcRepository).insertAssignmentLogs(argThat(logs -> logs.size() == 2));
+        verify(ticketJdbcRepository).insertActionLogs(argThat(logs -> logs.size() == 2));
+        verify(ticketJdbcRepository, never()).updateTicketIf(any());
+        verify(ticketEventRepository, never()).save(any());
+    }
+
+    @Test
+    void recordAll_shouldWriteATriageSuggestionOnANewTicket_withoutMovingItThroughTheLifecycle() {
+        // Given
+        Ticket ticket = ticket(TicketStatus.NEW, 1);
+        TicketChange suggestion = new TicketChange();
+        suggestion.setSeverity(TicketSeverity.CRITICAL);
+        suggestion.setPriority(TicketPriority.URGENT);
+        when(ticketJdbcRepository.updateTicketsIf(any())).thenReturn(new boolean[]{true});
+
+        // When
+        List<TicketEventService.Transition> applied = ticketEventService.recordAll(TicketEventType.TRIAGE_SUGGESTED,
+                List.of(new TicketEventService.Transition(ticket, null, suggestion)));
+
+        // Then: still NEW, one version further, conditioned on what was read
+        assertEquals(1, applied.size());
+        verify(ticketJdbcRepository).updateTicketsIf(updates.capture());
+        assertEquals(TicketStatus.NEW, updates.getValue().get(0).expectedStatus());
+        assertEquals(1, updates.getValue().get(0).expectedVersion());
+        assertEquals(TicketStatus.NEW, ticket.getStatus());
+        assertEquals(TicketPriority.URGENT, ticket.getPriority());
+        assertEquals(2, ticket.getEventVersion());
+        verify(ticketJdbcRepository).insertAssignmentLogs(List.of());
+        verify(ticketJdbcRepository).insertActionLogs(List.of());
+    }
+
+    @Test
+    void record_shouldSnapshotEverySnapshotEveryEvents_andBaselineATicketOlderThanTheEventStore() {
+        // When
+        ticketEventService.record(ticket(TicketStatus.ASSIGNED, 9), TicketEventType.OPENED, 42L,
+                TicketChange.ofStatus(TicketStatus.IN_PROGRESS));
+        ticketEventService.record(ticket(TicketStatus.ASSIGNED, 0), TicketEventType.OPENED, 42L,
+                TicketChange.ofStatus(TicketStatus.IN_PROGRESS));
+
+        // Then: version 10 is snapshotted; the legacy ticket gets its current row as version 0
+        ArgumentCaptor<TicketSnapshot> snapshots = ArgumentCaptor.forClass(TicketSnapshot.class);
+        verify(ticketSnapshotRepository, times(2)).save(snapshots.capture());
+        assertEquals(List.of(10, 0), snapshots.getAllValues().stream().map(TicketSnapshot::getVersion).toList());
+        assertTrue(snapshots.getAllValues().get(1).getState().contains("\"status\":\"ASSIGNED\""));
+    }
+
+    @Test
+    void rebuildProjection_shouldReplayTheEventsAfterTheSnapshot_ontoTheTicketRow() throws Exception {
+        // Given: a snapshot at version 10 and two later events
+        Ticket ticket = ticket(TicketStatus.NEW, 3); // a projection that has drifted
+        when(ticketRepository.findById(7L)).thenReturn(Optional.of(ticket));
+        when(referenceDataCache.issueCategory(3L)).thenReturn(Optional.of(category(3L)));
+        TicketChange state = triage(42L);
+        state.setIssueCategoryId(3L);
+        when(ticketSnapshotRepository.findById(7L)).thenReturn(Optional.of(snapshot(10, state)));
+        TicketChange reassigned = new TicketChange();
+        reassigned.setAssignedTo(43L);
+        when(ticketEventRepository.findByTicketIdAndVersionGreaterThanOrderByVersionAsc(7L, 10)).thenReturn(List.of(
+                event(11, TicketChange.ofStatus(TicketStatus.IN_PROGRESS)), event(12, reassigned)));
+
+        // When
+        TicketChange rebuilt = ticketEventService.rebuildProjection(7L);
+
+        // Then
+        assertEquals(TicketStatus.IN_PROGRESS, rebuilt.getStatus());
+        assertEquals(43L, rebuilt.getAssignedTo());
+        assertEquals(TicketStatus.IN_PROGRESS, ticket.getStatus());
+        assertEquals(43L, ticket.getAssignedTo());
+        assertEquals(12, ticket.getEventVersion());
+        verify(ticketRepository).save(ticket);
+    }
+
+    @Test
+    void rebuildState_shouldFail_forATicketWithNoHistory() {
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> ticketEventService.rebuildState(7L));
+    }
+
+    private TicketEvent savedEvent() {
+        ArgumentCaptor<TicketEvent> event = ArgumentCaptor.forClass(TicketEvent.class);
+        verify(ticketEventRepository).save(event.capture());
+        return event.getValue();
+    }
+
+    private static TicketChange triage(Long assignedTo) {
+        TicketChange change = TicketChange.ofStatus(TicketStatus.ASSIGNED);
+        change.setAssignedTo(assignedTo);
+        return change;
+    }
+
+    private static TicketChange reassign(Long assignedTo) {
+        TicketChange change = new TicketChange();
+        change.setAssignedTo(assignedTo);
+        change.setActionNote("Reassigned");
+        return change;
+    }
+
+    private static Ticket ticket(TicketStatus status, int eventVersion) {
+        return ticket(status, eventVersion, 7L);
+    }
+
+    private static Ticket ticket(TicketStatus status, int eventVersion, Long ticketId) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setCreatedBy(5L);
+        ticket.setStatus(status);
+        ticket.setEventVersion(eventVersion);
+        ticket.setCreatedAt(T0);
+        return ticket;
+    }
+
+    private static IssueCategory category(Long id) {
+        IssueCategory category = new IssueCategory();
+        category.setCategoryId(id);
+        category.setCategoryName("Network");
+        return category;
+    }
+
+    private TicketSnapshot snapshot(int version, TicketChange state) throws Exception {
+        TicketSnapshot snapshot = new TicketSnapshot();
+        snapshot.setTicketId(7L);
+        snapshot.setVersion(version);
+        snapshot.setState(objectMapper.writeValueAsString(state));
+        snapshot.setTakenAt(T0);
+        return snapshot;
+    }
+
+    private TicketEvent event(int version, TicketChange change) throws Exception {
+        TicketEvent event = new TicketEvent();
+        event.setTicketId(7L);
+        event.setVersion(version);
+        event.setEventType(TicketEventType.STATUS_CHANGED);
+        event.setPayload(objectMapper.writeValueAsString(change));
+        event.setOccurredAt(T0);
+        return event;
+    }
+}
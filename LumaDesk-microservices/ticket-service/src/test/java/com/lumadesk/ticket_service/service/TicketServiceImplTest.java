@@ -0,0 +1,140 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.cache.ReferenceDataCache;
+import com.lumadesk.ticket_service.dto.BulkTicketResponse;
+import com.lumadesk.ticket_service.dto.HoldTicketRequest;
+import com.lumadesk.ticket_service.dto.NotificationRequest;
+import com.lumadesk.ticket_service.entities.Ticket;
+import com.lumadesk.ticket_service.entities.enums.TicketEventType;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.repository.AssignmentLogRepository;
+import com.lumadesk.ticket_service.repository.IssueCategoryRepository;
+import com.lumadesk.ticket_service.repository.SLARepository;
+import com.lumadesk.ticket_service.repository.TicketRepository;
+import com.lumadesk.ticket_service.scheduler.SlaDeadlineTracker;
+import com.lumadesk.ticket_service.service.TicketEventService.Transition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TicketServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private IssueCategoryRepository issueCategoryRepository;
+
+    @Mock
+    private SLARepository slaRepository;
+
+    @Mock
+    private AssignmentLogRepository assignmentLogRepository;
+
+    @Mock
+    private TicketEventService ticketEventService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private AiTriageJobService aiTriageJobService;
+
+    @Mock
+    private SlaDeadlineTracker slaDeadlineTracker;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Captor
+    private ArgumentCaptor<List<Transition>> transitions;
+
+    @Captor
+    private ArgumentCaptor<Map<Long, NotificationRequest>> notifications;
+
+    private TicketServiceImpl ticketService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ticketService = new TicketServiceImpl(ticketRepository, issueCategoryRepository, slaRepository,
+                assignmentLogRepository, ticketEventService, outboxService, aiTriageJobService, slaDeadlineTracker,
+                referenceDataCache);
+    }
+
+    @Test
+    void bulkHold_shouldApplyTheRest_andReportUnknownRepeatedForbiddenAndRacedTicketsAsFailed() {
+        // Given: 1 can be held; 2 does not exist; 1 is sent twice; 3 is resolved; 4 is changed by someone else first
+        Ticket held = ticket(1L, TicketStatus.IN_PROGRESS);
+        Ticket resolved = ticket(3L, TicketStatus.RESOLVED);
+        Ticket raced = ticket(4L, TicketStatus.IN_PROGRESS);
+        when(ticketRepository.findReadOnlyByTicketIdIn(any())).thenReturn(List.of(held, resolved, raced));
+        when(ticketEventService.recordAll(eq(TicketEventType.HELD), any())).thenAnswer(invocation ->
+                invocation.<List<Transition>>getArgument(1).stream().filter(t -> t.ticket() != raced).toList());
+
+        // When
+        BulkTicketResponse response = ticketService.bulkHold(List.of(hold(1L), hold(2L), hold(1L), hold(3L), hold(4L)));
+
+        // Then: one read and one recordAll for the whole request
+        verify(ticketRepository).findReadOnlyByTicketIdIn(List.of(1L, 2L, 3L, 4L));
+        verify(ticketEventService).recordAll(eq(TicketEventType.HELD), transitions.capture());
+        assertEquals(List.of(held, raced), transitions.getValue().stream().map(Transition::ticket).toList());
+
+        assertEquals(List.of(1L), response.getUpdated());
+        assertEquals(List.of(2L, 1L, 3L, 4L), List.copyOf(response.getFailed().keySet()));
+        assertEquals(TicketServiceImpl.TKTNOTFOUND + 2, response.getFailed().get(2L));
+        assertEquals("Ticket appears more than once in the request", response.getFailed().get(1L));
+        assertEquals("Cannot move ticket from RESOLVED to ON_HOLD", response.getFailed().get(3L));
+        assertEquals("Ticket was changed by another request", response.getFailed().get(4L));
+
+        // Only the applied ticket is notified and re-tracked
+        verify(outboxService).enqueueNotifications(notifications.capture());
+        assertEquals(List.of(1L), List.copyOf(notifications.getValue().keySet()));
+        verify(slaDeadlineTracker).refresh(held);
+        verify(slaDeadlineTracker, never()).refresh(raced);
+    }
+
+    @Test
+    void bulkHold_shouldWriteNothingPerTicket_whenEveryTicketFails() {
+        // Given
+        when(ticketRepository.findReadOnlyByTicketIdIn(any())).thenReturn(List.of(ticket(3L, TicketStatus.CLOSED)));
+        when(ticketEventService.recordAll(any(), any())).thenReturn(List.of());
+
+        // When
+        BulkTicketResponse response = ticketService.bulkHold(List.of(hold(3L), hold(9L)));
+
+        // Then
+        assertTrue(response.getUpdated().isEmpty());
+        assertEquals(2, response.getFailed().size());
+        verify(ticketEventService).recordAll(TicketEventType.HELD, List.of());
+        verify(outboxService).enqueueNotifications(Map.of());
+        verifyNoInteractions(slaDeadlineTracker);
+    }
+
+    private static HoldTicketRequest hold(Long ticketId) {
+        return new HoldTicketRequest(ticketId, 42L, "Waiting for the customer");
+    }
+
+    private static Ticket ticket(Long ticketId, TicketStatus status) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(ticketId);
+        ticket.setStatus(status);
+        ticket.setCreatedBy(5L);
+        ticket.setCreatedFor(5L);
+        ticket.setAssignedTo(42L);
+        ticket.setEventVersion(2);
+        ticket.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        return ticket;
+    }
+}
@@ -0,0 +1,37 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import org.junit.jupiter.api.Test;
+
+import static com.lumadesk.ticket_service.entities.enums.TicketStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketStateMachineTest {
+
+    @Test
+    void canMove_shouldFollowTheTicketLifecycle() {
+        assertTrue(TicketStateMachine.canMove(NEW, ASSIGNED));
+        assertTrue(TicketStateMachine.canMove(ASSIGNED, IN_PROGRESS));
+        assertTrue(TicketStateMachine.canMove(IN_PROGRESS, ON_HOLD));
+        assertTrue(TicketStateMachine.canMove(ON_HOLD, RESOLVED));
+        assertTrue(TicketStateMachine.canMove(RESOLVED, CLOSED));
+        assertTrue(TicketStateMachine.canMove(CLOSED, REOPENED));
+        assertTrue(TicketStateMachine.canMove(REOPENED, IN_PROGRESS));
+    }
+
+    @Test
+    void canMove_shouldRejectSkippedAndBackwardSteps() {
+        assertFalse(TicketStateMachine.canMove(NEW, CLOSED), "A ticket must be resolved before it is closed.");
+        assertFalse(TicketStateMachine.canMove(NEW, IN_PROGRESS));
+        assertFalse(TicketStateMachine.canMove(RESOLVED, ON_HOLD));
+        assertFalse(TicketStateMachine.canMove(CLOSED, CLOSED));
+    }
+
+    @Test
+    void canMove_shouldAllowSameStatusOnlyForOpenWork() {
+        for (TicketStatus status : TicketStatus.values()) {
+            boolean open = status != NEW && status != RESOLVED && status != CLOSED;
+            assertEquals(open, TicketStateMachine.canMove(status, status), status.name());
+        }
+    }
+}
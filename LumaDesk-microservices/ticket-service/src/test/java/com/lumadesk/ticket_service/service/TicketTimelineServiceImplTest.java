@@ -0,0 +1,113 @@
+package com.lumadesk.ticket_service.service;
+
+import com.lumadesk.ticket_service.dto.TicketTimelineResponse;
+import com.lumadesk.ticket_service.dto.TimelineCriteria;
+import com.lumadesk.ticket_service.dto.TimelineEvent;
+import com.lumadesk.ticket_service.entities.enums.TicketStatus;
+import com.lumadesk.ticket_service.exception.InvalidCursorException;
+import com.lumadesk.ticket_service.repository.AssignmentLogRepository;
+import com.lumadesk.ticket_service.repository.TicketActionLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class TicketTimelineServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Mock
+    private TicketActionLogRepository actionLogRepository;
+
+    @Mock
+    private AssignmentLogRepository assignmentLogRepository;
+
+    private TicketTimelineServiceImpl timelineService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        timelineService = new TicketTimelineServiceImpl(actionLogRepository, assignmentLogRepository);
+    }
+
+    @Test
+    void getTimeline_shouldMergeBothLogsByTime_andPutAssignmentsFirstOnTies() {
+        // Given
+        when(actionLogRepository.findTimelinePage(eq(7L), eq(0L), any())).thenReturn(List.of(
+                action(1L, 0), action(2L, 5)));
+        when(assignmentLogRepository.findTimelinePage(eq(7L), eq(0L), any())).thenReturn(List.of(
+                assignment(1L, 5)));
+
+        // When
+        TicketTimelineResponse response = timelineService.getTimeline(7L, criteria(null, 10));
+
+        // Then
+        assertEquals(List.of("ACTION:1", "ASSIGNMENT:1", "ACTION:2"), keys(response.getEvents()));
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void getTimeline_shouldReturnCursorOfLastConsumedIdPerLog_whenRowsAreLeftOver() {
+        // Given
+        when(actionLogRepository.findTimelinePage(eq(7L), eq(0L), any())).thenReturn(List.of(
+                action(1L, 0), action(2L, 3), action(3L, 4)));
+        when(assignmentLogRepository.findTimelinePage(eq(7L), eq(0L), any())).thenReturn(List.of(
+                assignment(4L, 1), assignment(5L, 6)));
+
+        // When
+        TicketTimelineResponse response = timelineService.getTimeline(7L, criteria(null, 2));
+
+        // Then
+        assertEquals(List.of("ACTION:1", "ASSIGNMENT:4"), keys(response.getEvents()));
+        assertTrue(response.isHasMore());
+        assertEquals("1.4", response.getNextCursor());
+    }
+
+    @Test
+    void getTimeline_shouldResumeEachLogAfterTheCursor() {
+        // Given
+        when(actionLogRepository.findTimelinePage(eq(7L), eq(1L), any())).thenReturn(List.of(action(2L, 3)));
+        when(assignmentLogRepository.findTimelinePage(eq(7L), eq(4L), any())).thenReturn(List.of());
+
+        // When
+        TicketTimelineResponse response = timelineService.getTimeline(7L, criteria("1.4", 2));
+
+        // Then
+        assertEquals(List.of("ACTION:2"), keys(response.getEvents()));
+        assertFalse(response.isHasMore());
+    }
+
+    @Test
+    void getTimeline_shouldRejectMalformedCursors() {
+        assertThrows(InvalidCursorException.class, () -> timelineService.getTimeline(7L, criteria("abc", 2)));
+        assertThrows(InvalidCursorException.class, () -> timelineService.getTimeline(7L, criteria("1.2.3", 2)));
+    }
+
+    private static TimelineEvent action(Long id, int minute) {
+        return new TimelineEvent(id, T0.plusMinutes(minute), 3L, TicketStatus.NEW, "note", null);
+    }
+
+    private static TimelineEvent assignment(Long id, int minute) {
+        return new TimelineEvent(id, T0.plusMinutes(minute), 3L, 9L);
+    }
+
+    private static TimelineCriteria criteria(String cursor, int size) {
+        TimelineCriteria criteria = new TimelineCriteria();
+        criteria.setCursor(cursor);
+        criteria.setSize(size);
+        return criteria;
+    }
+
+    private static List<String> keys(List<TimelineEvent> events) {
+        return events.stream().map(e -> e.getType() + ":" + e.getEventId()).toList();
+    }
+}